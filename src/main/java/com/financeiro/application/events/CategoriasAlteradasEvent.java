@@ -0,0 +1,11 @@
+package com.financeiro.application.events;
+
+import java.util.UUID;
+
+/**
+ * Publicado (dentro da transação) sempre que categorias de um usuário são criadas, alteradas,
+ * ativadas ou desativadas. Nome e cor das categorias aparecem em transações e relatórios,
+ * então dados derivados do usuário devem ser descartados.
+ */
+public record CategoriasAlteradasEvent(UUID usuarioId) {
+}
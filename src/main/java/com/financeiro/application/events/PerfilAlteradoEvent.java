@@ -0,0 +1,11 @@
+package com.financeiro.application.events;
+
+import java.util.UUID;
+
+/**
+ * Publicado (dentro da transação, quando houver) sempre que nome, email, papel ou foto de um usuário
+ * mudam. Esses dados vão embutidos nas respostas de transações, então versões derivadas dos dados
+ * do usuário (ETags) devem mudar também.
+ */
+public record PerfilAlteradoEvent(UUID usuarioId) {
+}
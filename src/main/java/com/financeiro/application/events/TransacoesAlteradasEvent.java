@@ -0,0 +1,49 @@
+package com.financeiro.application.events;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Publicado (dentro da transação) sempre que transações de um usuário são criadas, alteradas ou removidas.
+ * Informa as datas afetadas, para que dados derivados (rollups, saldos diários, caches) sejam atualizados.
+ */
+public record TransacoesAlteradasEvent(UUID usuarioId, SortedSet<LocalDate> datas) {
+
+    public TransacoesAlteradasEvent {
+        datas = Collections.unmodifiableSortedSet(new TreeSet<>(datas));
+    }
+
+    public static TransacoesAlteradasEvent de(UUID usuarioId, LocalDate... datas) {
+        return de(usuarioId, Arrays.asList(datas));
+    }
+
+    public static TransacoesAlteradasEvent de(UUID usuarioId, Collection<LocalDate> datas) {
+        SortedSet<LocalDate> validas = new TreeSet<>();
+        datas.stream().filter(Objects::nonNull).forEach(validas::add);
+        return new TransacoesAlteradasEvent(usuarioId, validas);
+    }
+
+    /**
+     * Meses afetados
+     */
+    public Set<YearMonth> meses() {
+        Set<YearMonth> meses = new TreeSet<>();
+        datas.forEach(data -> meses.add(YearMonth.from(data)));
+        return meses;
+    }
+
+    /**
+     * Data afetada mais antiga (null se nenhuma)
+     */
+    public LocalDate primeiraData() {
+        return datas.isEmpty() ? null : datas.first();
+    }
+}
@@ -0,0 +1,133 @@
+package com.financeiro.application.services;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Busca textual nas transações do usuário (descrição + observações), sem diferenciar
+ * maiúsculas nem acentos.
+ *
+ * PostgreSQL: substring (LIKE) ou semelhança de palavra do pg_trgm (operador <%, tolera erros
+ * de digitação), pelo índice GIN idx_transacoes_busca_trgm (V13). Relevância 1 para substring,
+ * senão word_similarity; empates pelas mais recentes.
+ * Outros bancos (perfil H2): apenas substring, sem índice, todas com relevância 1.
+ *
+ * Paginação por keyset sobre (relevância, data, id), como a listagem.
+ */
+@Slf4j
+@Service
+public class BuscaTransacaoService {
+
+    public static final int TAMANHO_MINIMO_TERMO = 2;
+    public static final int TAMANHO_MAXIMO_TERMO = 100;
+
+    // Mesma normalização em SQL (idêntica à expressão indexada) e em Java (termo buscado)
+    private static final String ACENTOS = "áàâãäéèêëíìîïóòôõöúùûüçñ";
+    private static final String SEM_ACENTOS = "aaaaaeeeeiiiiooooouuuucn";
+    private static final String SQL_TEXTO = "translate(lower(t.descricao || ' ' || coalesce(t.observacoes, '')), '"
+            + ACENTOS + "', '" + SEM_ACENTOS + "')";
+
+    private static final String SQL_RELEVANCIA_POSTGRES =
+            "CAST(CASE WHEN " + SQL_TEXTO + " LIKE ? ESCAPE '\\' THEN 1 ELSE word_similarity(?, " + SQL_TEXTO + ") END AS DOUBLE PRECISION)";
+
+    private static final String SQL_FILTRO_POSTGRES =
+            "(" + SQL_TEXTO + " LIKE ? ESCAPE '\\' OR ? <% " + SQL_TEXTO + ")";
+
+    private static final String SQL_FILTRO_SUBSTRING = SQL_TEXTO + " LIKE ? ESCAPE '\\'";
+
+    private static final String SQL_APOS =
+            " WHERE r.relevancia < ? OR (r.relevancia = ? AND (r.data_transacao < ? "
+            + "OR (r.data_transacao = ? AND r.id < ?)))";
+
+    private static final String SQL_ORDEM = " ORDER BY r.relevancia DESC, r.data_transacao DESC, r.id DESC LIMIT ?";
+
+    /**
+     * Ids da página na ordem de relevância; proximoCursor null na última página
+     */
+    public record PaginaBusca(List<UUID> ids, boolean temMais, String proximoCursor) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+
+    public BuscaTransacaoService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        String banco = jdbcTemplate.execute(
+                (ConnectionCallback<String>) conexao -> conexao.getMetaData().getDatabaseProductName());
+        this.postgres = "PostgreSQL".equalsIgnoreCase(banco);
+        log.info("Busca de transações: {}", postgres ? "pg_trgm (substring + semelhança)" : "apenas substring");
+    }
+
+    /**
+     * @throws IllegalArgumentException se o termo tiver tamanho fora dos limites ou o cursor for inválido
+     */
+    public PaginaBusca buscar(UUID usuarioId, String termo, String cursor, int tamanhoPagina) {
+        String normalizado = normalizar(termo);
+        if (normalizado.length() < TAMANHO_MINIMO_TERMO || normalizado.length() > TAMANHO_MAXIMO_TERMO) {
+            throw new IllegalArgumentException("O termo de busca deve ter entre "
+                    + TAMANHO_MINIMO_TERMO + " e " + TAMANHO_MAXIMO_TERMO + " caracteres");
+        }
+        String padrao = "%" + escaparLike(normalizado) + "%";
+
+        List<Object> parametros = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT r.id, r.data_transacao, r.relevancia FROM (SELECT t.id, t.data_transacao, ");
+        if (postgres) {
+            sql.append(SQL_RELEVANCIA_POSTGRES).append(" AS relevancia FROM transacoes t WHERE t.usuario_id = ? AND ")
+                    .append(SQL_FILTRO_POSTGRES);
+            parametros.addAll(List.of(padrao, normalizado, usuarioId, padrao, normalizado));
+        } else {
+            sql.append("CAST(1 AS DOUBLE PRECISION) AS relevancia FROM transacoes t WHERE t.usuario_id = ? AND ")
+                    .append(SQL_FILTRO_SUBSTRING);
+            parametros.addAll(List.of(usuarioId, padrao));
+        }
+        sql.append(") r");
+        if (cursor != null && !cursor.isBlank()) {
+            CursorBusca posicao = CursorBusca.decodificar(cursor);
+            Date data = Date.valueOf(posicao.dataTransacao());
+            sql.append(SQL_APOS);
+            parametros.addAll(List.of(posicao.relevancia(), posicao.relevancia(), data, data, posicao.id()));
+        }
+        // Uma linha a mais indica se existe próxima página, sem COUNT
+        sql.append(SQL_ORDEM);
+        parametros.add(tamanhoPagina + 1);
+
+        List<CursorBusca> encontradas = jdbcTemplate.query(sql.toString(),
+                (rs, i) -> new CursorBusca(rs.getDouble("relevancia"),
+                        rs.getDate("data_transacao").toLocalDate(), rs.getObject("id", UUID.class)),
+                parametros.toArray());
+
+        boolean temMais = encontradas.size() > tamanhoPagina;
+        if (temMais) {
+            encontradas = encontradas.subList(0, tamanhoPagina);
+        }
+        String proximoCursor = temMais ? encontradas.get(encontradas.size() - 1).codificar() : null;
+        return new PaginaBusca(encontradas.stream().map(CursorBusca::id).toList(), temMais, proximoCursor);
+    }
+
+    /**
+     * Minúsculas e sem acentos, como {@link #SQL_TEXTO}; espaços das pontas removidos
+     */
+    static String normalizar(String termo) {
+        char[] caracteres = termo.strip().toLowerCase(Locale.ROOT).toCharArray();
+        for (int i = 0; i < caracteres.length; i++) {
+            int indice = ACENTOS.indexOf(caracteres[i]);
+            if (indice >= 0) {
+                caracteres[i] = SEM_ACENTOS.charAt(indice);
+            }
+        }
+        return new String(caracteres);
+    }
+
+    private static String escaparLike(String termo) {
+        return termo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,149 @@
+package com.financeiro.application.services;
+
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+
+import com.financeiro.application.events.CategoriasAlteradasEvent;
+import com.financeiro.application.events.TransacoesAlteradasEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache read-through de valores por (usuário, mês), compartilhado pela listagem mensal e pelo
+ * relatório categorias x mês.
+ *
+ * Períodos diferentes reaproveitam os mesmos meses: os presentes vêm do cache e os ausentes numa
+ * única consulta, da primeira à última lacuna. Quem usa decide o limite (tamanho ou peso), o TTL
+ * e o valor de um mês sem dados.
+ *
+ * Invalidação depois do commit, repassada pelos listeners de quem usa: só os meses do evento de
+ * alteração; alteração de categoria ou evento sem datas descarta todos os meses do usuário.
+ *
+ * Corrida leitura x escrita: cada usuário tem uma geração, incrementada antes de descartar os meses.
+ * Um mês consultado só entra no cache se a geração não mudou desde o início da consulta, conferido
+ * atomicamente com a inserção (mesmo lock de chave do descarte).
+ */
+final class CacheMensalPorUsuario<V> {
+
+    /**
+     * Valores dos meses do intervalo (inclusive) que têm dados; os demais recebem o valor vazio
+     */
+    @FunctionalInterface
+    interface Consulta<V> {
+        Map<YearMonth, V> consultar(UUID usuarioId, YearMonth inicio, YearMonth fim);
+    }
+
+    private record ChaveMes(UUID usuarioId, YearMonth mes) {
+    }
+
+    private final Cache<ChaveMes, V> meses;
+    private final Consulta<V> consulta;
+    private final V vazio;
+    private final Map<UUID, AtomicLong> geracoes = new ConcurrentHashMap<>();
+
+    /**
+     * @param configuracao limite de tamanho ou peso e expiração; as estatísticas são ligadas aqui
+     * @param peso peso de um valor quando o limite é por peso (maximumWeight), senão null
+     * @param nome nome do cache nas métricas (cache.gets{cache=...})
+     */
+    CacheMensalPorUsuario(
+            Caffeine<Object, Object> configuracao,
+            ToIntFunction<V> peso,
+            Consulta<V> consulta,
+            V vazio,
+            String nome,
+            MeterRegistry meterRegistry) {
+        Caffeine<Object, Object> estatisticas = configuracao.recordStats();
+        this.meses = peso == null
+                ? estatisticas.build()
+                : estatisticas.<ChaveMes, V>weigher((chave, valor) -> peso.applyAsInt(valor)).build();
+        this.consulta = consulta;
+        this.vazio = vazio;
+        CaffeineCacheMetrics.monitor(meterRegistry, meses, nome);
+    }
+
+    /**
+     * Meses do período em ordem: do cache quando presentes; os ausentes numa única consulta
+     * (da primeira à última lacuna), que também preenche o cache
+     */
+    Map<YearMonth, V> carregar(UUID usuarioId, YearMonth inicio, YearMonth fim) {
+        Map<YearMonth, V> porMes = new LinkedHashMap<>();
+        YearMonth primeiraLacuna = null;
+        YearMonth ultimaLacuna = null;
+        for (YearMonth mes = inicio; !mes.isAfter(fim); mes = mes.plusMonths(1)) {
+            V emCache = meses.getIfPresent(new ChaveMes(usuarioId, mes));
+            porMes.put(mes, emCache);
+            if (emCache == null) {
+                if (primeiraLacuna == null) {
+                    primeiraLacuna = mes;
+                }
+                ultimaLacuna = mes;
+            }
+        }
+        if (primeiraLacuna == null) {
+            return porMes;
+        }
+
+        // Lida antes da consulta: se mudar até a inserção, os meses lidos podem estar velhos
+        AtomicLong geracao = geracoes.computeIfAbsent(usuarioId, id -> new AtomicLong());
+        long geracaoLida = geracao.get();
+
+        Map<YearMonth, V> consultados = consulta.consultar(usuarioId, primeiraLacuna, ultimaLacuna);
+        for (YearMonth mes = primeiraLacuna; !mes.isAfter(ultimaLacuna); mes = mes.plusMonths(1)) {
+            V valor = consultados.getOrDefault(mes, vazio);
+            meses.asMap().compute(new ChaveMes(usuarioId, mes),
+                    (chave, atual) -> geracao.get() == geracaoLida ? valor : atual);
+            porMes.put(mes, valor);
+        }
+        return porMes;
+    }
+
+    /**
+     * Descarta os meses alterados (todos os do usuário se o evento não trouxer datas)
+     */
+    void onTransacoesAlteradas(TransacoesAlteradasEvent evento) {
+        incrementarGeracao(evento.usuarioId());
+        if (evento.datas().isEmpty()) {
+            descartarUsuario(evento.usuarioId());
+            return;
+        }
+        for (YearMonth mes : evento.meses()) {
+            meses.invalidate(new ChaveMes(evento.usuarioId(), mes));
+        }
+    }
+
+    /**
+     * Nome/cor de categoria mudaram: descarta todos os meses do usuário
+     */
+    void onCategoriasAlteradas(CategoriasAlteradasEvent evento) {
+        incrementarGeracao(evento.usuarioId());
+        descartarUsuario(evento.usuarioId());
+    }
+
+    /**
+     * Peso total dos meses em cache (0 quando o limite é por tamanho)
+     */
+    long pesoTotal() {
+        return meses.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L);
+    }
+
+    double taxaDeAcerto() {
+        return meses.stats().hitRate();
+    }
+
+    private void incrementarGeracao(UUID usuarioId) {
+        geracoes.computeIfAbsent(usuarioId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    private void descartarUsuario(UUID usuarioId) {
+        meses.asMap().keySet().removeIf(chave -> chave.usuarioId().equals(usuarioId));
+    }
+}
@@ -4,14 +4,16 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.financeiro.application.events.CategoriasAlteradasEvent;
 import com.financeiro.domain.entities.Categoria;
 import com.financeiro.domain.entities.Categoria.TipoCategoria;
-import com.financeiro.domain.entities.Usuario;
 import com.financeiro.repository.CategoriaRepository;
 import com.financeiro.repository.UsuarioRepository;
+import com.financeiro.repository.projection.UsuarioResumo;
 
 import lombok.RequiredArgsConstructor;
 
@@ -22,17 +24,19 @@ public class CategoriaService {
 
     private final CategoriaRepository categoriaRepository;
     private final UsuarioRepository usuarioRepository;
+    private final UsuarioIdentidadeCache usuarioIdentidadeCache;
+    private final ApplicationEventPublisher eventPublisher;
 
-    private Usuario obterUsuario(String email) {
-        return usuarioRepository.findByEmail(email)
+    private UsuarioResumo obterUsuario(String email) {
+        return usuarioIdentidadeCache.buscar(email)
                 .orElseThrow(() -> new IllegalArgumentException("Usuário autenticado não encontrado"));
     }
 
     @Transactional
     public Categoria criarCategoria(String nome, String descricao, TipoCategoria tipo, String cor, String emailUsuario) {
-        Usuario usuario = obterUsuario(emailUsuario);
+        UsuarioResumo usuario = obterUsuario(emailUsuario);
 
-        if (categoriaRepository.existsByNomeIgnoreCaseAndUsuarioId(nome, usuario.getId())) {
+        if (categoriaRepository.existsByNomeIgnoreCaseAndUsuarioId(nome, usuario.id())) {
             throw new IllegalArgumentException("Já existe uma categoria com este nome");
         }
 
@@ -41,36 +45,38 @@ public class CategoriaService {
                 .descricao(descricao)
                 .tipo(tipo)
                 .cor(cor)
-                .usuario(usuario)
+                .usuario(usuarioRepository.getReferenceById(usuario.id()))
                 .build();
 
-        return categoriaRepository.save(categoria);
+        Categoria salva = categoriaRepository.save(categoria);
+        eventPublisher.publishEvent(new CategoriasAlteradasEvent(usuario.id()));
+        return salva;
     }
 
     public Optional<Categoria> buscarPorId(UUID id, String emailUsuario) {
-        Usuario usuario = obterUsuario(emailUsuario);
-        return categoriaRepository.findByIdAndUsuarioId(id, usuario.getId());
+        UsuarioResumo usuario = obterUsuario(emailUsuario);
+        return categoriaRepository.findByIdAndUsuarioId(id, usuario.id());
     }
 
     public List<Categoria> listarAtivas(String emailUsuario) {
-        Usuario usuario = obterUsuario(emailUsuario);
-        return categoriaRepository.findAtivasByUsuario(usuario.getId());
+        UsuarioResumo usuario = obterUsuario(emailUsuario);
+        return categoriaRepository.findAtivasByUsuario(usuario.id());
     }
 
     public List<Categoria> listarPorTipo(TipoCategoria tipo, String emailUsuario) {
-        Usuario usuario = obterUsuario(emailUsuario);
-        return categoriaRepository.findAtivasByUsuarioAndTipo(usuario.getId(), tipo);
+        UsuarioResumo usuario = obterUsuario(emailUsuario);
+        return categoriaRepository.findAtivasByUsuarioAndTipo(usuario.id(), tipo);
     }
 
     @Transactional
     public Categoria atualizarCategoria(UUID id, String nome, String descricao, String cor, String emailUsuario) {
-        Usuario usuario = obterUsuario(emailUsuario);
+        UsuarioResumo usuario = obterUsuario(emailUsuario);
 
-        Categoria categoria = categoriaRepository.findByIdAndUsuarioId(id, usuario.getId())
+        Categoria categoria = categoriaRepository.findByIdAndUsuarioId(id, usuario.id())
                 .orElseThrow(() -> new IllegalArgumentException("Categoria não encontrada"));
 
         if (!categoria.getNome().equalsIgnoreCase(nome) &&
-            categoriaRepository.existsByNomeIgnoreCaseAndUsuarioIdAndIdNot(nome, usuario.getId(), id)) {
+            categoriaRepository.existsByNomeIgnoreCaseAndUsuarioIdAndIdNot(nome, usuario.id(), id)) {
             throw new IllegalArgumentException("Já existe uma categoria com este nome");
         }
 
@@ -79,27 +85,31 @@ public class CategoriaService {
         categoria.setCor(cor);
         // Tipo não é alterado na atualização
 
-        return categoriaRepository.save(categoria);
+        Categoria atualizada = categoriaRepository.save(categoria);
+        eventPublisher.publishEvent(new CategoriasAlteradasEvent(usuario.id()));
+        return atualizada;
     }
 
     @Transactional
     public void ativarCategoria(UUID id, String emailUsuario) {
-        Usuario usuario = obterUsuario(emailUsuario);
-        Categoria categoria = categoriaRepository.findByIdAndUsuarioId(id, usuario.getId())
+        UsuarioResumo usuario = obterUsuario(emailUsuario);
+        Categoria categoria = categoriaRepository.findByIdAndUsuarioId(id, usuario.id())
                 .orElseThrow(() -> new IllegalArgumentException("Categoria não encontrada"));
         
         categoria.ativar();
         categoriaRepository.save(categoria);
+        eventPublisher.publishEvent(new CategoriasAlteradasEvent(usuario.id()));
     }
 
     @Transactional
     public void desativarCategoria(UUID id, String emailUsuario) {
-        Usuario usuario = obterUsuario(emailUsuario);
-        Categoria categoria = categoriaRepository.findByIdAndUsuarioId(id, usuario.getId())
+        UsuarioResumo usuario = obterUsuario(emailUsuario);
+        Categoria categoria = categoriaRepository.findByIdAndUsuarioId(id, usuario.id())
                 .orElseThrow(() -> new IllegalArgumentException("Categoria não encontrada"));
         
         categoria.desativar();
         categoriaRepository.save(categoria);
+        eventPublisher.publishEvent(new CategoriasAlteradasEvent(usuario.id()));
     }
 
     public List<Categoria> listarTodas(String emailUsuario) {
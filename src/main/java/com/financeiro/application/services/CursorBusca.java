@@ -0,0 +1,51 @@
+package com.financeiro.application.services;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posição do último resultado de uma página da busca: (relevância, dataTransacao, id).
+ *
+ * Token opaco como o {@link CursorTransacao} (Base64 URL-safe de 33 bytes: versão, relevância,
+ * epoch-day e UUID). A relevância vai com todos os bits, para a comparação de igualdade no banco.
+ */
+record CursorBusca(double relevancia, LocalDate dataTransacao, UUID id) {
+
+    private static final byte VERSAO = 1;
+    private static final int TAMANHO = 1 + Double.BYTES + Long.BYTES + 2 * Long.BYTES;
+
+    String codificar() {
+        ByteBuffer buffer = ByteBuffer.allocate(TAMANHO)
+                .put(VERSAO)
+                .putDouble(relevancia)
+                .putLong(dataTransacao.toEpochDay())
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * @throws IllegalArgumentException se o token não foi gerado por {@link #codificar()}
+     */
+    static CursorBusca decodificar(String token) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        if (bytes.length != TAMANHO || bytes[0] != VERSAO) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, TAMANHO - 1);
+        double relevancia = buffer.getDouble();
+        long epochDay = buffer.getLong();
+        if (!Double.isFinite(relevancia)
+                || epochDay < LocalDate.MIN.toEpochDay() || epochDay > LocalDate.MAX.toEpochDay()) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        return new CursorBusca(relevancia, LocalDate.ofEpochDay(epochDay), new UUID(buffer.getLong(), buffer.getLong()));
+    }
+}
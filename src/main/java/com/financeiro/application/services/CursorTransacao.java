@@ -0,0 +1,48 @@
+package com.financeiro.application.services;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posição da última transação de uma página: (dataTransacao, id).
+ *
+ * Vai para o cliente como token opaco (Base64 URL-safe de 25 bytes: versão, epoch-day e UUID),
+ * para que o formato possa mudar sem quebrar clientes que apenas devolvem o token.
+ */
+record CursorTransacao(LocalDate dataTransacao, UUID id) {
+
+    private static final byte VERSAO = 1;
+    private static final int TAMANHO = 1 + Long.BYTES + 2 * Long.BYTES;
+
+    String codificar() {
+        ByteBuffer buffer = ByteBuffer.allocate(TAMANHO)
+                .put(VERSAO)
+                .putLong(dataTransacao.toEpochDay())
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * @throws IllegalArgumentException se o token não foi gerado por {@link #codificar()}
+     */
+    static CursorTransacao decodificar(String token) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        if (bytes.length != TAMANHO || bytes[0] != VERSAO) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, TAMANHO - 1);
+        long epochDay = buffer.getLong();
+        if (epochDay < LocalDate.MIN.toEpochDay() || epochDay > LocalDate.MAX.toEpochDay()) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        return new CursorTransacao(LocalDate.ofEpochDay(epochDay), new UUID(buffer.getLong(), buffer.getLong()));
+    }
+}
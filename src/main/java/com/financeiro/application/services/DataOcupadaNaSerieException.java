@@ -0,0 +1,30 @@
+package com.financeiro.application.services;
+
+import java.util.Locale;
+
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * A série já tem uma ocorrência/parcela na data: violação da restrição única
+ * (transacao_pai_id, data_transacao) da V14, respondida com 409 em vez de erro genérico.
+ */
+public class DataOcupadaNaSerieException extends ResponseStatusException {
+
+    static final String RESTRICAO = "uk_transacoes_pai_data";
+    static final String MENSAGEM = "Já existe uma transação desta série nesta data";
+
+    public DataOcupadaNaSerieException() {
+        super(HttpStatus.CONFLICT, MENSAGEM);
+    }
+
+    /**
+     * Se a violação for da restrição da série (PostgreSQL e H2 citam o nome dela na mensagem)
+     */
+    static boolean causadaPor(DataIntegrityViolationException e) {
+        String mensagem = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        return mensagem != null && mensagem.toLowerCase(Locale.ROOT).contains(RESTRICAO);
+    }
+}
@@ -0,0 +1,358 @@
+package com.financeiro.application.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financeiro.infrastructure.config.AppProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Exportação do histórico de transações de um usuário em CSV ou NDJSON, com memória constante.
+ *
+ * As linhas vêm de um cursor JDBC forward-only (fetch size configurável, dentro de uma transação
+ * somente leitura, que é o que faz o driver do PostgreSQL buscar em blocos) e são escritas direto
+ * no OutputStream da resposta, uma a uma, sem montar lista nem entidades.
+ *
+ * A transação (e a conexão do pool) dura o download inteiro, no ritmo do cliente: o número de
+ * exportações simultâneas é limitado ({@link #reservar()}) para não esgotar o pool.
+ */
+@Slf4j
+@Service
+public class ExportacaoService {
+
+    public enum Formato {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extensao;
+
+        Formato(String contentType, String extensao) {
+            this.contentType = contentType;
+            this.extensao = extensao;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtensao() {
+            return extensao;
+        }
+    }
+
+    private static final String[] COLUNAS = {
+            "id", "data_transacao", "descricao", "valor", "tipo", "categoria_id", "categoria",
+            "observacoes", "tipo_recorrencia", "frequencia", "parcela_atual", "quantidade_parcelas",
+            "transacao_pai_id", "ativa", "data_criacao", "data_atualizacao"
+    };
+
+    private static final String SQL_BASE = "SELECT t.id, t.data_transacao, t.descricao, t.valor, t.tipo, "
+            + "t.categoria_id, c.nome AS categoria, t.observacoes, t.tipo_recorrencia, t.frequencia, "
+            + "t.parcela_atual, t.quantidade_parcelas, t.transacao_pai_id, t.ativa, t.data_criacao, t.data_atualizacao "
+            + "FROM transacoes t JOIN categorias c ON c.id = t.categoria_id "
+            + "WHERE t.usuario_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Semaphore exportacoesSimultaneas;
+    private final ObjectMapper objectMapper;
+    private final AppProperties appProperties;
+
+    public ExportacaoService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            AppProperties appProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.appProperties = appProperties;
+        this.exportacoesSimultaneas = new Semaphore(appProperties.getExportacao().getMaxSimultaneas());
+    }
+
+    /**
+     * Vaga de exportação, devolvida ao fechar (uma única vez)
+     */
+    public final class Reserva implements AutoCloseable {
+
+        private final AtomicBoolean liberada = new AtomicBoolean();
+
+        private Reserva() {
+        }
+
+        @Override
+        public void close() {
+            if (liberada.compareAndSet(false, true)) {
+                exportacoesSimultaneas.release();
+            }
+        }
+    }
+
+    /**
+     * Reserva uma das vagas de exportação simultânea; vazio se todas estiverem em uso
+     */
+    public Optional<Reserva> reservar() {
+        return exportacoesSimultaneas.tryAcquire() ? Optional.of(new Reserva()) : Optional.empty();
+    }
+
+    /**
+     * Filtros opcionais da exportação (null = sem filtro)
+     */
+    public record Filtro(LocalDate dataInicio, LocalDate dataFim, UUID categoriaId) {
+    }
+
+    /**
+     * Escreve todas as transações do usuário (ordem cronológica) no stream informado
+     *
+     * @return quantidade de linhas exportadas
+     */
+    public long exportar(UUID usuarioId, Filtro filtro, Formato formato, boolean gzip, OutputStream destino)
+            throws IOException {
+        OutputStream saida = gzip ? new GZIPOutputStream(destino, 8192) : destino;
+        EscritorLinhas escritor = formato == Formato.CSV
+                ? new EscritorCsv(saida)
+                : new EscritorNdjson(objectMapper, saida);
+
+        long inicio = System.nanoTime();
+        long[] linhas = {0};
+        try {
+            escritor.cabecalho();
+            transactionTemplate.executeWithoutResult(status -> consultar(usuarioId, filtro, rs -> {
+                try {
+                    escritor.linha(rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                linhas[0]++;
+            }));
+            escritor.finalizar();
+        } catch (UncheckedIOException e) {
+            // Cliente desconectou no meio da exportação
+            throw e.getCause();
+        }
+        if (saida instanceof GZIPOutputStream gzipStream) {
+            gzipStream.finish();
+        }
+
+        log.info("Exportação {} do usuário {}: {} linha(s) em {} ms",
+                formato, usuarioId, linhas[0], (System.nanoTime() - inicio) / 1_000_000);
+        return linhas[0];
+    }
+
+    private void consultar(UUID usuarioId, Filtro filtro, RowCallbackHandler handler) {
+        StringBuilder sql = new StringBuilder(SQL_BASE);
+        List<Object> parametros = new ArrayList<>();
+        parametros.add(usuarioId);
+        if (filtro.dataInicio() != null) {
+            sql.append(" AND t.data_transacao >= ?");
+            parametros.add(Date.valueOf(filtro.dataInicio()));
+        }
+        if (filtro.dataFim() != null) {
+            sql.append(" AND t.data_transacao <= ?");
+            parametros.add(Date.valueOf(filtro.dataFim()));
+        }
+        if (filtro.categoriaId() != null) {
+            sql.append(" AND t.categoria_id = ?");
+            parametros.add(filtro.categoriaId());
+        }
+        sql.append(" ORDER BY t.data_transacao, t.id");
+
+        int fetchSize = appProperties.getExportacao().getFetchSize();
+        jdbcTemplate.query((Connection conexao) -> {
+            PreparedStatement ps = conexao.prepareStatement(
+                    sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < parametros.size(); i++) {
+                ps.setObject(i + 1, parametros.get(i));
+            }
+            return ps;
+        }, handler);
+    }
+
+    private interface EscritorLinhas {
+        void cabecalho() throws IOException;
+
+        void linha(ResultSet rs) throws IOException;
+
+        void finalizar() throws IOException;
+    }
+
+    /**
+     * CSV (RFC 4180): campos com vírgula, aspas ou quebra de linha vão entre aspas;
+     * textos com cara de fórmula são neutralizados
+     */
+    private static final class EscritorCsv implements EscritorLinhas {
+
+        private static final String INICIO_FORMULA = "=+-@\t\r";
+
+        private final Writer writer;
+
+        EscritorCsv(OutputStream saida) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), 16 * 1024);
+        }
+
+        @Override
+        public void cabecalho() throws IOException {
+            writer.write(String.join(",", COLUNAS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void linha(ResultSet rs) throws IOException {
+            try {
+                for (int i = 0; i < COLUNAS.length; i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    Object valor = rs.getObject(i + 1);
+                    // Só textos livres podem virar fórmula; números e datas saem como estão
+                    escreverCampo(valor instanceof String texto ? neutralizarFormula(texto) : texto(rs, i + 1));
+                }
+            } catch (SQLException e) {
+                throw new IOException(e);
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finalizar() throws IOException {
+            writer.flush();
+        }
+
+        /**
+         * Texto que uma planilha leria como fórmula (=, +, -, @, tab, CR) ganha um apóstrofo na frente
+         */
+        private static String neutralizarFormula(String texto) {
+            return !texto.isEmpty() && INICIO_FORMULA.indexOf(texto.charAt(0)) >= 0 ? "'" + texto : texto;
+        }
+
+        private void escreverCampo(String valor) throws IOException {
+            if (valor == null) {
+                return;
+            }
+            boolean precisaAspas = false;
+            for (int i = 0; i < valor.length() && !precisaAspas; i++) {
+                char c = valor.charAt(i);
+                precisaAspas = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!precisaAspas) {
+                writer.write(valor);
+                return;
+            }
+            writer.write('"');
+            writer.write(valor.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    /**
+     * NDJSON: um objeto JSON por linha, sem campos nulos
+     */
+    private static final class EscritorNdjson implements EscritorLinhas {
+
+        private final JsonGenerator gerador;
+        private boolean vazio = true;
+
+        EscritorNdjson(ObjectMapper objectMapper, OutputStream saida) {
+            try {
+                this.gerador = objectMapper.getFactory().createGenerator(saida)
+                        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.gerador.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        }
+
+        @Override
+        public void cabecalho() {
+            // NDJSON não tem cabeçalho
+        }
+
+        @Override
+        public void linha(ResultSet rs) throws IOException {
+            try {
+                gerador.writeStartObject();
+                for (int i = 0; i < COLUNAS.length; i++) {
+                    Object valor = rs.getObject(i + 1);
+                    if (valor == null) {
+                        continue;
+                    }
+                    gerador.writeFieldName(COLUNAS[i]);
+                    if (valor instanceof BigDecimal numero) {
+                        gerador.writeNumber(numero);
+                    } else if (valor instanceof Boolean booleano) {
+                        gerador.writeBoolean(booleano);
+                    } else if (valor instanceof Number numero) {
+                        gerador.writeNumber(numero.longValue());
+                    } else {
+                        gerador.writeString(texto(rs, i + 1));
+                    }
+                }
+                gerador.writeEndObject();
+                vazio = false;
+            } catch (SQLException e) {
+                throw new IOException(e);
+            }
+        }
+
+        @Override
+        public void finalizar() throws IOException {
+            if (!vazio) {
+                gerador.writeRaw('\n');
+            }
+            gerador.flush();
+        }
+    }
+
+    /**
+     * Valor da coluna como texto: datas/horas em ISO-8601 e decimais sem notação científica
+     */
+    private static String texto(ResultSet rs, int coluna) throws SQLException {
+        Object valor = rs.getObject(coluna);
+        if (valor == null) {
+            return null;
+        }
+        if (valor instanceof Date data) {
+            return data.toLocalDate().toString();
+        }
+        if (valor instanceof Timestamp dataHora) {
+            return dataHora.toLocalDateTime().toString();
+        }
+        if (valor instanceof BigDecimal numero) {
+            return numero.toPlainString();
+        }
+        return valor.toString();
+    }
+}
@@ -0,0 +1,146 @@
+package com.financeiro.application.services;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.financeiro.application.events.CategoriasAlteradasEvent;
+import com.financeiro.application.events.TransacoesAlteradasEvent;
+import com.financeiro.infrastructure.config.AppProperties;
+import com.financeiro.repository.TransacaoRepository;
+import com.financeiro.repository.projection.TransacaoListagem;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache read-through das linhas de listagem por (usuário, mês), sobre o {@link CacheMensalPorUsuario}.
+ *
+ * Limitado pelo tamanho estimado em bytes (W-TinyLFU do Caffeine: frequência + recência).
+ * Invalidação precisa, depois do commit: só os meses do evento de alteração (datas antiga e nova
+ * de uma edição, todas as datas geradas por uma série); alteração de categoria ou evento sem datas
+ * descarta todos os meses do usuário, pois nome/cor da categoria vêm em cada linha.
+ */
+@Slf4j
+@Component
+public class ListagemMensalCache {
+
+    // Estimativa de bytes de uma linha sem os textos (record, UUIDs, datas, BigDecimal, enums, boxes)
+    private static final int BYTES_POR_LINHA = 480;
+    private static final int BYTES_POR_MES = 64;
+
+    private static final Comparator<TransacaoListagem> ORDEM =
+            Comparator.comparing(TransacaoListagem::dataTransacao).thenComparing(TransacaoListagem::id);
+
+    private final TransacaoRepository transacaoRepository;
+    private final AppProperties appProperties;
+    private final CacheMensalPorUsuario<List<TransacaoListagem>> meses;
+
+    public ListagemMensalCache(
+            TransacaoRepository transacaoRepository,
+            AppProperties appProperties,
+            MeterRegistry meterRegistry) {
+        this.transacaoRepository = transacaoRepository;
+        this.appProperties = appProperties;
+        AppProperties.ListagemMensal config = appProperties.getCache().getListagemMensal();
+        this.meses = new CacheMensalPorUsuario<>(
+                Caffeine.newBuilder()
+                        .maximumWeight(config.getMaxBytes().toBytes())
+                        .expireAfterWrite(config.getTtl()),
+                ListagemMensalCache::bytes,
+                this::consultar,
+                List.of(),
+                "transacoes.listagem-mensal",
+                meterRegistry);
+        Gauge.builder("transacoes.listagem-mensal.bytes", meses, CacheMensalPorUsuario::pesoTotal)
+                .description("Tamanho estimado dos meses em cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("transacoes.listagem-mensal.hit.ratio", meses, CacheMensalPorUsuario::taxaDeAcerto)
+                .description("Fração de meses servidos pelo cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Transações do usuário no período (inclusive), por data. Períodos maiores que o limite
+     * configurado vão direto ao banco, para não ocupar o cache com históricos inteiros.
+     */
+    public List<TransacaoListagem> listar(UUID usuarioId, LocalDate inicio, LocalDate fim) {
+        YearMonth primeiro = YearMonth.from(inicio);
+        YearMonth ultimo = YearMonth.from(fim);
+        if (inicio.isAfter(fim)
+                || ChronoUnit.MONTHS.between(primeiro, ultimo) + 1 > appProperties.getCache().getListagemMensal().getMesesMaximos()) {
+            return transacaoRepository.listarPorUsuarioEPeriodo(usuarioId, inicio, fim);
+        }
+
+        List<TransacaoListagem> resultado = new ArrayList<>();
+        meses.carregar(usuarioId, primeiro, ultimo).values().forEach(linhas -> {
+            for (TransacaoListagem linha : linhas) {
+                // Meses das pontas podem estar só em parte no período
+                if (!linha.dataTransacao().isBefore(inicio) && !linha.dataTransacao().isAfter(fim)) {
+                    resultado.add(linha);
+                }
+            }
+        });
+        return resultado;
+    }
+
+    /**
+     * Linhas dos meses ausentes do cache, numa única consulta, separadas por mês e ordenadas
+     */
+    private Map<YearMonth, List<TransacaoListagem>> consultar(UUID usuarioId, YearMonth inicio, YearMonth fim) {
+        Map<YearMonth, List<TransacaoListagem>> porMes = new HashMap<>();
+        for (TransacaoListagem linha : transacaoRepository.listarPorUsuarioEPeriodo(
+                usuarioId, inicio.atDay(1), fim.atEndOfMonth())) {
+            porMes.computeIfAbsent(YearMonth.from(linha.dataTransacao()), m -> new ArrayList<>()).add(linha);
+        }
+        porMes.replaceAll((mes, linhas) -> {
+            linhas.sort(ORDEM);
+            return List.copyOf(linhas);
+        });
+        log.debug("Listagem mensal: usuário {}, meses {} a {} consultados", usuarioId, inicio, fim);
+        return porMes;
+    }
+
+    /**
+     * Descarta os meses alterados depois do commit (sem transação, imediatamente)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTransacoesAlteradas(TransacoesAlteradasEvent evento) {
+        meses.onTransacoesAlteradas(evento);
+    }
+
+    /**
+     * Nome/cor de categoria mudaram: descarta todos os meses do usuário
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoriasAlteradas(CategoriasAlteradasEvent evento) {
+        meses.onCategoriasAlteradas(evento);
+    }
+
+    private static int bytes(List<TransacaoListagem> linhas) {
+        long total = BYTES_POR_MES;
+        for (TransacaoListagem linha : linhas) {
+            total += BYTES_POR_LINHA + 2L * (tamanho(linha.descricao()) + tamanho(linha.observacoes())
+                    + tamanho(linha.categoriaNome()) + tamanho(linha.categoriaDescricao()) + tamanho(linha.categoriaCor()));
+        }
+        return (int) Math.min(total, Integer.MAX_VALUE);
+    }
+
+    private static int tamanho(String texto) {
+        return texto == null ? 0 : texto.length();
+    }
+}
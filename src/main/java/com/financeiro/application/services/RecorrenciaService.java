@@ -1,17 +1,34 @@
 package com.financeiro.application.services;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.financeiro.application.events.TransacoesAlteradasEvent;
+import com.financeiro.domain.entities.Categoria;
+import com.financeiro.domain.entities.ExclusaoSincronizacao;
 import com.financeiro.domain.entities.Transacao;
+import com.financeiro.domain.enums.EscopoSerie;
 import com.financeiro.domain.enums.TipoRecorrencia;
+import com.financeiro.presentation.dto.transacao.AtualizacaoSerieRequest;
+import com.financeiro.repository.AlteracaoSerie;
+import com.financeiro.repository.CategoriaRepository;
 import com.financeiro.repository.TransacaoRepository;
+import com.financeiro.repository.projection.ReferenciaTransacao;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -19,10 +36,27 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class RecorrenciaService {
 
     private final TransacaoRepository transacaoRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final SincronizacaoService sincronizacaoService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transacaoPorOrigem;
+
+    public RecorrenciaService(
+            TransacaoRepository transacaoRepository,
+            CategoriaRepository categoriaRepository,
+            SincronizacaoService sincronizacaoService,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager) {
+        this.transacaoRepository = transacaoRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.sincronizacaoService = sincronizacaoService;
+        this.eventPublisher = eventPublisher;
+        this.transacaoPorOrigem = new TransactionTemplate(transactionManager);
+        this.transacaoPorOrigem.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
 
     /**
      * Job executado diariamente às 02:00 para COMPLEMENTAR transações fixas
@@ -30,9 +64,12 @@ public class RecorrenciaService {
      * 
      * Agora o JOB apenas COMPLEMENTA: se faltam ocorrências, cria mais
      * A criação inicial já cria 12 meses adiantados
+     *
+     * Cada origem em sua própria transação, com as ocorrências enviadas ao banco antes do commit:
+     * uma série que falhar (ex.: restrição uk_transacoes_pai_data) é desfeita sozinha, sem
+     * marcar as demais para rollback
      */
     @Scheduled(cron = "0 0 2 * * *")
-    @Transactional
     public void processarRecorrenciasFixas() {
         log.info("🔄 Iniciando processamento de recorrências fixas (complementação)...");
         
@@ -54,7 +91,11 @@ public class RecorrenciaService {
         
         for (Transacao transacaoOrigem : transacoesOrigem) {
             try {
-                int geradas = processarTransacaoFixa(transacaoOrigem, hoje, dataLimite);
+                Integer geradas = transacaoPorOrigem.execute(status -> {
+                    int criadas = processarTransacaoFixa(transacaoOrigem, hoje, dataLimite);
+                    transacaoRepository.flush();
+                    return criadas;
+                });
                 totalGeradas += geradas;
                 
                 if (geradas > 0) {
@@ -71,7 +112,7 @@ public class RecorrenciaService {
     }
     
     /**
-     * Processa uma transação FIXA, criando todas as ocorrências necessárias
+     * Processa uma transação FIXA, criando todas as ocorrências necessárias como cópias da origem
      */
     private int processarTransacaoFixa(Transacao origem, LocalDate hoje, LocalDate dataLimite) {
         // Encontra a última ocorrência criada
@@ -82,31 +123,15 @@ public class RecorrenciaService {
             ultimaData = origem.getDataTransacao();
         }
         
-        // Calcula a próxima data a partir da última
-        LocalDate proximaData = origem.getFrequencia().calcularProximaData(ultimaData);
-        
-        int criadas = 0;
-        
-        // ✅ CORREÇÃO: Cria TODAS as ocorrências até a data limite
-        while (!proximaData.isAfter(dataLimite)) {
-            
-            // Verifica se já existe (evita duplicatas)
-            boolean jaExiste = transacaoRepository.existsByTransacaoPaiIdAndDataTransacao(
-                    origem.getId(), proximaData);
-            
-            if (!jaExiste) {
-                criarProximaOcorrencia(origem, proximaData);
-                criadas++;
-                log.debug("✅ Criada ocorrência: {} - {}", origem.getDescricao(), proximaData);
-            } else {
-                log.debug("⏭️  Ocorrência já existe: {} - {}", origem.getDescricao(), proximaData);
-            }
-            
-            // Calcula a próxima data (continua o loop)
-            proximaData = origem.getFrequencia().calcularProximaData(proximaData);
+        // Todas as datas que faltam até a data limite, calculadas antes de consultar o banco
+        List<LocalDate> datas = new ArrayList<>();
+        for (LocalDate proximaData = origem.getFrequencia().calcularProximaData(ultimaData);
+                !proximaData.isAfter(dataLimite);
+                proximaData = origem.getFrequencia().calcularProximaData(proximaData)) {
+            datas.add(proximaData);
         }
         
-        return criadas;
+        return gerarOcorrencias(origem, datas).size();
     }
     
     /**
@@ -119,27 +144,38 @@ public class RecorrenciaService {
     }
 
     /**
-     * Cria a próxima ocorrência de uma transação fixa
+     * Cria as ocorrências da transação FIXA (origem) nas datas informadas que ainda não existem.
+     * Uma consulta para as datas já geradas e um INSERT em lote para as que faltam; a restrição
+     * única (transacao_pai_id, data_transacao) impede duplicatas entre gerações concorrentes.
+     * Usado na criação da transação fixa e pelo JOB.
+     *
+     * @return datas das ocorrências criadas
      */
-    private void criarProximaOcorrencia(Transacao original, LocalDate proximaData) {
-        Transacao novaOcorrencia = Transacao.builder()
-                .descricao(original.getDescricao())
-                .valor(original.getValor())
-                .dataTransacao(proximaData)
-                .tipo(original.getTipo())
-                .observacoes(original.getObservacoes())
-                .categoria(original.getCategoria())
-                .usuario(original.getUsuario())
-                .recorrente(true)  // ✅ Marca como recorrente
-                .tipoRecorrencia(TipoRecorrencia.FIXA)
-                .frequencia(original.getFrequencia())
-                .transacaoPaiId(original.getId())  // Referencia a transação original
-                .ativa(true)
-                .build();
+    @Transactional
+    public List<LocalDate> gerarOcorrencias(Transacao origem, List<LocalDate> datas) {
+        if (datas.isEmpty()) {
+            return List.of();
+        }
+        Set<LocalDate> existentes = new HashSet<>(
+                transacaoRepository.findDatasExistentesDaSerie(origem.getId(), datas));
         
-        transacaoRepository.save(novaOcorrencia);
+        List<Transacao> novas = datas.stream()
+                .distinct()
+                .filter(data -> !existentes.contains(data))
+                .map(origem::novaOcorrencia)
+                .toList();
+        if (novas.isEmpty()) {
+            log.debug("⏭️  Ocorrências já existem: {} ({} data(s))", origem.getDescricao(), datas.size());
+            return List.of();
+        }
         
-        log.debug("💾 Nova ocorrência salva: ID={}, Data={}", novaOcorrencia.getId(), proximaData);
+        transacaoRepository.saveAll(novas);
+        List<LocalDate> criadas = novas.stream().map(Transacao::getDataTransacao).toList();
+        eventPublisher.publishEvent(TransacoesAlteradasEvent.de(origem.getUsuario().getId(), criadas));
+        
+        log.debug("💾 {} ocorrência(s) salva(s): {} - {} a {}", criadas.size(), origem.getDescricao(),
+                criadas.get(0), criadas.get(criadas.size() - 1));
+        return criadas;
     }
 
     /**
@@ -149,4 +185,134 @@ public class RecorrenciaService {
         log.info("Execução manual do job de recorrências solicitada");
         processarRecorrenciasFixas();
     }
+
+    // ====================================================================
+    // Operações do usuário sobre suas séries (um UPDATE/DELETE com filtro de dono;
+    // a consulta extra só acontece quando nenhuma linha foi afetada, para diferenciar 404 de 400)
+    // ====================================================================
+
+    /**
+     * Pausa (ativa=false) ou reativa (ativa=true) a geração automática de uma transação FIXA do usuário
+     *
+     * @throws NoSuchElementException se a transação não existir para o usuário
+     * @throws IllegalArgumentException se a transação não for FIXA
+     */
+    @Transactional
+    public void alterarAtivaRecorrencia(UUID transacaoId, UUID usuarioId, boolean ativa) {
+        int alteradas = transacaoRepository.atualizarAtivaPorTipo(
+                transacaoId, usuarioId, TipoRecorrencia.FIXA, ativa, LocalDateTime.now());
+        if (alteradas == 0) {
+            obterTipoRecorrencia(transacaoId, usuarioId);
+            throw new IllegalArgumentException(ativa
+                    ? "Apenas transações FIXA podem ser reativadas"
+                    : "Apenas transações FIXA podem ser pausadas");
+        }
+        // Nenhum valor muda, mas a linha da origem sim (ativa): avisa o mês dela
+        publicarAlteracaoDaOrigem(transacaoId, usuarioId);
+    }
+
+    /**
+     * Cancela a série: remove parcelas/ocorrências futuras e, para FIXA, pausa a origem
+     *
+     * @return quantidade de transações removidas
+     * @throws NoSuchElementException se a transação não existir para o usuário
+     * @throws IllegalArgumentException se a transação não for PARCELADA nem FIXA
+     */
+    @Transactional
+    public int cancelarSerie(UUID transacaoId, UUID usuarioId) {
+        TipoRecorrencia tipo = obterTipoRecorrencia(transacaoId, usuarioId);
+        LocalDate hoje = LocalDate.now();
+
+        if (tipo == TipoRecorrencia.PARCELADA) {
+            int canceladas = removerSerieApos(transacaoId, usuarioId, hoje);
+            log.info("Canceladas {} parcelas futuras da transação {}", canceladas, transacaoId);
+            return canceladas;
+        }
+
+        if (tipo == TipoRecorrencia.FIXA) {
+            // Pausar a transação para não gerar mais ocorrências
+            transacaoRepository.atualizarAtivaPorTipo(
+                    transacaoId, usuarioId, TipoRecorrencia.FIXA, false, LocalDateTime.now());
+            publicarAlteracaoDaOrigem(transacaoId, usuarioId);
+            int canceladas = removerSerieApos(transacaoId, usuarioId, hoje);
+            log.info("Pausada transação FIXA {} e canceladas {} ocorrências futuras", transacaoId, canceladas);
+            return canceladas;
+        }
+
+        throw new IllegalArgumentException("Apenas transações PARCELADA ou FIXA podem ter séries canceladas");
+    }
+
+    /**
+     * Edita em série os campos informados (descrição, valor, categoria, observações) num único UPDATE,
+     * sem carregar as linhas: só a transação (ESTA), ela e as posteriores da série (FUTURAS), ou a
+     * série inteira (TODAS). Numa FIXA, FUTURAS também altera a origem, da qual o JOB copia as
+     * próximas ocorrências. Os meses das linhas alcançadas são avisados para resumo mensal, saldos,
+     * caches e delta sync.
+     *
+     * @return quantidade de transações alteradas
+     * @throws NoSuchElementException se a transação (ou a categoria) não existir para o usuário
+     * @throws IllegalArgumentException se nenhum campo for informado ou a categoria for de outro tipo
+     */
+    @Transactional
+    public int atualizarSerie(UUID transacaoId, UUID usuarioId, EscopoSerie escopo, AtualizacaoSerieRequest request) {
+        Transacao alvo = transacaoRepository.findByIdAndUsuarioIdWithRelations(transacaoId, usuarioId)
+                .orElseThrow(() -> new NoSuchElementException("Transação não encontrada"));
+
+        Categoria categoria = null;
+        if (request.getCategoriaId() != null) {
+            categoria = categoriaRepository.findByIdAndUsuarioId(request.getCategoriaId(), usuarioId)
+                    .orElseThrow(() -> new NoSuchElementException("Categoria não encontrada"));
+            // O UPDATE não passa pela validação da entidade: mesma regra de Transacao.validarTipoCategoria
+            boolean categoriaReceita = categoria.getTipo() == Categoria.TipoCategoria.RECEITA;
+            if (categoriaReceita != (alvo.getTipo() == Transacao.TipoTransacao.RECEITA)) {
+                throw new IllegalArgumentException("Tipo da transação deve ser compatível com o tipo da categoria");
+            }
+        }
+        if (request.getDescricao() != null && alvo.getTipoRecorrencia() == TipoRecorrencia.PARCELADA
+                && alvo.getQuantidadeParcelas() != null) {
+            String sufixo = " (" + alvo.getQuantidadeParcelas() + "/" + alvo.getQuantidadeParcelas() + ")";
+            if (request.getDescricao().length() + sufixo.length() > 100) {
+                throw new IllegalArgumentException("Descrição deve ter no máximo "
+                        + (100 - sufixo.length()) + " caracteres numa série parcelada");
+            }
+        }
+
+        AlteracaoSerie alteracao = new AlteracaoSerie(
+                request.getDescricao(), request.getValor(), categoria, request.getObservacoes());
+        if (alteracao.vazia()) {
+            throw new IllegalArgumentException("Informe ao menos um campo para alterar");
+        }
+
+        List<ReferenciaTransacao> serie = transacaoRepository.listarDaSerie(usuarioId, alvo, escopo);
+        int alteradas = transacaoRepository.atualizarSerie(usuarioId, alvo, escopo, alteracao, LocalDateTime.now());
+        eventPublisher.publishEvent(TransacoesAlteradasEvent.de(usuarioId,
+                serie.stream().map(ReferenciaTransacao::dataTransacao).toList()));
+
+        log.info("Edição em série ({}) da transação {}: {} transação(ões) alterada(s)", escopo, transacaoId, alteradas);
+        return alteradas;
+    }
+
+    /**
+     * Remove a série após a data, com lápides para o delta sync, avisando o resumo mensal
+     * dos meses que perderam linhas
+     */
+    private int removerSerieApos(UUID transacaoId, UUID usuarioId, LocalDate data) {
+        List<ReferenciaTransacao> serie = transacaoRepository.findSerieApos(transacaoId, usuarioId, data);
+        int removidas = transacaoRepository.deleteDaSerieApos(transacaoId, usuarioId, data);
+        sincronizacaoService.registrarExclusoes(usuarioId, ExclusaoSincronizacao.Entidade.TRANSACAO,
+                serie.stream().map(ReferenciaTransacao::id).toList());
+        eventPublisher.publishEvent(TransacoesAlteradasEvent.de(usuarioId,
+                serie.stream().map(ReferenciaTransacao::dataTransacao).toList()));
+        return removidas;
+    }
+
+    private void publicarAlteracaoDaOrigem(UUID transacaoId, UUID usuarioId) {
+        transacaoRepository.findDataTransacaoByIdAndUsuarioId(transacaoId, usuarioId)
+                .ifPresent(data -> eventPublisher.publishEvent(TransacoesAlteradasEvent.de(usuarioId, data)));
+    }
+
+    private TipoRecorrencia obterTipoRecorrencia(UUID transacaoId, UUID usuarioId) {
+        return transacaoRepository.findTipoRecorrenciaByIdAndUsuarioId(transacaoId, usuarioId)
+                .orElseThrow(() -> new NoSuchElementException("Transação não encontrada"));
+    }
 }
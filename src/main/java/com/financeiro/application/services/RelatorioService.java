@@ -0,0 +1,161 @@
+package com.financeiro.application.services;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.financeiro.application.events.CategoriasAlteradasEvent;
+import com.financeiro.application.events.TransacoesAlteradasEvent;
+import com.financeiro.domain.entities.Transacao;
+import com.financeiro.infrastructure.config.AppProperties;
+import com.financeiro.presentation.dto.relatorio.RelatorioCategoriasMensalResponse;
+import com.financeiro.repository.ResumoMensalRepository;
+import com.financeiro.repository.projection.TotalMensalPorCategoria;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Relatório categorias x mês.
+ *
+ * O cache é por (usuário, mês), não por período ({@link CacheMensalPorUsuario}): períodos
+ * diferentes reaproveitam os mesmos meses, e só os meses ausentes vão ao banco, numa única consulta
+ * agrupada sobre o resumo_mensal. Um mês sai do cache quando uma alteração do usuário naquele mês
+ * é commitada.
+ */
+@Slf4j
+@Service
+public class RelatorioService {
+
+    private record Coluna(UUID categoriaId, Transacao.TipoTransacao tipo) {
+    }
+
+    private final ResumoMensalRepository resumoMensalRepository;
+    private final AppProperties appProperties;
+    private final CacheMensalPorUsuario<List<TotalMensalPorCategoria>> meses;
+
+    public RelatorioService(
+            ResumoMensalRepository resumoMensalRepository,
+            AppProperties appProperties,
+            MeterRegistry meterRegistry) {
+        this.resumoMensalRepository = resumoMensalRepository;
+        this.appProperties = appProperties;
+        this.meses = new CacheMensalPorUsuario<>(
+                Caffeine.newBuilder()
+                        .maximumSize(appProperties.getCache().getRelatorioMensal().getMaxSize())
+                        .expireAfterWrite(appProperties.getCache().getRelatorioMensal().getTtl()),
+                null,
+                this::consultar,
+                List.of(),
+                "relatorios.categorias-mensal",
+                meterRegistry);
+    }
+
+    /**
+     * Totais e quantidades por categoria em cada mês do período (inclusive)
+     *
+     * @throws IllegalArgumentException se o período for inválido ou maior que o limite configurado
+     */
+    public RelatorioCategoriasMensalResponse categoriasPorMes(UUID usuarioId, YearMonth inicio, YearMonth fim) {
+        if (inicio.isAfter(fim)) {
+            throw new IllegalArgumentException("Mês de início deve ser anterior ou igual ao mês de fim");
+        }
+        int mesesMaximos = appProperties.getRelatorios().getMesesMaximos();
+        if (ChronoUnit.MONTHS.between(inicio, fim) + 1 > mesesMaximos) {
+            throw new IllegalArgumentException("Período máximo do relatório é de " + mesesMaximos + " meses");
+        }
+
+        Map<YearMonth, List<TotalMensalPorCategoria>> porMes = meses.carregar(usuarioId, inicio, fim);
+
+        // Colunas: categorias com movimento no período, por tipo e nome
+        Map<Coluna, RelatorioCategoriasMensalResponse.Coluna> colunas = new LinkedHashMap<>();
+        porMes.values().stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing((TotalMensalPorCategoria t) -> t.tipo().name())
+                        .thenComparing(TotalMensalPorCategoria::categoriaNome, Comparator.nullsLast(Comparator.naturalOrder())))
+                .forEach(t -> colunas.putIfAbsent(new Coluna(t.categoriaId(), t.tipo()),
+                        new RelatorioCategoriasMensalResponse.Coluna(
+                                t.categoriaId(), t.categoriaNome(), t.categoriaCor(), t.tipo())));
+        List<Coluna> ordem = new ArrayList<>(colunas.keySet());
+        Map<Coluna, Integer> indices = new HashMap<>();
+        for (int j = 0; j < ordem.size(); j++) {
+            indices.put(ordem.get(j), j);
+        }
+
+        List<String> rotulos = new ArrayList<>();
+        List<List<BigDecimal>> totais = new ArrayList<>();
+        List<List<Long>> quantidades = new ArrayList<>();
+        porMes.forEach((mes, linhas) -> {
+            BigDecimal[] linhaTotais = new BigDecimal[ordem.size()];
+            Long[] linhaQuantidades = new Long[ordem.size()];
+            Arrays.fill(linhaTotais, BigDecimal.ZERO);
+            Arrays.fill(linhaQuantidades, 0L);
+            for (TotalMensalPorCategoria linha : linhas) {
+                int j = indices.get(new Coluna(linha.categoriaId(), linha.tipo()));
+                linhaTotais[j] = linha.total();
+                linhaQuantidades[j] = linha.quantidade();
+            }
+            rotulos.add(mes.toString());
+            totais.add(List.of(linhaTotais));
+            quantidades.add(List.of(linhaQuantidades));
+        });
+
+        return RelatorioCategoriasMensalResponse.builder()
+                .inicio(inicio.toString())
+                .fim(fim.toString())
+                .meses(rotulos)
+                .categorias(new ArrayList<>(colunas.values()))
+                .totais(totais)
+                .quantidades(quantidades)
+                .build();
+    }
+
+    /**
+     * Totais dos meses ausentes do cache, numa única consulta agrupada, separados por mês
+     */
+    private Map<YearMonth, List<TotalMensalPorCategoria>> consultar(UUID usuarioId, YearMonth inicio, YearMonth fim) {
+        Map<YearMonth, List<TotalMensalPorCategoria>> porMes = new HashMap<>();
+        for (TotalMensalPorCategoria linha : resumoMensalRepository.totalizarPorMesECategoria(
+                usuarioId, anoMes(inicio), anoMes(fim))) {
+            YearMonth mes = YearMonth.of(linha.anoMes() / 100, linha.anoMes() % 100);
+            porMes.computeIfAbsent(mes, m -> new ArrayList<>()).add(linha);
+        }
+        porMes.replaceAll((mes, linhas) -> List.copyOf(linhas));
+        log.debug("Relatório categorias x mês: usuário {}, meses {} a {} consultados", usuarioId, inicio, fim);
+        return porMes;
+    }
+
+    /**
+     * Descarta os meses alterados depois do commit (sem transação, imediatamente)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTransacoesAlteradas(TransacoesAlteradasEvent evento) {
+        meses.onTransacoesAlteradas(evento);
+    }
+
+    /**
+     * Nome/cor de categoria mudaram: descarta todos os meses do usuário
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoriasAlteradas(CategoriasAlteradasEvent evento) {
+        meses.onCategoriasAlteradas(evento);
+    }
+
+    private static int anoMes(YearMonth mes) {
+        return mes.getYear() * 100 + mes.getMonthValue();
+    }
+}
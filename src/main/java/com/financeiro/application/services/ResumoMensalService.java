@@ -0,0 +1,390 @@
+package com.financeiro.application.services;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.financeiro.application.events.TransacoesAlteradasEvent;
+import com.financeiro.domain.entities.Transacao;
+import com.financeiro.infrastructure.config.AppProperties;
+import com.financeiro.repository.ResumoMensalRepository;
+import com.financeiro.repository.TransacaoRepository;
+import com.financeiro.repository.UsuarioRepository;
+import com.financeiro.repository.projection.TotalPorCategoria;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Manutenção e leitura da tabela resumo_mensal (soma/quantidade por usuário, mês, categoria e tipo).
+ *
+ * Manutenção: cada {@link TransacoesAlteradasEvent} acumula os meses afetados na transação corrente;
+ * antes do commit, esses meses são recalculados a partir das linhas de transacoes (DELETE + INSERT ... SELECT
+ * por faixa contínua de meses). O recálculo acontece com a linha do usuário bloqueada (SELECT ... FOR UPDATE),
+ * então duas transações concorrentes do mesmo usuário nunca gravam um rollup calculado sem ver a outra.
+ *
+ * Leitura: resumos usam os meses completos do rollup e só os meses parciais das pontas do período
+ * vão às linhas brutas.
+ */
+@Slf4j
+@Service
+public class ResumoMensalService {
+
+    private static final String SQL_ANO_MES =
+            "CAST(EXTRACT(YEAR FROM data_transacao) * 100 + EXTRACT(MONTH FROM data_transacao) AS INTEGER)";
+
+    private static final String SQL_BLOQUEAR_USUARIO = "SELECT id FROM usuarios WHERE id = ? FOR UPDATE";
+
+    private static final String SQL_REMOVER_MESES =
+            "DELETE FROM resumo_mensal WHERE usuario_id = ? AND ano_mes BETWEEN ? AND ?";
+
+    private static final String SQL_INSERIR_MESES =
+            "INSERT INTO resumo_mensal (usuario_id, ano_mes, categoria_id, tipo, total, quantidade) "
+            + "SELECT usuario_id, " + SQL_ANO_MES + ", categoria_id, tipo, SUM(valor), COUNT(*) "
+            + "FROM transacoes WHERE usuario_id = ? AND data_transacao BETWEEN ? AND ? "
+            + "GROUP BY usuario_id, " + SQL_ANO_MES + ", categoria_id, tipo";
+
+    private static final String SQL_REMOVER_USUARIO = "DELETE FROM resumo_mensal WHERE usuario_id = ?";
+
+    private static final String SQL_INSERIR_USUARIO =
+            "INSERT INTO resumo_mensal (usuario_id, ano_mes, categoria_id, tipo, total, quantidade) "
+            + "SELECT usuario_id, " + SQL_ANO_MES + ", categoria_id, tipo, SUM(valor), COUNT(*) "
+            + "FROM transacoes WHERE usuario_id = ? "
+            + "GROUP BY usuario_id, " + SQL_ANO_MES + ", categoria_id, tipo";
+
+    private static final String SQL_TOTAIS_BRUTOS =
+            "SELECT " + SQL_ANO_MES + " AS ano_mes, categoria_id, tipo, SUM(valor) AS total, COUNT(*) AS quantidade "
+            + "FROM transacoes WHERE usuario_id = ? "
+            + "GROUP BY " + SQL_ANO_MES + ", categoria_id, tipo";
+
+    private static final String SQL_TOTAIS_ROLLUP =
+            "SELECT ano_mes, categoria_id, tipo, total, quantidade FROM resumo_mensal WHERE usuario_id = ?";
+
+    // Chave do recurso ligado à transação com os meses pendentes de recálculo
+    private final Object chavePendentes = new Object();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ResumoMensalRepository resumoMensalRepository;
+    private final TransacaoRepository transacaoRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final AppProperties appProperties;
+    private final Counter divergencias;
+
+    public ResumoMensalService(
+            JdbcTemplate jdbcTemplate,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            ResumoMensalRepository resumoMensalRepository,
+            TransacaoRepository transacaoRepository,
+            UsuarioRepository usuarioRepository,
+            AppProperties appProperties,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.resumoMensalRepository = resumoMensalRepository;
+        this.transacaoRepository = transacaoRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.appProperties = appProperties;
+        this.divergencias = Counter.builder("resumo_mensal.divergencias")
+                .description("Usuários com rollup divergente das transações encontrados pela verificação")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Resultado da reconstrução completa
+     */
+    public record Reconstrucao(int usuarios, int falhas, long duracaoMs) {
+    }
+
+    // ====================================================================
+    // Manutenção incremental
+    // ====================================================================
+
+    /**
+     * Acumula os meses afetados; o recálculo roda uma única vez, antes do commit da transação
+     */
+    @EventListener
+    public void onTransacoesAlteradas(TransacoesAlteradasEvent evento) {
+        Set<YearMonth> meses = evento.meses();
+        if (meses.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Map<UUID, SortedSet<YearMonth>> imediato = Map.of(evento.usuarioId(), new TreeSet<>(meses));
+            transactionTemplate.executeWithoutResult(status -> recalcular(imediato));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<UUID, SortedSet<YearMonth>> pendentes =
+                (Map<UUID, SortedSet<YearMonth>>) TransactionSynchronizationManager.getResource(chavePendentes);
+        if (pendentes == null) {
+            // TreeMap: usuários sempre bloqueados na mesma ordem (sem deadlock entre transações)
+            Map<UUID, SortedSet<YearMonth>> novos = new TreeMap<>();
+            TransactionSynchronizationManager.bindResource(chavePendentes, novos);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    // Garante que inserts/updates pendentes da JPA estejam visíveis para o SQL de recálculo
+                    entityManager.flush();
+                    recalcular(novos);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(chavePendentes);
+                }
+            });
+            pendentes = novos;
+        }
+        pendentes.computeIfAbsent(evento.usuarioId(), id -> new TreeSet<>()).addAll(meses);
+    }
+
+    private void recalcular(Map<UUID, SortedSet<YearMonth>> mesesPorUsuario) {
+        mesesPorUsuario.forEach((usuarioId, meses) -> {
+            bloquearUsuario(usuarioId);
+            for (YearMonth[] faixa : faixasContinuas(meses)) {
+                jdbcTemplate.update(SQL_REMOVER_MESES, usuarioId, anoMes(faixa[0]), anoMes(faixa[1]));
+                jdbcTemplate.update(SQL_INSERIR_MESES, usuarioId,
+                        Date.valueOf(faixa[0].atDay(1)), Date.valueOf(faixa[1].atEndOfMonth()));
+            }
+            log.debug("Resumo mensal recalculado: usuário {}, meses {}", usuarioId, meses);
+        });
+    }
+
+    // ====================================================================
+    // Leitura
+    // ====================================================================
+
+    /**
+     * Totais por tipo/categoria do usuário, no período (ou em todo o histórico, com datas nulas)
+     */
+    public List<TotalPorCategoria> totalizar(UUID usuarioId, LocalDate inicio, LocalDate fim) {
+        if (inicio == null || fim == null) {
+            return ordenar(resumoMensalRepository.totalizarPorCategoria(usuarioId));
+        }
+        if (inicio.isAfter(fim)) {
+            return List.of();
+        }
+
+        YearMonth primeiroCompleto = inicio.getDayOfMonth() == 1
+                ? YearMonth.from(inicio)
+                : YearMonth.from(inicio).plusMonths(1);
+        YearMonth ultimoCompleto = fim.equals(YearMonth.from(fim).atEndOfMonth())
+                ? YearMonth.from(fim)
+                : YearMonth.from(fim).minusMonths(1);
+
+        if (primeiroCompleto.isAfter(ultimoCompleto)) {
+            // Período sem nenhum mês completo: poucas linhas, direto das transações
+            return ordenar(transacaoRepository.totalizarPorCategoria(usuarioId, inicio, fim));
+        }
+
+        List<TotalPorCategoria> partes = new ArrayList<>(resumoMensalRepository.totalizarPorCategoriaEntreMeses(
+                usuarioId, anoMes(primeiroCompleto), anoMes(ultimoCompleto)));
+        LocalDate inicioCompleto = primeiroCompleto.atDay(1);
+        LocalDate fimCompleto = ultimoCompleto.atEndOfMonth();
+        if (inicio.isBefore(inicioCompleto)) {
+            partes.addAll(transacaoRepository.totalizarPorCategoria(usuarioId, inicio, inicioCompleto.minusDays(1)));
+        }
+        if (fim.isAfter(fimCompleto)) {
+            partes.addAll(transacaoRepository.totalizarPorCategoria(usuarioId, fimCompleto.plusDays(1), fim));
+        }
+        return ordenar(somar(partes));
+    }
+
+    /**
+     * Saldo (receitas - despesas) de todo o histórico do usuário
+     */
+    public BigDecimal calcularSaldo(UUID usuarioId) {
+        BigDecimal saldo = resumoMensalRepository.calcularSaldo(usuarioId);
+        return saldo != null ? saldo : BigDecimal.ZERO;
+    }
+
+    // ====================================================================
+    // Reconstrução e verificação
+    // ====================================================================
+
+    /**
+     * Recalcula os rollups de todos os usuários, vários usuários em paralelo (uma transação por usuário)
+     */
+    public Reconstrucao reconstruirTodos() {
+        long inicio = System.nanoTime();
+        List<UUID> usuarios = usuarioRepository.findAllIds();
+        AtomicInteger falhas = new AtomicInteger();
+        int paralelismo = Math.max(1, appProperties.getResumoMensal().getParalelismoReconstrucao());
+
+        AtomicInteger sequencia = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(paralelismo, tarefa -> {
+            Thread thread = new Thread(tarefa, "resumo-mensal-" + sequencia.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            CompletableFuture.allOf(usuarios.stream()
+                    .map(usuarioId -> CompletableFuture.runAsync(() -> {
+                        try {
+                            reconstruirUsuario(usuarioId);
+                        } catch (RuntimeException e) {
+                            falhas.incrementAndGet();
+                            log.error("Falha ao reconstruir resumo mensal do usuário {}", usuarioId, e);
+                        }
+                    }, executor))
+                    .toArray(CompletableFuture[]::new))
+                    .join();
+        } finally {
+            executor.shutdown();
+        }
+
+        Reconstrucao resultado = new Reconstrucao(
+                usuarios.size(), falhas.get(), (System.nanoTime() - inicio) / 1_000_000);
+        log.info("Resumo mensal reconstruído: {} usuário(s), {} falha(s) em {} ms",
+                resultado.usuarios(), resultado.falhas(), resultado.duracaoMs());
+        return resultado;
+    }
+
+    /**
+     * Recalcula todos os rollups de um usuário a partir das transações
+     */
+    public void reconstruirUsuario(UUID usuarioId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            bloquearUsuario(usuarioId);
+            jdbcTemplate.update(SQL_REMOVER_USUARIO, usuarioId);
+            jdbcTemplate.update(SQL_INSERIR_USUARIO, usuarioId);
+        });
+    }
+
+    /**
+     * JOB diário: sorteia usuários, compara os rollups com as transações e corrige os divergentes
+     *
+     * @return quantidade de usuários corrigidos
+     */
+    @Scheduled(cron = "0 15 4 * * *")
+    public int verificarAmostra() {
+        List<UUID> usuarios = new ArrayList<>(usuarioRepository.findAllIds());
+        Collections.shuffle(usuarios);
+        List<UUID> amostra = usuarios.subList(0,
+                Math.min(usuarios.size(), appProperties.getResumoMensal().getUsuariosPorVerificacao()));
+
+        int corrigidos = 0;
+        for (UUID usuarioId : amostra) {
+            Boolean consistente = transactionTemplate.execute(status -> {
+                // Com o usuário bloqueado, nenhuma alteração concorrente fica entre as duas leituras
+                bloquearUsuario(usuarioId);
+                return lerTotais(SQL_TOTAIS_BRUTOS, usuarioId).equals(lerTotais(SQL_TOTAIS_ROLLUP, usuarioId));
+            });
+            if (!Boolean.TRUE.equals(consistente)) {
+                divergencias.increment();
+                log.warn("Resumo mensal divergente das transações para o usuário {}, reconstruindo", usuarioId);
+                reconstruirUsuario(usuarioId);
+                corrigidos++;
+            }
+        }
+        log.info("Verificação do resumo mensal: {} usuário(s) verificado(s), {} corrigido(s)", amostra.size(), corrigidos);
+        return corrigidos;
+    }
+
+    /**
+     * Totais indexados por "AAAAMM|categoria|tipo", com o total normalizado para comparação
+     */
+    private Map<String, String> lerTotais(String sql, UUID usuarioId) {
+        Map<String, String> totais = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            String chave = rs.getInt("ano_mes") + "|" + rs.getString("categoria_id") + "|" + rs.getString("tipo");
+            BigDecimal total = rs.getBigDecimal("total");
+            totais.put(chave, (total != null ? total.stripTrailingZeros().toPlainString() : "0")
+                    + "|" + rs.getLong("quantidade"));
+        }, usuarioId);
+        return totais;
+    }
+
+    // ====================================================================
+    // Auxiliares
+    // ====================================================================
+
+    private void bloquearUsuario(UUID usuarioId) {
+        jdbcTemplate.queryForList(SQL_BLOQUEAR_USUARIO, usuarioId);
+    }
+
+    /**
+     * Agrupa meses ordenados em faixas contínuas [início, fim] (um DELETE/INSERT por faixa)
+     */
+    private static List<YearMonth[]> faixasContinuas(SortedSet<YearMonth> meses) {
+        List<YearMonth[]> faixas = new ArrayList<>();
+        YearMonth inicio = null;
+        YearMonth anterior = null;
+        for (YearMonth mes : meses) {
+            if (inicio == null) {
+                inicio = mes;
+            } else if (!mes.equals(anterior.plusMonths(1))) {
+                faixas.add(new YearMonth[] { inicio, anterior });
+                inicio = mes;
+            }
+            anterior = mes;
+        }
+        if (inicio != null) {
+            faixas.add(new YearMonth[] { inicio, anterior });
+        }
+        return faixas;
+    }
+
+    private static int anoMes(YearMonth mes) {
+        return mes.getYear() * 100 + mes.getMonthValue();
+    }
+
+    /**
+     * Soma subtotais da mesma categoria/tipo vindos de fontes diferentes (rollup e pontas do período)
+     */
+    private static List<TotalPorCategoria> somar(List<TotalPorCategoria> partes) {
+        Map<String, TotalPorCategoria> somados = new LinkedHashMap<>();
+        for (TotalPorCategoria parte : partes) {
+            somados.merge(parte.tipo() + "|" + parte.categoriaId(), parte, (a, b) -> new TotalPorCategoria(
+                    a.tipo(), a.categoriaId(), a.categoriaNome(), a.categoriaCor(),
+                    Objects.requireNonNullElse(a.total(), BigDecimal.ZERO)
+                            .add(Objects.requireNonNullElse(b.total(), BigDecimal.ZERO)),
+                    Objects.requireNonNullElse(a.quantidade(), 0L) + Objects.requireNonNullElse(b.quantidade(), 0L)));
+        }
+        return new ArrayList<>(somados.values());
+    }
+
+    /**
+     * Mesma ordem da consulta bruta (ORDER BY t.tipo, SUM(t.valor) DESC): tipo pelo texto gravado, maiores totais primeiro
+     */
+    private static List<TotalPorCategoria> ordenar(List<TotalPorCategoria> totais) {
+        List<TotalPorCategoria> ordenados = new ArrayList<>(totais);
+        ordenados.sort(Comparator.comparing(TotalPorCategoria::tipo, Comparator.comparing(Transacao.TipoTransacao::name))
+                .thenComparing(TotalPorCategoria::total, Comparator.nullsLast(Comparator.reverseOrder())));
+        return ordenados;
+    }
+}
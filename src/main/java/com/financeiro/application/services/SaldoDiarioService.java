@@ -0,0 +1,186 @@
+package com.financeiro.application.services;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.financeiro.application.events.TransacoesAlteradasEvent;
+import com.financeiro.domain.entities.SaldoDiario;
+import com.financeiro.infrastructure.config.AppProperties;
+import com.financeiro.presentation.dto.transacao.SerieSaldoResponse;
+import com.financeiro.repository.SaldoDiarioRepository;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Manutenção e leitura da tabela saldo_diario (saldo acumulado ao fim de cada dia com movimento).
+ *
+ * Manutenção: cada {@link TransacoesAlteradasEvent} guarda a data alterada mais antiga do usuário;
+ * antes do commit, as linhas a partir dela são recalculadas (soma de prefixo por window function,
+ * partindo do último checkpoint anterior), com a linha do usuário bloqueada, como no resumo mensal.
+ *
+ * Leitura: saldo em uma data = último checkpoint até ela; série = checkpoints do período
+ * completados dia a dia em memória.
+ */
+@Slf4j
+@Service
+public class SaldoDiarioService {
+
+    private static final String SQL_BLOQUEAR_USUARIO = "SELECT id FROM usuarios WHERE id = ? FOR UPDATE";
+
+    private static final String SQL_REMOVER_A_PARTIR =
+            "DELETE FROM saldo_diario WHERE usuario_id = ? AND data >= ?";
+
+    private static final String SQL_SALDO_ANTERIOR =
+            "SELECT saldo FROM saldo_diario WHERE usuario_id = ? AND data < ? ORDER BY data DESC LIMIT 1";
+
+    private static final String SQL_INSERIR_A_PARTIR =
+            "INSERT INTO saldo_diario (usuario_id, data, liquido, saldo) "
+            + "SELECT usuario_id, data_transacao, liquido, ? + SUM(liquido) OVER (ORDER BY data_transacao) "
+            + "FROM (SELECT usuario_id, data_transacao, "
+            + "SUM(CASE WHEN tipo = 'RECEITA' THEN valor ELSE -valor END) AS liquido "
+            + "FROM transacoes WHERE usuario_id = ? AND data_transacao >= ? "
+            + "GROUP BY usuario_id, data_transacao) dias";
+
+    // Chave do recurso ligado à transação com a data mais antiga a recalcular por usuário
+    private final Object chavePendentes = new Object();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final SaldoDiarioRepository saldoDiarioRepository;
+    private final AppProperties appProperties;
+
+    public SaldoDiarioService(
+            JdbcTemplate jdbcTemplate,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            SaldoDiarioRepository saldoDiarioRepository,
+            AppProperties appProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.saldoDiarioRepository = saldoDiarioRepository;
+        this.appProperties = appProperties;
+    }
+
+    // ====================================================================
+    // Manutenção incremental
+    // ====================================================================
+
+    /**
+     * Guarda a data mais antiga afetada; o recálculo roda uma única vez, antes do commit da transação
+     */
+    @EventListener
+    public void onTransacoesAlteradas(TransacoesAlteradasEvent evento) {
+        LocalDate primeiraData = evento.primeiraData();
+        if (primeiraData == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionTemplate.executeWithoutResult(status -> recalcular(Map.of(evento.usuarioId(), primeiraData)));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<UUID, LocalDate> pendentes = (Map<UUID, LocalDate>) TransactionSynchronizationManager.getResource(chavePendentes);
+        if (pendentes == null) {
+            // TreeMap: usuários sempre bloqueados na mesma ordem (sem deadlock entre transações)
+            Map<UUID, LocalDate> novos = new TreeMap<>();
+            TransactionSynchronizationManager.bindResource(chavePendentes, novos);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    entityManager.flush();
+                    recalcular(novos);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(chavePendentes);
+                }
+            });
+            pendentes = novos;
+        }
+        pendentes.merge(evento.usuarioId(), primeiraData, (a, b) -> a.isBefore(b) ? a : b);
+    }
+
+    private void recalcular(Map<UUID, LocalDate> aPartirPorUsuario) {
+        aPartirPorUsuario.forEach((usuarioId, aPartir) -> {
+            jdbcTemplate.queryForList(SQL_BLOQUEAR_USUARIO, usuarioId);
+            Date data = Date.valueOf(aPartir);
+            jdbcTemplate.update(SQL_REMOVER_A_PARTIR, usuarioId, data);
+            List<BigDecimal> anterior = jdbcTemplate.queryForList(SQL_SALDO_ANTERIOR, BigDecimal.class, usuarioId, data);
+            BigDecimal base = anterior.isEmpty() ? BigDecimal.ZERO : anterior.get(0);
+            int dias = jdbcTemplate.update(SQL_INSERIR_A_PARTIR, base, usuarioId, data);
+            log.debug("Saldo diário recalculado: usuário {}, a partir de {} ({} dia(s))", usuarioId, aPartir, dias);
+        });
+    }
+
+    // ====================================================================
+    // Leitura
+    // ====================================================================
+
+    /**
+     * Saldo do usuário ao fim da data (inclusive)
+     */
+    public BigDecimal saldoEm(UUID usuarioId, LocalDate data) {
+        return saldoDiarioRepository.findSaldoEm(usuarioId, data).orElse(BigDecimal.ZERO);
+    }
+
+    /**
+     * Saldo ao fim de cada dia do período (inclusive), com a variação do período
+     *
+     * @throws IllegalArgumentException se o período for inválido ou maior que o limite configurado
+     */
+    public SerieSaldoResponse serie(UUID usuarioId, LocalDate inicio, LocalDate fim) {
+        if (inicio.isAfter(fim)) {
+            throw new IllegalArgumentException("Data de início deve ser anterior ou igual à data de fim");
+        }
+        int diasMaximos = appProperties.getSaldoDiario().getDiasMaximosSerie();
+        if (ChronoUnit.DAYS.between(inicio, fim) + 1 > diasMaximos) {
+            throw new IllegalArgumentException("Período máximo da série é de " + diasMaximos + " dias");
+        }
+
+        BigDecimal saldoAnterior = saldoEm(usuarioId, inicio.minusDays(1));
+        Iterator<SaldoDiario> checkpoints = saldoDiarioRepository.findEntre(usuarioId, inicio, fim).iterator();
+        SaldoDiario proximo = checkpoints.hasNext() ? checkpoints.next() : null;
+
+        List<SerieSaldoResponse.Ponto> pontos = new ArrayList<>();
+        BigDecimal saldo = saldoAnterior;
+        for (LocalDate dia = inicio; !dia.isAfter(fim); dia = dia.plusDays(1)) {
+            BigDecimal movimento = BigDecimal.ZERO;
+            if (proximo != null && proximo.getId().getData().equals(dia)) {
+                movimento = proximo.getLiquido();
+                saldo = proximo.getSaldo();
+                proximo = checkpoints.hasNext() ? checkpoints.next() : null;
+            }
+            pontos.add(new SerieSaldoResponse.Ponto(dia, movimento, saldo));
+        }
+
+        return SerieSaldoResponse.builder()
+                .inicio(inicio)
+                .fim(fim)
+                .saldoAnterior(saldoAnterior)
+                .saldoFinal(saldo)
+                .variacao(saldo.subtract(saldoAnterior))
+                .pontos(pontos)
+                .build();
+    }
+}
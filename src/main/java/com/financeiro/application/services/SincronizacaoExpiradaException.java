@@ -0,0 +1,17 @@
+package com.financeiro.application.services;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * O token é anterior a lápides já removidas pela retenção: o cliente pode ter perdido remoções
+ * e deve sincronizar de novo sem token. Respondido com 410.
+ */
+public class SincronizacaoExpiradaException extends ResponseStatusException {
+
+    static final String MENSAGEM = "Token de sincronização expirado: sincronize novamente sem token";
+
+    public SincronizacaoExpiradaException() {
+        super(HttpStatus.GONE, MENSAGEM);
+    }
+}
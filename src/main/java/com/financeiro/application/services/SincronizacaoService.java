@@ -0,0 +1,290 @@
+package com.financeiro.application.services;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.financeiro.application.events.CategoriasAlteradasEvent;
+import com.financeiro.application.events.PerfilAlteradoEvent;
+import com.financeiro.application.events.TransacoesAlteradasEvent;
+import com.financeiro.domain.entities.ExclusaoSincronizacao;
+import com.financeiro.infrastructure.config.AppProperties;
+import com.financeiro.presentation.dto.categoria.CategoriaResponse;
+import com.financeiro.presentation.dto.sincronizacao.SincronizacaoResponse;
+import com.financeiro.presentation.dto.transacao.TransacaoCompactaResponse;
+import com.financeiro.repository.CategoriaRepository;
+import com.financeiro.repository.ExclusaoSincronizacaoRepository;
+import com.financeiro.repository.TransacaoRepository;
+import com.financeiro.repository.UsuarioRepository;
+import com.financeiro.repository.projection.AlteracaoTransacao;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sincronização incremental (delta sync) de transações e categorias.
+ *
+ * Escrita: cada transação de banco que altera dados do usuário (avisada pelos mesmos eventos do
+ * resumo mensal) incrementa usuarios.seq_sincronizacao uma única vez, antes do commit e com a linha
+ * do usuário bloqueada, e carimba com o novo valor as linhas gravadas nela (seq_alteracao NULL).
+ * Remoções viram lápides em exclusoes_sincronizacao, carimbadas da mesma forma.
+ *
+ * Leitura: o token é a posição (seq, id) da última transação entregue; só as linhas depois dela
+ * são lidas, pelos índices (usuario_id, seq_alteracao). Como o seq de um commit é sempre maior
+ * que os já visíveis, nenhuma alteração commitada depois do token fica para trás.
+ *
+ * Retenção: lápides mais antigas que app.sincronizacao.retencao-exclusoes são removidas por um
+ * job diário, que guarda o maior seq removido de cada usuário; tokens anteriores a ele são
+ * recusados com 410 para que o cliente refaça a sincronização completa.
+ */
+@Slf4j
+@Service
+public class SincronizacaoService {
+
+    private static final String SQL_INCREMENTAR_SEQ =
+            "UPDATE usuarios SET seq_sincronizacao = seq_sincronizacao + 1 WHERE id = ?";
+
+    private static final String SQL_SEQ_ATUAL = "SELECT seq_sincronizacao FROM usuarios WHERE id = ?";
+
+    private static final String[] SQL_CARIMBAR = {
+            "UPDATE transacoes SET seq_alteracao = ? WHERE usuario_id = ? AND seq_alteracao IS NULL",
+            "UPDATE categorias SET seq_alteracao = ? WHERE usuario_id = ? AND seq_alteracao IS NULL",
+            "UPDATE exclusoes_sincronizacao SET seq_alteracao = ? WHERE usuario_id = ? AND seq_alteracao IS NULL"
+    };
+
+    private static final String SQL_INSERIR_EXCLUSAO =
+            "INSERT INTO exclusoes_sincronizacao (entidade_id, usuario_id, entidade, data_exclusao) VALUES (?, ?, ?, ?)";
+
+    // Lápides commitadas antes do corte: o maior seq removido de cada usuário fica registrado
+    private static final String SQL_MARCAR_EXPURGO =
+            "UPDATE usuarios u SET seq_exclusoes_expurgadas = GREATEST(u.seq_exclusoes_expurgadas, "
+                    + "(SELECT MAX(e.seq_alteracao) FROM exclusoes_sincronizacao e "
+                    + "WHERE e.usuario_id = u.id AND e.data_exclusao < ? AND e.seq_alteracao IS NOT NULL)) "
+                    + "WHERE EXISTS (SELECT 1 FROM exclusoes_sincronizacao e "
+                    + "WHERE e.usuario_id = u.id AND e.data_exclusao < ? AND e.seq_alteracao IS NOT NULL)";
+
+    private static final String SQL_EXPURGAR_EXCLUSOES =
+            "DELETE FROM exclusoes_sincronizacao WHERE data_exclusao < ? AND seq_alteracao IS NOT NULL";
+
+    // Chave do recurso ligado à transação com os usuários a carimbar
+    private final Object chavePendentes = new Object();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final UsuarioRepository usuarioRepository;
+    private final TransacaoRepository transacaoRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final ExclusaoSincronizacaoRepository exclusaoSincronizacaoRepository;
+    private final AppProperties appProperties;
+
+    public SincronizacaoService(
+            JdbcTemplate jdbcTemplate,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            UsuarioRepository usuarioRepository,
+            TransacaoRepository transacaoRepository,
+            CategoriaRepository categoriaRepository,
+            ExclusaoSincronizacaoRepository exclusaoSincronizacaoRepository,
+            AppProperties appProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.usuarioRepository = usuarioRepository;
+        this.transacaoRepository = transacaoRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.exclusaoSincronizacaoRepository = exclusaoSincronizacaoRepository;
+        this.appProperties = appProperties;
+    }
+
+    // ====================================================================
+    // Escrita
+    // ====================================================================
+
+    @EventListener
+    public void onTransacoesAlteradas(TransacoesAlteradasEvent evento) {
+        agendarCarimbo(evento.usuarioId());
+    }
+
+    @EventListener
+    public void onCategoriasAlteradas(CategoriasAlteradasEvent evento) {
+        agendarCarimbo(evento.usuarioId());
+    }
+
+    /**
+     * Perfil alterado: nenhuma linha a carimbar, mas o seq avança e com ele o ETag das listagens,
+     * que embutem o dono (ver {@link VersaoDadosUsuario})
+     */
+    @EventListener
+    public void onPerfilAlterado(PerfilAlteradoEvent evento) {
+        agendarCarimbo(evento.usuarioId());
+    }
+
+    /**
+     * Registra lápides das entidades removidas na transação em andamento (carimbadas no commit).
+     * Quem chama também publica o evento de alteração do usuário.
+     */
+    public void registrarExclusoes(UUID usuarioId, ExclusaoSincronizacao.Entidade entidade, Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> linhas = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            linhas.add(new Object[] {id, usuarioId, entidade.name(), agora});
+        }
+        jdbcTemplate.batchUpdate(SQL_INSERIR_EXCLUSAO, linhas);
+    }
+
+    private void agendarCarimbo(UUID usuarioId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionTemplate.executeWithoutResult(status -> carimbar(Set.of(usuarioId)));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<UUID> pendentes = (Set<UUID>) TransactionSynchronizationManager.getResource(chavePendentes);
+        if (pendentes == null) {
+            // TreeSet: usuários sempre bloqueados na mesma ordem (sem deadlock entre transações)
+            Set<UUID> novos = new TreeSet<>();
+            TransactionSynchronizationManager.bindResource(chavePendentes, novos);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    entityManager.flush();
+                    carimbar(novos);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(chavePendentes);
+                }
+            });
+            pendentes = novos;
+        }
+        pendentes.add(usuarioId);
+    }
+
+    /**
+     * JOB diário: remove as lápides mais antigas que a retenção configurada
+     *
+     * @return quantidade de lápides removidas
+     */
+    @Scheduled(cron = "0 45 3 * * *")
+    public int expurgarExclusoes() {
+        Timestamp corte = Timestamp.valueOf(LocalDateTime.now().minus(appProperties.getSincronizacao().getRetencaoExclusoes()));
+        Integer removidas = transactionTemplate.execute(status -> {
+            // Marca e remove o mesmo conjunto na mesma transação: nenhum token válido perde lápides
+            int usuarios = jdbcTemplate.update(SQL_MARCAR_EXPURGO, corte, corte);
+            int linhas = jdbcTemplate.update(SQL_EXPURGAR_EXCLUSOES, corte);
+            log.info("Lápides do delta sync removidas: {} de {} usuário(s), anteriores a {}", linhas, usuarios, corte);
+            return linhas;
+        });
+        return removidas != null ? removidas : 0;
+    }
+
+    private void carimbar(Set<UUID> usuarios) {
+        for (UUID usuarioId : usuarios) {
+            // O UPDATE bloqueia a linha do usuário até o commit: os seq saem em ordem de commit
+            if (jdbcTemplate.update(SQL_INCREMENTAR_SEQ, usuarioId) == 0) {
+                continue;
+            }
+            Long seq = jdbcTemplate.queryForObject(SQL_SEQ_ATUAL, Long.class, usuarioId);
+            int linhas = 0;
+            for (String sql : SQL_CARIMBAR) {
+                linhas += jdbcTemplate.update(sql, seq, usuarioId);
+            }
+            log.debug("Sincronização: usuário {} no seq {} ({} linha(s) carimbada(s))", usuarioId, seq, linhas);
+        }
+    }
+
+    // ====================================================================
+    // Leitura
+    // ====================================================================
+
+    /**
+     * Alterações do usuário depois do token (sem token: tudo, sem lápides), em páginas de até
+     * "tamanho" transações. O token é a posição (seq, id) da última transação entregue, então
+     * um commit com mais linhas que a página é entregue em várias páginas.
+     *
+     * @throws IllegalArgumentException se o token for inválido
+     * @throws SincronizacaoExpiradaException se lápides posteriores ao token já foram removidas
+     */
+    @Transactional(readOnly = true)
+    public SincronizacaoResponse sincronizar(UUID usuarioId, String token, Integer tamanho) {
+        TokenSincronizacao desde = token == null || token.isBlank()
+                ? TokenSincronizacao.INICIO
+                : TokenSincronizacao.decodificar(token);
+        int limite = tamanhoEfetivo(tamanho);
+
+        // Lido antes das linhas: tudo que tem seq <= atual já está commitado e visível
+        Long atual = usuarioRepository.findSeqSincronizacao(usuarioId);
+        if (atual == null) {
+            throw new IllegalArgumentException("Usuário não encontrado");
+        }
+        if (desde.seq() > atual) {
+            throw new IllegalArgumentException("Token de sincronização inválido");
+        }
+        if (desde != TokenSincronizacao.INICIO && desde.seq() < usuarioRepository.findSeqExclusoesExpurgadas(usuarioId)) {
+            throw new SincronizacaoExpiradaException();
+        }
+
+        TokenSincronizacao ate = TokenSincronizacao.fimDoCommit(atual);
+        List<AlteracaoTransacao> posicoes = transacaoRepository.findAlteracoesApos(
+                usuarioId, desde.seq(), desde.id(), atual, PageRequest.of(0, limite + 1));
+        boolean temMais = posicoes.size() > limite;
+        if (temMais) {
+            AlteracaoTransacao ultima = posicoes.get(limite - 1);
+            ate = new TokenSincronizacao(ultima.seqAlteracao(), ultima.id());
+        }
+
+        List<TransacaoCompactaResponse> transacoes = transacaoRepository.listarAlteradasEntre(
+                        usuarioId, desde.seq(), desde.id(), ate.seq(), ate.id())
+                .stream()
+                .map(TransacaoCompactaResponse::fromListagem)
+                .toList();
+        // Categorias e lápides vão inteiras com o commit: (seq do token, seq do fim da página]
+        List<CategoriaResponse> categorias = categoriaRepository.findAlteradasEntre(usuarioId, desde.seq(), ate.seq())
+                .stream()
+                .map(CategoriaResponse::fromEntity)
+                .toList();
+        // Sem token o cliente não tem cópia local: lápides não interessam
+        List<SincronizacaoResponse.Exclusao> exclusoes = desde == TokenSincronizacao.INICIO
+                ? List.of()
+                : exclusaoSincronizacaoRepository.findAlteradasEntre(usuarioId, desde.seq(), ate.seq()).stream()
+                        .map(e -> new SincronizacaoResponse.Exclusao(e.getEntidade(), e.getEntidadeId(), e.getDataExclusao()))
+                        .toList();
+
+        return SincronizacaoResponse.builder()
+                .transacoes(transacoes)
+                .categorias(categorias)
+                .exclusoes(exclusoes)
+                .proximoToken(ate.codificar())
+                .temMais(temMais)
+                .build();
+    }
+
+    private int tamanhoEfetivo(Integer tamanho) {
+        AppProperties.Sincronizacao config = appProperties.getSincronizacao();
+        if (tamanho == null || tamanho <= 0) {
+            return config.getTamanhoPadrao();
+        }
+        return Math.min(tamanho, config.getTamanhoMaximo());
+    }
+}
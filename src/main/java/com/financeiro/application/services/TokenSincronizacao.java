@@ -0,0 +1,55 @@
+package com.financeiro.application.services;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posição do delta sync: (seq_alteracao, id) da última transação entregue.
+ *
+ * Vai para o cliente como token opaco (Base64 URL-safe de 25 bytes: versão, seq e UUID), como o
+ * {@link CursorTransacao}. O id máximo marca o fim de um commit inteiro (nada mais daquele seq).
+ */
+record TokenSincronizacao(long seq, UUID id) {
+
+    private static final byte VERSAO = 1;
+    private static final int TAMANHO = 1 + Long.BYTES + 2 * Long.BYTES;
+    private static final UUID ID_MAXIMO = new UUID(-1L, -1L);
+
+    // Antes de tudo: os dados existentes antes do delta sync têm seq 0
+    static final TokenSincronizacao INICIO = new TokenSincronizacao(-1, ID_MAXIMO);
+
+    static TokenSincronizacao fimDoCommit(long seq) {
+        return new TokenSincronizacao(seq, ID_MAXIMO);
+    }
+
+    String codificar() {
+        ByteBuffer buffer = ByteBuffer.allocate(TAMANHO)
+                .put(VERSAO)
+                .putLong(seq)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * @throws IllegalArgumentException se o token não foi gerado por {@link #codificar()}
+     */
+    static TokenSincronizacao decodificar(String token) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Token de sincronização inválido");
+        }
+        if (bytes.length != TAMANHO || bytes[0] != VERSAO) {
+            throw new IllegalArgumentException("Token de sincronização inválido");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, TAMANHO - 1);
+        long seq = buffer.getLong();
+        if (seq < 0) {
+            throw new IllegalArgumentException("Token de sincronização inválido");
+        }
+        return new TokenSincronizacao(seq, new UUID(buffer.getLong(), buffer.getLong()));
+    }
+}
@@ -3,25 +3,49 @@ package com.financeiro.application.services;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.financeiro.application.events.TransacoesAlteradasEvent;
 import com.financeiro.domain.entities.Categoria;
+import com.financeiro.domain.entities.ExclusaoSincronizacao;
 import com.financeiro.domain.entities.Transacao;
 import com.financeiro.domain.entities.Usuario;
 import com.financeiro.domain.enums.TipoRecorrencia;
+import com.financeiro.infrastructure.config.AppProperties;
+import com.financeiro.presentation.dto.categoria.CategoriaResponse;
 import com.financeiro.presentation.dto.transacao.CreateTransacaoRequest;
+import com.financeiro.presentation.dto.transacao.LoteTransacoesRequest;
+import com.financeiro.presentation.dto.transacao.LoteTransacoesResponse;
+import com.financeiro.presentation.dto.transacao.PaginaTransacoesResponse;
 import com.financeiro.presentation.dto.transacao.ResumoFinanceiroResponse;
+import com.financeiro.presentation.dto.transacao.SerieSaldoResponse;
 import com.financeiro.presentation.dto.transacao.TransacaoResponse;
 import com.financeiro.presentation.dto.transacao.UpdateTransacaoRequest;
+import com.financeiro.presentation.dto.usuario.UsuarioResponse;
 import com.financeiro.repository.CategoriaRepository;
+import com.financeiro.repository.FiltroTransacoes;
 import com.financeiro.repository.TransacaoRepository;
 import com.financeiro.repository.UsuarioRepository;
+import com.financeiro.repository.projection.OcorrenciaSerie;
+import com.financeiro.repository.projection.TransacaoListagem;
+import com.financeiro.repository.projection.UsuarioResumo;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -29,16 +53,50 @@ import lombok.extern.slf4j.Slf4j;
 @Transactional
 public class TransacaoService {
 
+    // Limites usados quando o período não é informado (intervalo sempre fechado, mesmo plano de consulta)
+    private static final LocalDate DATA_MINIMA = LocalDate.of(1900, 1, 1);
+    private static final LocalDate DATA_MAXIMA = LocalDate.of(9999, 12, 31);
+
     private final TransacaoRepository transacaoRepository;
     private final CategoriaRepository categoriaRepository;
     private final UsuarioRepository usuarioRepository;
+    private final UsuarioIdentidadeCache usuarioIdentidadeCache;
+    private final AppProperties appProperties;
+    private final ResumoMensalService resumoMensalService;
+    private final SaldoDiarioService saldoDiarioService;
+    private final SincronizacaoService sincronizacaoService;
+    private final BuscaTransacaoService buscaTransacaoService;
+    private final ListagemMensalCache listagemMensalCache;
+    private final RecorrenciaService recorrenciaService;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
 
     public TransacaoService(TransacaoRepository transacaoRepository, 
                            CategoriaRepository categoriaRepository,
-                           UsuarioRepository usuarioRepository) {
+                           UsuarioRepository usuarioRepository,
+                           UsuarioIdentidadeCache usuarioIdentidadeCache,
+                           AppProperties appProperties,
+                           ResumoMensalService resumoMensalService,
+                           SaldoDiarioService saldoDiarioService,
+                           SincronizacaoService sincronizacaoService,
+                           BuscaTransacaoService buscaTransacaoService,
+                           ListagemMensalCache listagemMensalCache,
+                           RecorrenciaService recorrenciaService,
+                           Validator validator,
+                           ApplicationEventPublisher eventPublisher) {
         this.transacaoRepository = transacaoRepository;
         this.categoriaRepository = categoriaRepository;
         this.usuarioRepository = usuarioRepository;
+        this.usuarioIdentidadeCache = usuarioIdentidadeCache;
+        this.appProperties = appProperties;
+        this.resumoMensalService = resumoMensalService;
+        this.saldoDiarioService = saldoDiarioService;
+        this.sincronizacaoService = sincronizacaoService;
+        this.buscaTransacaoService = buscaTransacaoService;
+        this.listagemMensalCache = listagemMensalCache;
+        this.recorrenciaService = recorrenciaService;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
     }
 
     public TransacaoResponse criarTransacao(CreateTransacaoRequest request) {
@@ -61,19 +119,22 @@ public class TransacaoService {
         transacao.setUsuario(usuario);
 
         Transacao salva = transacaoRepository.save(transacao);
+        publicarAlteracao(usuario.getId(), salva.getDataTransacao());
         return TransacaoResponse.fromEntity(salva);
     }
 
     public TransacaoResponse criarTransacaoParaUsuarioAutenticado(CreateTransacaoRequest request, String emailUsuario) {
-        Usuario usuario = usuarioRepository.findByEmail(emailUsuario)
-                .orElseThrow(() -> new RuntimeException("Usuário autenticado não encontrado"));
+        UsuarioResumo identidade = obterUsuario(emailUsuario);
 
-        Categoria categoria = categoriaRepository.findByIdAndUsuarioId(request.getCategoriaId(), usuario.getId())
+        Categoria categoria = categoriaRepository.findByIdAndUsuarioId(request.getCategoriaId(), identidade.id())
                 .orElseThrow(() -> new RuntimeException("Categoria não encontrada para o usuário autenticado"));
 
         // Validar request com base no tipo de recorrência
         validarRequest(request);
 
+        // Referência sem SELECT: o usuário já foi resolvido pelo cache de identidade
+        Usuario usuario = usuarioRepository.getReferenceById(identidade.id());
+
         // Rotear para método apropriado baseado no tipo de recorrência
         return switch (request.getTipoRecorrencia()) {
             case NAO_RECORRENTE -> criarTransacaoSimples(request, usuario, categoria);
@@ -111,7 +172,7 @@ public class TransacaoService {
      * Cria uma transação simples (não recorrente)
      */
     private TransacaoResponse criarTransacaoSimples(CreateTransacaoRequest request, Usuario usuario, Categoria categoria) {
-        log.info("Criando transação simples para usuário {}", usuario.getEmail());
+        log.info("Criando transação simples para usuário {}", usuario.getId());
         
         Transacao transacao = Transacao.builder()
                 .descricao(request.getDescricao())
@@ -127,6 +188,7 @@ public class TransacaoService {
                 .build();
         
         Transacao salva = transacaoRepository.save(transacao);
+        publicarAlteracao(usuario.getId(), salva.getDataTransacao());
         log.info("Transação simples criada com ID: {}", salva.getId());
         
         return TransacaoResponse.fromEntity(salva);
@@ -137,7 +199,7 @@ public class TransacaoService {
      */
     private TransacaoResponse criarTransacaoParcelada(CreateTransacaoRequest request, Usuario usuario, Categoria categoria) {
         log.info("Criando transação parcelada com {} parcelas para usuário {}", 
-                request.getQuantidadeParcelas(), usuario.getEmail());
+                request.getQuantidadeParcelas(), usuario.getId());
         
         List<Transacao> parcelas = new ArrayList<>();
         
@@ -160,7 +222,8 @@ public class TransacaoService {
         Transacao primeiraSalva = transacaoRepository.save(primeira);
         parcelas.add(primeiraSalva);
         
-        // 2. Criar demais parcelas (2 a N)
+        // 2. Criar demais parcelas (2 a N), inseridas em lote (hibernate.jdbc.batch_size)
+        List<Transacao> demais = new ArrayList<>(request.getQuantidadeParcelas() - 1);
         for (int i = 2; i <= request.getQuantidadeParcelas(); i++) {
             LocalDate dataParcela = request.getDataTransacao().plusMonths(i - 1);
             
@@ -180,10 +243,11 @@ public class TransacaoService {
                     .ativa(true)
                     .build();
             
-            Transacao parcelaSalva = transacaoRepository.save(parcela);
-            parcelas.add(parcelaSalva);
+            demais.add(parcela);
         }
+        parcelas.addAll(transacaoRepository.saveAll(demais));
         
+        publicarAlteracao(usuario.getId(), parcelas.stream().map(Transacao::getDataTransacao).toList());
         log.info("Transação parcelada criada: {} parcelas geradas", parcelas.size());
         
         return TransacaoResponse.fromEntity(primeiraSalva);
@@ -195,7 +259,7 @@ public class TransacaoService {
      */
     private TransacaoResponse criarTransacaoFixa(CreateTransacaoRequest request, Usuario usuario, Categoria categoria) {
         log.info("Criando transação fixa com frequência {} para usuário {}", 
-                request.getFrequencia(), usuario.getEmail());
+                request.getFrequencia(), usuario.getId());
         
         // 1. Criar transação original (pai)
         Transacao transacaoOriginal = Transacao.builder()
@@ -213,6 +277,7 @@ public class TransacaoService {
                 .build();
         
         Transacao original = transacaoRepository.save(transacaoOriginal);
+        publicarAlteracao(usuario.getId(), original.getDataTransacao());
         log.info("Transação fixa original criada com ID: {}", original.getId());
         
         // 2. Criar próximas 12 ocorrências imediatamente para visualização no frontend
@@ -224,45 +289,18 @@ public class TransacaoService {
     }
     
     /**
-     * Cria N ocorrências futuras de uma transação FIXA
-     * Usado tanto na criação inicial quanto pelo JOB
+     * Cria N ocorrências futuras de uma transação FIXA: datas calculadas antes, uma consulta
+     * pelas já existentes e um INSERT em lote para as demais (mesmo caminho do JOB)
      */
     private int criarOcorrenciasFuturas(Transacao original, int quantidadeOcorrencias) {
+        List<LocalDate> datas = new ArrayList<>(quantidadeOcorrencias);
         LocalDate proximaData = original.getDataTransacao();
-        int criadas = 0;
-        
         for (int i = 1; i <= quantidadeOcorrencias; i++) {
-            // Calcula próxima data
             proximaData = original.getFrequencia().calcularProximaData(proximaData);
-            
-            // Verifica se já existe (evita duplicação)
-            boolean jaExiste = transacaoRepository.existsByTransacaoPaiIdAndDataTransacao(
-                    original.getId(), proximaData);
-            
-            if (!jaExiste) {
-                Transacao ocorrencia = Transacao.builder()
-                        .descricao(original.getDescricao())
-                        .valor(original.getValor())
-                        .dataTransacao(proximaData)
-                        .tipo(original.getTipo())
-                        .observacoes(original.getObservacoes())
-                        .categoria(original.getCategoria())
-                        .usuario(original.getUsuario())
-                        .recorrente(true)
-                        .tipoRecorrencia(TipoRecorrencia.FIXA)
-                        .frequencia(original.getFrequencia())
-                        .transacaoPaiId(original.getId())
-                        .ativa(true)
-                        .build();
-                
-                transacaoRepository.save(ocorrencia);
-                criadas++;
-                
-                log.debug("Ocorrência criada: {} - {}", original.getDescricao(), proximaData);
-            }
+            datas.add(proximaData);
         }
         
-        return criadas;
+        return recorrenciaService.gerarOcorrencias(original, datas).size();
     }
 
     /**
@@ -282,6 +320,7 @@ public class TransacaoService {
                 null
         );
         Transacao principalSalva = transacaoRepository.save(principal);
+        List<LocalDate> datas = new ArrayList<>(List.of(principalSalva.getDataTransacao()));
 
         // 2. Criar as parcelas futuras (2, 3, 4, ..., quantidadeParcelas)
         for (int i = 2; i <= request.getQuantidadeParcelas(); i++) {
@@ -299,8 +338,11 @@ public class TransacaoService {
             parcela.setDataTransacao(dataFutura);
             
             transacaoRepository.save(parcela);
+            datas.add(dataFutura);
         }
 
+        publicarAlteracao(usuario.getId(), datas);
+
         return TransacaoResponse.fromEntity(principalSalva);
     }
 
@@ -349,6 +391,7 @@ public class TransacaoService {
         transacao.setUsuario(usuario);
 
         Transacao salva = transacaoRepository.save(transacao);
+        publicarAlteracao(usuario.getId(), salva.getDataTransacao());
         return TransacaoResponse.fromEntity(salva);
     }
 
@@ -369,17 +412,15 @@ public class TransacaoService {
 
     @Transactional(readOnly = true)
     public List<TransacaoResponse> listarTransacoesPorUsuario(UUID usuarioId, LocalDate dataInicio, LocalDate dataFim) {
-        List<Transacao> transacoes;
+        List<TransacaoListagem> transacoes;
         
         if (dataInicio != null && dataFim != null) {
-            transacoes = transacaoRepository.findByUsuarioIdAndDataTransacaoBetween(usuarioId, dataInicio, dataFim);
+            transacoes = listagemMensalCache.listar(usuarioId, dataInicio, dataFim);
         } else {
-            transacoes = transacaoRepository.findByUsuarioId(usuarioId);
+            transacoes = transacaoRepository.listarPorUsuario(usuarioId);
         }
         
-        return transacoes.stream()
-                .map(TransacaoResponse::fromEntity)
-                .collect(Collectors.toList());
+        return transacoes.isEmpty() ? new ArrayList<>() : paraResposta(transacoes, carregarUsuarioResponse(usuarioId));
     }
 
     @Transactional(readOnly = true)
@@ -392,6 +433,7 @@ public class TransacaoService {
     public TransacaoResponse atualizarTransacao(UUID id, UpdateTransacaoRequest request) {
         Transacao transacao = transacaoRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Transação não encontrada"));
+        LocalDate dataAnterior = transacao.getDataTransacao();
 
         if (request.getDescricao() != null) {
             transacao.setDescricao(request.getDescricao());
@@ -411,85 +453,89 @@ public class TransacaoService {
             transacao.setObservacoes(request.getObservacoes());
         }
 
-        Transacao atualizada = transacaoRepository.save(transacao);
+        Transacao atualizada = salvarNaSerie(transacao);
+        publicarAlteracao(atualizada.getUsuario().getId(), dataAnterior, atualizada.getDataTransacao());
         return TransacaoResponse.fromEntity(atualizada);
     }
 
     public void deletarTransacao(UUID id) {
-        if (!transacaoRepository.existsById(id)) {
-            throw new RuntimeException("Transação não encontrada");
-        }
-        transacaoRepository.deleteById(id);
+        Transacao transacao = transacaoRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Transação não encontrada"));
+        transacaoRepository.delete(transacao);
+        sincronizacaoService.registrarExclusoes(
+                transacao.getUsuario().getId(), ExclusaoSincronizacao.Entidade.TRANSACAO, List.of(id));
+        publicarAlteracao(transacao.getUsuario().getId(), transacao.getDataTransacao());
     }
 
     @Transactional(readOnly = true)
     public BigDecimal calcularSaldo() {
-        List<Transacao> transacoes = transacaoRepository.findAll();
-        
-        return transacoes.stream()
-                .map(Transacao::getValor)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Receitas - despesas, somado no banco
+        BigDecimal saldo = transacaoRepository.calcularSaldo();
+        return saldo != null ? saldo : BigDecimal.ZERO;
     }
 
     @Transactional(readOnly = true)
     public BigDecimal calcularSaldoPorUsuario(UUID usuarioId) {
-        BigDecimal saldo = transacaoRepository.calcularSaldoPorUsuario(usuarioId);
-        return saldo != null ? saldo : BigDecimal.ZERO;
+        return resumoMensalService.calcularSaldo(usuarioId);
     }
 
     @Transactional(readOnly = true)
     public ResumoFinanceiroResponse obterResumoFinanceiro(LocalDate dataInicio, LocalDate dataFim) {
-        List<Transacao> transacoes;
-        
-        if (dataInicio != null && dataFim != null) {
-            transacoes = transacaoRepository.findByDataTransacaoBetween(dataInicio, dataFim);
-        } else {
-            transacoes = transacaoRepository.findAllWithRelations();
-        }
-
-        BigDecimal totalReceitas = transacoes.stream()
-                .filter(t -> t.getTipo() == Transacao.TipoTransacao.RECEITA)
-                .map(Transacao::getValor)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalDespesas = transacoes.stream()
-                .filter(t -> t.getTipo() == Transacao.TipoTransacao.DESPESA)
-                .map(Transacao::getValor)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal saldo = totalReceitas.subtract(totalDespesas);
-
-        return new ResumoFinanceiroResponse(totalReceitas, totalDespesas, saldo);
+        boolean periodo = dataInicio != null && dataFim != null;
+        return ResumoFinanceiroResponse.fromTotais(transacaoRepository.totalizarPorCategoriaGeral(
+                periodo ? dataInicio : DATA_MINIMA,
+                periodo ? dataFim : DATA_MAXIMA));
     }
 
     @Transactional(readOnly = true)
     public ResumoFinanceiroResponse obterResumoFinanceiroPorUsuario(UUID usuarioId, LocalDate dataInicio, LocalDate dataFim) {
-        List<Transacao> transacoes;
-        
-        if (dataInicio != null && dataFim != null) {
-            transacoes = transacaoRepository.findByUsuarioIdAndDataTransacaoBetween(usuarioId, dataInicio, dataFim);
-        } else {
-            transacoes = transacaoRepository.findByUsuarioId(usuarioId);
-        }
+        // Período só vale com as duas datas (sem elas, todo o histórico); meses completos vêm do resumo_mensal
+        boolean periodo = dataInicio != null && dataFim != null;
+        return ResumoFinanceiroResponse.fromTotais(resumoMensalService.totalizar(
+                usuarioId,
+                periodo ? dataInicio : null,
+                periodo ? dataFim : null));
+    }
 
-        BigDecimal totalReceitas = transacoes.stream()
-                .filter(t -> t.getTipo() == Transacao.TipoTransacao.RECEITA)
-                .map(Transacao::getValor)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    // ====================================================================
+    // MÉTODOS SEGUROS - Usam o usuário autenticado do JWT
+    // ====================================================================
 
-        BigDecimal totalDespesas = transacoes.stream()
-                .filter(t -> t.getTipo() == Transacao.TipoTransacao.DESPESA)
-                .map(Transacao::getValor)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    /**
+     * Resolve o usuário autenticado pelo cache de identidade (no máximo uma consulta por requisição)
+     */
+    private UsuarioResumo obterUsuario(String emailUsuario) {
+        return usuarioIdentidadeCache.buscar(emailUsuario)
+                .orElseThrow(() -> new RuntimeException("Usuário autenticado não encontrado"));
+    }
 
-        BigDecimal saldo = totalReceitas.subtract(totalDespesas);
+    /**
+     * Converte linhas de listagem em respostas, todas com o mesmo dono
+     */
+    private List<TransacaoResponse> paraResposta(List<TransacaoListagem> transacoes, UsuarioResponse usuario) {
+        List<TransacaoResponse> respostas = new ArrayList<>(transacoes.size());
+        for (TransacaoListagem transacao : transacoes) {
+            respostas.add(TransacaoResponse.fromListagem(transacao, usuario));
+        }
+        return respostas;
+    }
+
+    /**
+     * Avisa o resumo mensal sobre os meses alterados (recalculados antes do commit)
+     */
+    private void publicarAlteracao(UUID usuarioId, LocalDate... datas) {
+        eventPublisher.publishEvent(TransacoesAlteradasEvent.de(usuarioId, datas));
+    }
 
-        return new ResumoFinanceiroResponse(totalReceitas, totalDespesas, saldo);
+    private void publicarAlteracao(UUID usuarioId, List<LocalDate> datas) {
+        eventPublisher.publishEvent(TransacoesAlteradasEvent.de(usuarioId, datas));
     }
 
-    // ====================================================================
-    // MÉTODOS SEGUROS - Usam o usuário autenticado do JWT
-    // ====================================================================
+    private UsuarioResponse carregarUsuarioResponse(UUID usuarioId) {
+        return usuarioRepository.findById(usuarioId)
+                .map(UsuarioResponse::fromEntity)
+                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+    }
 
     /**
      * Lista transações do usuário autenticado com filtro opcional de período
@@ -498,61 +544,198 @@ public class TransacaoService {
     @Transactional(readOnly = true)
     public List<TransacaoResponse> listarTransacoesDoUsuarioAutenticado(
             String emailUsuario, LocalDate dataInicio, LocalDate dataFim) {
+        return listarTransacoesDoUsuarioAutenticado(emailUsuario, dataInicio, dataFim, FiltroTransacoes.NENHUM);
+    }
+
+    /**
+     * Lista transações do usuário autenticado com filtro opcional de período e critérios combináveis
+     * ✅ SEGURO: Usa email do JWT, não aceita usuarioId do frontend
+     */
+    @Transactional(readOnly = true)
+    public List<TransacaoResponse> listarTransacoesDoUsuarioAutenticado(
+            String emailUsuario, LocalDate dataInicio, LocalDate dataFim, FiltroTransacoes filtro) {
         
-        Usuario usuario = usuarioRepository.findByEmail(emailUsuario)
-                .orElseThrow(() -> new RuntimeException("Usuário autenticado não encontrado"));
+        UsuarioResumo usuario = obterUsuario(emailUsuario);
         
-        List<Transacao> transacoes;
-        if (dataInicio != null && dataFim != null) {
-            transacoes = transacaoRepository.findByUsuarioIdAndDataTransacaoBetween(
-                    usuario.getId(), dataInicio, dataFim);
+        List<TransacaoListagem> transacoes;
+        if (!filtro.semCriterios()) {
+            transacoes = transacaoRepository.listarFiltradas(usuario.id(),
+                    dataInicio != null ? dataInicio : DATA_MINIMA, dataFim != null ? dataFim : DATA_MAXIMA,
+                    filtro, null, null, null);
+        } else if (dataInicio != null && dataFim != null) {
+            transacoes = listagemMensalCache.listar(usuario.id(), dataInicio, dataFim);
         } else {
-            transacoes = transacaoRepository.findByUsuarioId(usuario.getId());
+            transacoes = transacaoRepository.listarPorUsuario(usuario.id());
         }
         
-        return transacoes.stream()
-                .map(TransacaoResponse::fromEntity)
-                .collect(Collectors.toList());
+        return paraResposta(transacoes, UsuarioResponse.fromResumo(usuario));
+    }
+
+    /**
+     * Lista uma página de transações do usuário autenticado (mais recentes primeiro),
+     * com filtro opcional de período.
+     * Paginação por keyset: o cursor é a posição (data, id) da última transação da página anterior.
+     * ✅ SEGURO: Usa email do JWT, não aceita usuarioId do frontend
+     */
+    @Transactional(readOnly = true)
+    public PaginaTransacoesResponse listarPaginaDoUsuarioAutenticado(
+            String emailUsuario, LocalDate dataInicio, LocalDate dataFim, String cursor, Integer tamanho) {
+        return listarPaginaDoUsuarioAutenticado(emailUsuario, dataInicio, dataFim, FiltroTransacoes.NENHUM, cursor, tamanho);
+    }
+
+    /**
+     * Página de transações do usuário autenticado com critérios combináveis (categorias, tipo,
+     * faixa de valor, recorrência, série, ativa), na mesma ordem e paginação da listagem
+     * ✅ SEGURO: Usa email do JWT, não aceita usuarioId do frontend
+     */
+    @Transactional(readOnly = true)
+    public PaginaTransacoesResponse listarPaginaDoUsuarioAutenticado(String emailUsuario, LocalDate dataInicio,
+            LocalDate dataFim, FiltroTransacoes filtro, String cursor, Integer tamanho) {
+        
+        UsuarioResumo usuario = obterUsuario(emailUsuario);
+        
+        AppProperties.Paginacao paginacao = appProperties.getPaginacao();
+        int tamanhoPagina = tamanho == null
+                ? paginacao.getTamanhoPadrao()
+                : Math.max(1, Math.min(tamanho, paginacao.getTamanhoMaximo()));
+        LocalDate inicio = dataInicio != null ? dataInicio : DATA_MINIMA;
+        LocalDate fim = dataFim != null ? dataFim : DATA_MAXIMA;
+        
+        // Uma linha a mais indica se existe próxima página, sem COUNT
+        Pageable limite = PageRequest.ofSize(tamanhoPagina + 1);
+        List<TransacaoListagem> transacoes;
+        if (!filtro.semCriterios()) {
+            CursorTransacao posicao = cursor == null || cursor.isBlank() ? null : CursorTransacao.decodificar(cursor);
+            transacoes = transacaoRepository.listarFiltradas(usuario.id(), inicio, fim, filtro,
+                    posicao != null ? posicao.dataTransacao() : null, posicao != null ? posicao.id() : null,
+                    tamanhoPagina + 1);
+        } else if (cursor == null || cursor.isBlank()) {
+            transacoes = transacaoRepository.findPrimeiraPagina(usuario.id(), inicio, fim, limite);
+        } else {
+            CursorTransacao posicao = CursorTransacao.decodificar(cursor);
+            transacoes = transacaoRepository.findPaginaApos(
+                    usuario.id(), inicio, fim, posicao.dataTransacao(), posicao.id(), limite);
+        }
+        
+        boolean temMais = transacoes.size() > tamanhoPagina;
+        if (temMais) {
+            transacoes = transacoes.subList(0, tamanhoPagina);
+        }
+        
+        String proximoCursor = null;
+        if (temMais) {
+            TransacaoListagem ultima = transacoes.get(transacoes.size() - 1);
+            proximoCursor = new CursorTransacao(ultima.dataTransacao(), ultima.id()).codificar();
+        }
+        
+        return PaginaTransacoesResponse.builder()
+                .itens(paraResposta(transacoes, UsuarioResponse.fromResumo(usuario)))
+                .tamanho(tamanhoPagina)
+                .temMais(temMais)
+                .proximoCursor(proximoCursor)
+                .build();
+    }
+
+    /**
+     * Busca textual nas transações do usuário autenticado (descrição e observações), por relevância.
+     * Paginação por keyset, como a listagem: o cursor é a posição do último resultado.
+     * ✅ SEGURO: Usa email do JWT, não aceita usuarioId do frontend
+     */
+    @Transactional(readOnly = true)
+    public PaginaTransacoesResponse buscarDoUsuarioAutenticado(
+            String emailUsuario, String termo, String cursor, Integer tamanho) {
+        
+        UsuarioResumo usuario = obterUsuario(emailUsuario);
+        
+        AppProperties.Paginacao paginacao = appProperties.getPaginacao();
+        int tamanhoPagina = tamanho == null
+                ? paginacao.getTamanhoPadrao()
+                : Math.max(1, Math.min(tamanho, paginacao.getTamanhoMaximo()));
+        
+        BuscaTransacaoService.PaginaBusca pagina = buscaTransacaoService.buscar(usuario.id(), termo, cursor, tamanhoPagina);
+        List<TransacaoListagem> transacoes = new ArrayList<>();
+        if (!pagina.ids().isEmpty()) {
+            Map<UUID, TransacaoListagem> porId = transacaoRepository.listarPorIds(usuario.id(), pagina.ids()).stream()
+                    .collect(Collectors.toMap(TransacaoListagem::id, Function.identity()));
+            for (UUID id : pagina.ids()) {
+                // Removida entre as duas consultas: fica fora da página
+                TransacaoListagem transacao = porId.get(id);
+                if (transacao != null) {
+                    transacoes.add(transacao);
+                }
+            }
+        }
+        
+        return PaginaTransacoesResponse.builder()
+                .itens(paraResposta(transacoes, UsuarioResponse.fromResumo(usuario)))
+                .tamanho(tamanhoPagina)
+                .temMais(pagina.temMais())
+                .proximoCursor(pagina.proximoCursor())
+                .build();
     }
 
     /**
      * Busca transação por ID validando se pertence ao usuário autenticado
-     * ✅ SEGURO: Valida propriedade da transação
+     * ✅ SEGURO: Consulta filtrada por id + usuário
      */
     @Transactional(readOnly = true)
     public TransacaoResponse buscarPorIdDoUsuarioAutenticado(UUID id, String emailUsuario) {
-        Usuario usuario = usuarioRepository.findByEmail(emailUsuario)
-                .orElseThrow(() -> new RuntimeException("Usuário autenticado não encontrado"));
+        UsuarioResumo usuario = obterUsuario(emailUsuario);
         
-        Transacao transacao = transacaoRepository.findByIdWithRelations(id)
+        // Filtro por dono na própria consulta: transação de outro usuário = não encontrada
+        Transacao transacao = transacaoRepository.findByIdAndUsuarioIdWithRelations(id, usuario.id())
                 .orElseThrow(() -> new RuntimeException("Transação não encontrada"));
         
-        // Validar se a transação pertence ao usuário autenticado
-        if (!transacao.getUsuario().getId().equals(usuario.getId())) {
-            throw new RuntimeException("Acesso negado: transação pertence a outro usuário");
-        }
-        
         return TransacaoResponse.fromEntity(transacao);
     }
 
     /**
      * Atualiza transação validando se pertence ao usuário autenticado
-     * ✅ SEGURO: Valida propriedade antes de atualizar
+     * ✅ SEGURO: Consulta filtrada por id + usuário antes de atualizar
      */
     public TransacaoResponse atualizarTransacaoDoUsuarioAutenticado(
             UUID id, UpdateTransacaoRequest request, String emailUsuario) {
         
-        Usuario usuario = usuarioRepository.findByEmail(emailUsuario)
-                .orElseThrow(() -> new RuntimeException("Usuário autenticado não encontrado"));
+        UsuarioResumo usuario = obterUsuario(emailUsuario);
         
-        Transacao transacao = transacaoRepository.findById(id)
+        Transacao transacao = transacaoRepository.findByIdAndUsuarioIdWithRelations(id, usuario.id())
                 .orElseThrow(() -> new RuntimeException("Transação não encontrada"));
-        
-        // Validar se a transação pertence ao usuário autenticado
-        if (!transacao.getUsuario().getId().equals(usuario.getId())) {
-            throw new RuntimeException("Acesso negado: transação pertence a outro usuário");
+        LocalDate dataAnterior = transacao.getDataTransacao();
+
+        Categoria categoria = null;
+        if (request.getCategoriaId() != null) {
+            // Validar se a categoria pertence ao usuário
+            categoria = categoriaRepository.findByIdAndUsuarioId(request.getCategoriaId(), usuario.id())
+                    .orElseThrow(() -> new RuntimeException("Categoria não encontrada para o usuário autenticado"));
         }
+        aplicarAtualizacao(transacao, request, categoria);
 
+        Transacao atualizada = salvarNaSerie(transacao);
+        publicarAlteracao(atualizada.getUsuario().getId(), dataAnterior, atualizada.getDataTransacao());
+        return TransacaoResponse.fromEntity(atualizada);
+    }
+
+    /**
+     * Grava já enviando o UPDATE: mover uma ocorrência/parcela para a data de outra da mesma série
+     * viola a restrição única aqui, e não no commit, onde viraria um erro genérico
+     *
+     * @throws DataOcupadaNaSerieException se a série já tiver uma transação na nova data
+     */
+    private Transacao salvarNaSerie(Transacao transacao) {
+        try {
+            return transacaoRepository.saveAndFlush(transacao);
+        } catch (DataIntegrityViolationException e) {
+            if (DataOcupadaNaSerieException.causadaPor(e)) {
+                throw new DataOcupadaNaSerieException();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Copia os campos informados (não nulos) do request; categoria já validada como do usuário
+     */
+    private void aplicarAtualizacao(Transacao transacao, UpdateTransacaoRequest request, Categoria categoria) {
         if (request.getDescricao() != null) {
             transacao.setDescricao(request.getDescricao());
         }
@@ -562,38 +745,269 @@ public class TransacaoService {
         if (request.getDataTransacao() != null) {
             transacao.setDataTransacao(request.getDataTransacao());
         }
-        if (request.getCategoriaId() != null) {
-            // Validar se a categoria pertence ao usuário
-            Categoria categoria = categoriaRepository.findByIdAndUsuarioId(
-                    request.getCategoriaId(), usuario.getId())
-                    .orElseThrow(() -> new RuntimeException("Categoria não encontrada para o usuário autenticado"));
+        if (categoria != null) {
             transacao.setCategoria(categoria);
         }
         if (request.getObservacoes() != null) {
             transacao.setObservacoes(request.getObservacoes());
         }
+    }
 
-        Transacao atualizada = transacaoRepository.save(transacao);
-        return TransacaoResponse.fromEntity(atualizada);
+    /**
+     * Aplica um lote ordenado de criações, atualizações e remoções numa única transação.
+     *
+     * Todos os itens são validados antes de qualquer escrita, com uma consulta para as categorias
+     * e uma para as transações referenciadas (filtradas pelo dono); se algum for recusado, nada é
+     * gravado. As escritas saem em lotes JDBC (hibernate.jdbc.batch_size) no flush e as remoções
+     * num único DELETE no fim, depois das atualizações.
+     * ✅ SEGURO: Usa email do JWT; categorias e transações de outro usuário = não encontradas
+     */
+    public LoteTransacoesResponse executarLoteDoUsuarioAutenticado(LoteTransacoesRequest lote, String emailUsuario) {
+        UsuarioResumo identidade = obterUsuario(emailUsuario);
+        List<LoteTransacoesRequest.Operacao> operacoes = lote.getOperacoes();
+
+        // Pré-carga: uma consulta por tipo de entidade para o lote inteiro
+        Set<UUID> categoriaIds = new HashSet<>();
+        Set<UUID> transacaoIds = new HashSet<>();
+        for (LoteTransacoesRequest.Operacao operacao : operacoes) {
+            if (operacao == null) {
+                continue;
+            }
+            if (operacao.getCriacao() != null && operacao.getCriacao().getCategoriaId() != null) {
+                categoriaIds.add(operacao.getCriacao().getCategoriaId());
+            }
+            if (operacao.getAtualizacao() != null && operacao.getAtualizacao().getCategoriaId() != null) {
+                categoriaIds.add(operacao.getAtualizacao().getCategoriaId());
+            }
+            if (operacao.getId() != null) {
+                transacaoIds.add(operacao.getId());
+            }
+        }
+        Map<UUID, Categoria> categorias = categoriaIds.isEmpty() ? Map.of()
+                : categoriaRepository.findByUsuarioIdAndIdIn(identidade.id(), categoriaIds).stream()
+                        .collect(Collectors.toMap(Categoria::getId, Function.identity()));
+        Map<UUID, Transacao> transacoes = transacaoIds.isEmpty() ? Map.of()
+                : transacaoRepository.findByUsuarioIdAndIdInWithCategoria(identidade.id(), transacaoIds).stream()
+                        .collect(Collectors.toMap(Transacao::getId, Function.identity()));
+        Map<DataNaSerie, UUID> datasOcupadas = carregarDatasOcupadas(operacoes, transacoes);
+
+        List<String> erros = new ArrayList<>(operacoes.size());
+        Set<UUID> removidas = new HashSet<>();
+        boolean valido = true;
+        for (LoteTransacoesRequest.Operacao operacao : operacoes) {
+            String erro = validarOperacaoLote(operacao, categorias, transacoes, removidas, datasOcupadas);
+            erros.add(erro);
+            valido &= erro == null;
+        }
+        if (!valido) {
+            List<LoteTransacoesResponse.Resultado> resultados = new ArrayList<>(operacoes.size());
+            for (int i = 0; i < operacoes.size(); i++) {
+                LoteTransacoesRequest.Operacao operacao = operacoes.get(i);
+                resultados.add(new LoteTransacoesResponse.Resultado(i,
+                        operacao != null ? operacao.getOperacao() : null,
+                        operacao != null ? operacao.getId() : null,
+                        erros.get(i)));
+            }
+            return LoteTransacoesResponse.builder().aplicado(false).resultados(resultados).build();
+        }
+
+        // Referência sem SELECT: o usuário já foi resolvido pelo cache de identidade
+        Usuario usuario = usuarioRepository.getReferenceById(identidade.id());
+        List<LoteTransacoesResponse.Resultado> resultados = new ArrayList<>(operacoes.size());
+        List<UUID> aRemover = new ArrayList<>();
+        List<LocalDate> datasRemovidas = new ArrayList<>();
+        for (int i = 0; i < operacoes.size(); i++) {
+            LoteTransacoesRequest.Operacao operacao = operacoes.get(i);
+            UUID id = switch (operacao.getOperacao()) {
+                case CRIAR -> {
+                    CreateTransacaoRequest criacao = operacao.getCriacao();
+                    Categoria categoria = categorias.get(criacao.getCategoriaId());
+                    TransacaoResponse criada = switch (criacao.getTipoRecorrencia()) {
+                        case NAO_RECORRENTE -> criarTransacaoSimples(criacao, usuario, categoria);
+                        case PARCELADA -> criarTransacaoParcelada(criacao, usuario, categoria);
+                        case FIXA -> criarTransacaoFixa(criacao, usuario, categoria);
+                    };
+                    yield criada.getId();
+                }
+                case ATUALIZAR -> {
+                    UpdateTransacaoRequest atualizacao = operacao.getAtualizacao();
+                    Transacao transacao = transacoes.get(operacao.getId());
+                    LocalDate dataAnterior = transacao.getDataTransacao();
+                    aplicarAtualizacao(transacao, atualizacao,
+                            atualizacao.getCategoriaId() != null ? categorias.get(atualizacao.getCategoriaId()) : null);
+                    publicarAlteracao(identidade.id(), dataAnterior, transacao.getDataTransacao());
+                    yield transacao.getId();
+                }
+                case REMOVER -> {
+                    Transacao transacao = transacoes.get(operacao.getId());
+                    aRemover.add(transacao.getId());
+                    datasRemovidas.add(transacao.getDataTransacao());
+                    yield transacao.getId();
+                }
+            };
+            resultados.add(new LoteTransacoesResponse.Resultado(i, operacao.getOperacao(), id, null));
+        }
+
+        if (!aRemover.isEmpty()) {
+            // O DELETE em massa descarrega antes as inserções/atualizações pendentes
+            transacaoRepository.deleteByUsuarioIdAndIdIn(identidade.id(), aRemover);
+            sincronizacaoService.registrarExclusoes(identidade.id(), ExclusaoSincronizacao.Entidade.TRANSACAO, aRemover);
+            publicarAlteracao(identidade.id(), datasRemovidas);
+        }
+        log.info("Lote aplicado para usuário {}: {} operação(ões)", identidade.id(), operacoes.size());
+        return LoteTransacoesResponse.builder().aplicado(true).resultados(resultados).build();
+    }
+
+    /**
+     * Data ocupada numa série (restrição única uk_transacoes_pai_data)
+     */
+    private record DataNaSerie(UUID transacaoPaiId, LocalDate data) {
+    }
+
+    /**
+     * Quem ocupa cada (série, data) para onde alguma atualização do lote move uma ocorrência/parcela:
+     * uma única consulta, só quando há movimentos desse tipo
+     */
+    private Map<DataNaSerie, UUID> carregarDatasOcupadas(List<LoteTransacoesRequest.Operacao> operacoes,
+            Map<UUID, Transacao> transacoes) {
+        Set<UUID> series = new HashSet<>();
+        Set<LocalDate> datas = new HashSet<>();
+        for (LoteTransacoesRequest.Operacao operacao : operacoes) {
+            if (operacao == null || operacao.getOperacao() != LoteTransacoesRequest.TipoOperacao.ATUALIZAR
+                    || operacao.getAtualizacao() == null || operacao.getAtualizacao().getDataTransacao() == null) {
+                continue;
+            }
+            Transacao transacao = transacoes.get(operacao.getId());
+            if (transacao != null && transacao.getTransacaoPaiId() != null) {
+                series.add(transacao.getTransacaoPaiId());
+                datas.add(operacao.getAtualizacao().getDataTransacao());
+            }
+        }
+        Map<DataNaSerie, UUID> ocupadas = new HashMap<>();
+        if (!series.isEmpty()) {
+            for (OcorrenciaSerie ocorrencia : transacaoRepository.findDasSeriesNasDatas(series, datas)) {
+                ocupadas.put(new DataNaSerie(ocorrencia.transacaoPaiId(), ocorrencia.dataTransacao()), ocorrencia.id());
+            }
+        }
+        return ocupadas;
+    }
+
+    /**
+     * Motivo da recusa de um item do lote, ou null se válido.
+     *
+     * Datas da série: as atualizações saem no flush antes do DELETE das remoções, e a restrição é
+     * conferida a cada UPDATE; por isso uma data só fica livre se ninguém a ocupa no banco nem foi
+     * tomada por um item anterior, mesmo que a ocupante seja removida ou movida no mesmo lote.
+     */
+    private String validarOperacaoLote(LoteTransacoesRequest.Operacao operacao, Map<UUID, Categoria> categorias,
+            Map<UUID, Transacao> transacoes, Set<UUID> removidas, Map<DataNaSerie, UUID> datasOcupadas) {
+        if (operacao == null || operacao.getOperacao() == null) {
+            return "Operação é obrigatória (CRIAR, ATUALIZAR ou REMOVER)";
+        }
+        switch (operacao.getOperacao()) {
+            case CRIAR -> {
+                CreateTransacaoRequest criacao = operacao.getCriacao();
+                if (criacao == null) {
+                    return "Dados da criação são obrigatórios";
+                }
+                String invalido = violacoes(criacao);
+                if (invalido != null) {
+                    return invalido;
+                }
+                try {
+                    validarRequest(criacao);
+                } catch (IllegalArgumentException e) {
+                    return e.getMessage();
+                }
+                Categoria categoria = categorias.get(criacao.getCategoriaId());
+                if (categoria == null) {
+                    return "Categoria não encontrada para o usuário autenticado";
+                }
+                if (!tiposCompativeis(categoria, criacao.getTipo())) {
+                    return "Tipo da transação deve ser compatível com o tipo da categoria";
+                }
+                return null;
+            }
+            case ATUALIZAR -> {
+                UpdateTransacaoRequest atualizacao = operacao.getAtualizacao();
+                if (operacao.getId() == null || atualizacao == null) {
+                    return "Id e dados da atualização são obrigatórios";
+                }
+                String invalido = violacoes(atualizacao);
+                if (invalido != null) {
+                    return invalido;
+                }
+                if (!transacoes.containsKey(operacao.getId()) || removidas.contains(operacao.getId())) {
+                    return "Transação não encontrada";
+                }
+                Transacao transacao = transacoes.get(operacao.getId());
+                if (atualizacao.getCategoriaId() != null) {
+                    Categoria categoria = categorias.get(atualizacao.getCategoriaId());
+                    if (categoria == null) {
+                        return "Categoria não encontrada para o usuário autenticado";
+                    }
+                    if (!tiposCompativeis(categoria, transacao.getTipo())) {
+                        return "Tipo da transação deve ser compatível com o tipo da categoria";
+                    }
+                }
+                if (transacao.getTransacaoPaiId() != null && atualizacao.getDataTransacao() != null) {
+                    UUID ocupante = datasOcupadas.putIfAbsent(
+                            new DataNaSerie(transacao.getTransacaoPaiId(), atualizacao.getDataTransacao()), transacao.getId());
+                    if (ocupante != null && !ocupante.equals(transacao.getId())) {
+                        return DataOcupadaNaSerieException.MENSAGEM;
+                    }
+                }
+                return null;
+            }
+            case REMOVER -> {
+                if (operacao.getId() == null) {
+                    return "Id é obrigatório";
+                }
+                if (!transacoes.containsKey(operacao.getId()) || !removidas.add(operacao.getId())) {
+                    return "Transação não encontrada";
+                }
+                return null;
+            }
+            default -> {
+                return "Operação desconhecida";
+            }
+        }
+    }
+
+    /**
+     * Mesma regra de Transacao.validarTipoCategoria, conferida antes de gravar
+     */
+    private static boolean tiposCompativeis(Categoria categoria, Transacao.TipoTransacao tipo) {
+        return (categoria.getTipo() == Categoria.TipoCategoria.RECEITA) == (tipo == Transacao.TipoTransacao.RECEITA);
+    }
+
+    /**
+     * Mensagens das restrições de Bean Validation violadas pelo item (as mesmas dos endpoints unitários)
+     */
+    private String violacoes(Object request) {
+        Set<ConstraintViolation<Object>> violacoes = validator.validate(request);
+        if (violacoes.isEmpty()) {
+            return null;
+        }
+        return violacoes.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
     }
 
     /**
      * Deleta transação validando se pertence ao usuário autenticado
-     * ✅ SEGURO: Valida propriedade antes de deletar
+     * ✅ SEGURO: DELETE filtrado por id + usuário
      */
     public void deletarTransacaoDoUsuarioAutenticado(UUID id, String emailUsuario) {
-        Usuario usuario = usuarioRepository.findByEmail(emailUsuario)
-                .orElseThrow(() -> new RuntimeException("Usuário autenticado não encontrado"));
+        UsuarioResumo usuario = obterUsuario(emailUsuario);
         
-        Transacao transacao = transacaoRepository.findById(id)
+        // Um único DELETE filtrado por dono: nenhuma linha = inexistente ou de outro usuário.
+        // A data devolvida pelo próprio DELETE só serve para saber qual mês do resumo_mensal recalcular.
+        LocalDate data = transacaoRepository.deleteByIdAndUsuarioIdRetornandoData(id, usuario.id())
                 .orElseThrow(() -> new RuntimeException("Transação não encontrada"));
-        
-        // Validar se a transação pertence ao usuário autenticado
-        if (!transacao.getUsuario().getId().equals(usuario.getId())) {
-            throw new RuntimeException("Acesso negado: transação pertence a outro usuário");
-        }
-        
-        transacaoRepository.deleteById(id);
+        sincronizacaoService.registrarExclusoes(usuario.id(), ExclusaoSincronizacao.Entidade.TRANSACAO, List.of(id));
+        publicarAlteracao(usuario.id(), data);
     }
 
     /**
@@ -602,11 +1016,29 @@ public class TransacaoService {
      */
     @Transactional(readOnly = true)
     public BigDecimal calcularSaldoDoUsuarioAutenticado(String emailUsuario) {
-        Usuario usuario = usuarioRepository.findByEmail(emailUsuario)
-                .orElseThrow(() -> new RuntimeException("Usuário autenticado não encontrado"));
+        UsuarioResumo usuario = obterUsuario(emailUsuario);
         
-        BigDecimal saldo = transacaoRepository.calcularSaldoPorUsuario(usuario.getId());
-        return saldo != null ? saldo : BigDecimal.ZERO;
+        return resumoMensalService.calcularSaldo(usuario.id());
+    }
+
+    /**
+     * Saldo do usuário autenticado ao fim de uma data (um checkpoint do saldo_diario)
+     * ✅ SEGURO: Usa email do JWT
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal calcularSaldoDoUsuarioAutenticadoEm(String emailUsuario, LocalDate data) {
+        UsuarioResumo usuario = obterUsuario(emailUsuario);
+        return saldoDiarioService.saldoEm(usuario.id(), data);
+    }
+
+    /**
+     * Saldo diário do usuário autenticado no período, para gráficos
+     * ✅ SEGURO: Usa email do JWT
+     */
+    @Transactional(readOnly = true)
+    public SerieSaldoResponse serieSaldoDoUsuarioAutenticado(String emailUsuario, LocalDate inicio, LocalDate fim) {
+        UsuarioResumo usuario = obterUsuario(emailUsuario);
+        return saldoDiarioService.serie(usuario.id(), inicio, fim);
     }
 
     /**
@@ -617,30 +1049,10 @@ public class TransacaoService {
     public ResumoFinanceiroResponse obterResumoFinanceiroDoUsuarioAutenticado(
             String emailUsuario, LocalDate dataInicio, LocalDate dataFim) {
         
-        Usuario usuario = usuarioRepository.findByEmail(emailUsuario)
-                .orElseThrow(() -> new RuntimeException("Usuário autenticado não encontrado"));
+        UsuarioResumo usuario = obterUsuario(emailUsuario);
         
-        List<Transacao> transacoes;
-        if (dataInicio != null && dataFim != null) {
-            transacoes = transacaoRepository.findByUsuarioIdAndDataTransacaoBetween(
-                    usuario.getId(), dataInicio, dataFim);
-        } else {
-            transacoes = transacaoRepository.findByUsuarioId(usuario.getId());
-        }
-
-        BigDecimal totalReceitas = transacoes.stream()
-                .filter(t -> t.getTipo() == Transacao.TipoTransacao.RECEITA)
-                .map(Transacao::getValor)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalDespesas = transacoes.stream()
-                .filter(t -> t.getTipo() == Transacao.TipoTransacao.DESPESA)
-                .map(Transacao::getValor)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal saldo = totalReceitas.subtract(totalDespesas);
-
-        return new ResumoFinanceiroResponse(totalReceitas, totalDespesas, saldo);
+        // Uma consulta agregada (SUM/COUNT por tipo e categoria); nenhuma transação é carregada
+        return obterResumoFinanceiroPorUsuario(usuario.id(), dataInicio, dataFim);
     }
 
     /**
@@ -662,8 +1074,7 @@ public class TransacaoService {
      */
     @Transactional(readOnly = true)
     public List<TransacaoResponse> previsaoTransacoesParaMes(String emailUsuario, int mes, int ano) {
-        Usuario usuario = usuarioRepository.findByEmail(emailUsuario)
-                .orElseThrow(() -> new RuntimeException("Usuário autenticado não encontrado"));
+        UsuarioResumo usuario = obterUsuario(emailUsuario);
         
         // Calcula primeiro e último dia do mês solicitado
         LocalDate primeiroDiaMes = LocalDate.of(ano, mes, 1);
@@ -672,42 +1083,40 @@ public class TransacaoService {
         log.info("🔮 Gerando previsão para {}/{} (usuário: {})", mes, ano, emailUsuario);
         
         // 1. Buscar transações REAIS que já existem no banco para este mês
-        List<Transacao> transacoesReais = transacaoRepository.findByUsuarioIdAndDataTransacaoBetween(
-                usuario.getId(), primeiroDiaMes, ultimoDiaMes);
+        List<TransacaoListagem> transacoesReais = listagemMensalCache.listar(
+                usuario.id(), primeiroDiaMes, ultimoDiaMes);
         
         log.info("📊 Encontradas {} transações reais no banco para {}/{}", 
                 transacoesReais.size(), mes, ano);
         
         // 2. Buscar transações FIXAS ativas (origem) do usuário
-        List<Transacao> transacoesFixasOrigem = transacaoRepository
-                .findByTipoRecorrenciaAndAtiva(TipoRecorrencia.FIXA, true)
-                .stream()
-                .filter(t -> t.getTransacaoPaiId() == null) // Apenas origem
-                .filter(t -> t.getUsuario().getId().equals(usuario.getId())) // Apenas do usuário
-                .filter(t -> !t.getDataTransacao().isAfter(ultimoDiaMes)) // Criada antes/durante o mês
-                .toList();
+        //    (apenas origem, do usuário, criada antes/durante o mês - filtrado na consulta)
+        List<TransacaoListagem> transacoesFixasOrigem = transacaoRepository
+                .listarOrigensAtivasPorUsuario(usuario.id(), TipoRecorrencia.FIXA, ultimoDiaMes);
         
         log.info("🔄 Encontradas {} transações FIXA ativas (origem)", transacoesFixasOrigem.size());
         
         // 3. Para cada transação FIXA, verificar se já existe real no mês, senão simular
         List<TransacaoResponse> transacoesSimuladas = new ArrayList<>();
         
-        for (Transacao origem : transacoesFixasOrigem) {
+        UsuarioResponse usuarioResponse = UsuarioResponse.fromResumo(usuario);
+        
+        for (TransacaoListagem origem : transacoesFixasOrigem) {
             // Calcular qual seria a data da ocorrência neste mês
             LocalDate dataOcorrencia = calcularDataOcorrenciaNoMes(origem, primeiroDiaMes, ultimoDiaMes);
             
             if (dataOcorrencia != null) {
                 // Verificar se JÁ EXISTE transação real com essa data
                 boolean jaExisteReal = transacoesReais.stream()
-                        .anyMatch(t -> t.getTransacaoPaiId() != null 
-                                && t.getTransacaoPaiId().equals(origem.getId())
-                                && t.getDataTransacao().equals(dataOcorrencia));
+                        .anyMatch(t -> t.transacaoPaiId() != null 
+                                && t.transacaoPaiId().equals(origem.id())
+                                && t.dataTransacao().equals(dataOcorrencia));
                 
                 if (!jaExisteReal) {
                     // Simular a transação (criar objeto temporário SEM salvar no banco)
-                    TransacaoResponse simulada = simularOcorrencia(origem, dataOcorrencia);
+                    TransacaoResponse simulada = simularOcorrencia(origem, dataOcorrencia, usuarioResponse);
                     transacoesSimuladas.add(simulada);
-                    log.debug("✨ Simulada: '{}' para {}", origem.getDescricao(), dataOcorrencia);
+                    log.debug("✨ Simulada: '{}' para {}", origem.descricao(), dataOcorrencia);
                 }
             }
         }
@@ -716,7 +1125,7 @@ public class TransacaoService {
         
         // 4. Combinar transações REAIS + SIMULADAS
         List<TransacaoResponse> resultado = new ArrayList<>();
-        resultado.addAll(transacoesReais.stream().map(TransacaoResponse::fromEntity).toList());
+        transacoesReais.forEach(t -> resultado.add(TransacaoResponse.fromListagem(t, usuarioResponse)));
         resultado.addAll(transacoesSimuladas);
         
         // 5. Ordenar por data
@@ -736,13 +1145,13 @@ public class TransacaoService {
      * @param ultimoDiaMes Último dia do mês alvo
      * @return Data da ocorrência se cair no mês, null se não houver ocorrência no mês
      */
-    private LocalDate calcularDataOcorrenciaNoMes(Transacao origem, LocalDate primeiroDiaMes, LocalDate ultimoDiaMes) {
-        LocalDate dataOrigem = origem.getDataTransacao();
+    private LocalDate calcularDataOcorrenciaNoMes(TransacaoListagem origem, LocalDate primeiroDiaMes, LocalDate ultimoDiaMes) {
+        LocalDate dataOrigem = origem.dataTransacao();
         LocalDate proximaData = dataOrigem;
         
         // Avançar até chegar no mês desejado ou passar dele
         while (proximaData.isBefore(primeiroDiaMes)) {
-            proximaData = origem.getFrequencia().calcularProximaData(proximaData);
+            proximaData = origem.frequencia().calcularProximaData(proximaData);
         }
         
         // Verificar se a data calculada está dentro do mês
@@ -758,25 +1167,26 @@ public class TransacaoService {
      * 
      * @param origem Transação FIXA original
      * @param dataOcorrencia Data calculada da ocorrência
+     * @param usuario Dono da transação (mesma instância para toda a previsão)
      * @return TransacaoResponse simulado
      */
-    private TransacaoResponse simularOcorrencia(Transacao origem, LocalDate dataOcorrencia) {
+    private TransacaoResponse simularOcorrencia(TransacaoListagem origem, LocalDate dataOcorrencia, UsuarioResponse usuario) {
         return TransacaoResponse.builder()
                 .id(null) // NULL indica que é simulada
-                .descricao(origem.getDescricao())
-                .valor(origem.getValor())
+                .descricao(origem.descricao())
+                .valor(origem.valor())
                 .dataTransacao(dataOcorrencia)
-                .tipo(origem.getTipo())
-                .observacoes(origem.getObservacoes() != null 
-                        ? origem.getObservacoes() + " [PREVISÃO]" 
+                .tipo(origem.tipo())
+                .observacoes(origem.observacoes() != null 
+                        ? origem.observacoes() + " [PREVISÃO]" 
                         : "[PREVISÃO]")
-                .categoria(com.financeiro.presentation.dto.categoria.CategoriaResponse.fromEntity(origem.getCategoria()))
-                .usuario(com.financeiro.presentation.dto.usuario.UsuarioResponse.fromEntity(origem.getUsuario()))
+                .categoria(CategoriaResponse.fromListagem(origem))
+                .usuario(usuario)
                 .recorrente(true)
-                .tipoRecorrencia(origem.getTipoRecorrencia())
-                .frequencia(origem.getFrequencia())
-                .transacaoPaiId(origem.getId())
-                .ativa(origem.getAtiva())
+                .tipoRecorrencia(origem.tipoRecorrencia())
+                .frequencia(origem.frequencia())
+                .transacaoPaiId(origem.id())
+                .ativa(origem.ativa())
                 .build();
     }
 }
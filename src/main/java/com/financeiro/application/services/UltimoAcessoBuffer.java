@@ -0,0 +1,103 @@
+package com.financeiro.application.services;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import com.financeiro.infrastructure.config.AppProperties;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Buffer write-behind do último acesso dos usuários.
+ *
+ * Logins apenas registram o horário em memória (acessos repetidos do mesmo usuário se fundem);
+ * a cada app.ultimo-acesso.flush-interval todos são gravados num único UPDATE em lote, que altera
+ * somente a coluna ultimo_acesso (sem passar pelo @PreUpdate que mexe em data_atualizacao).
+ * Também grava o que estiver pendente no desligamento da aplicação.
+ */
+@Slf4j
+@Component
+public class UltimoAcessoBuffer {
+
+    private static final String SQL_ATUALIZAR =
+            "UPDATE usuarios SET ultimo_acesso = ? WHERE id = ? AND (ultimo_acesso IS NULL OR ultimo_acesso < ?)";
+
+    private final Map<UUID, LocalDateTime> pendentes = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskScheduler taskScheduler;
+    private final AppProperties appProperties;
+    private ScheduledFuture<?> agendamento;
+
+    public UltimoAcessoBuffer(JdbcTemplate jdbcTemplate, TaskScheduler taskScheduler, AppProperties appProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskScheduler = taskScheduler;
+        this.appProperties = appProperties;
+    }
+
+    @PostConstruct
+    void agendar() {
+        agendamento = taskScheduler.scheduleWithFixedDelay(this::gravarPendentes,
+                appProperties.getUltimoAcesso().getFlushInterval());
+    }
+
+    /**
+     * Registra um acesso agora (mantém o mais recente quando já houver um pendente)
+     */
+    public void registrar(UUID usuarioId) {
+        pendentes.merge(usuarioId, LocalDateTime.now(), (atual, novo) -> novo.isAfter(atual) ? novo : atual);
+    }
+
+    /**
+     * Grava todos os acessos pendentes num único batch
+     */
+    public synchronized void gravarPendentes() {
+        if (pendentes.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<UUID, LocalDateTime>> lote = new ArrayList<>(pendentes.size());
+        for (Map.Entry<UUID, LocalDateTime> entrada : pendentes.entrySet()) {
+            UUID usuarioId = entrada.getKey();
+            LocalDateTime acesso = entrada.getValue();
+            // Remove só se não mudou; um acesso mais novo fica para o próximo ciclo
+            if (pendentes.remove(usuarioId, acesso)) {
+                lote.add(Map.entry(usuarioId, acesso));
+            }
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(SQL_ATUALIZAR, lote, lote.size(), (ps, entrada) -> {
+                Timestamp acesso = Timestamp.valueOf(entrada.getValue());
+                ps.setTimestamp(1, acesso);
+                ps.setObject(2, entrada.getKey());
+                ps.setTimestamp(3, acesso);
+            });
+            log.debug("Último acesso gravado para {} usuário(s)", lote.size());
+        } catch (RuntimeException e) {
+            // Devolve ao buffer para a próxima tentativa
+            lote.forEach(entrada -> pendentes.merge(entrada.getKey(), entrada.getValue(),
+                    (atual, antigo) -> atual.isAfter(antigo) ? atual : antigo));
+            log.warn("Falha ao gravar último acesso de {} usuário(s): {}", lote.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void desligar() {
+        if (agendamento != null) {
+            agendamento.cancel(false);
+        }
+        gravarPendentes();
+    }
+}
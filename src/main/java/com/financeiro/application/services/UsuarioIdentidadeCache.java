@@ -0,0 +1,128 @@
+package com.financeiro.application.services;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.financeiro.infrastructure.config.AppProperties;
+import com.financeiro.repository.UsuarioRepository;
+import com.financeiro.repository.projection.UsuarioResumo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Resolve a identidade do usuário (id, papel, ativo) a partir do email.
+ *
+ * Dois níveis:
+ * 1. Memo da requisição: dentro de uma mesma requisição HTTP o usuário nunca é consultado duas vezes
+ * 2. Cache compartilhado (limitado, com TTL e métricas) entre requisições
+ *
+ * Mutações em usuários devem chamar {@link #invalidar(String)} para o email afetado, dentro da
+ * transação que as grava: o descarte é repetido depois do commit, para que uma leitura concorrente
+ * do estado anterior ao commit não volte a ficar em cache pelo TTL inteiro.
+ *
+ * Usuários inativos não são resolvidos: para os serviços, equivalem a usuários inexistentes.
+ */
+@Component
+public class UsuarioIdentidadeCache {
+
+    private static final String ATRIBUTO_MEMO = UsuarioIdentidadeCache.class.getName() + ".memo";
+
+    private final UsuarioRepository usuarioRepository;
+    private final Cache<String, UsuarioResumo> identidades;
+
+    public UsuarioIdentidadeCache(
+            UsuarioRepository usuarioRepository,
+            AppProperties appProperties,
+            MeterRegistry meterRegistry) {
+        this.usuarioRepository = usuarioRepository;
+        this.identidades = Caffeine.newBuilder()
+                .maximumSize(appProperties.getCache().getUsuarios().getMaxSize())
+                .expireAfterWrite(appProperties.getCache().getUsuarios().getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, identidades, "usuarios.identidade");
+    }
+
+    /**
+     * Busca a identidade do usuário ativo pelo email (memo da requisição → cache → banco).
+     * Emails inexistentes não são guardados em cache; inativos ficam em cache, mas não são devolvidos.
+     */
+    public Optional<UsuarioResumo> buscar(String email) {
+        Map<String, UsuarioResumo> memo = memoDaRequisicao();
+        if (memo != null && memo.containsKey(email)) {
+            return ativo(memo.get(email));
+        }
+
+        UsuarioResumo usuario = identidades.getIfPresent(email);
+        if (usuario == null) {
+            usuario = usuarioRepository.findResumoByEmail(email).orElse(null);
+            if (usuario == null) {
+                return Optional.empty();
+            }
+            identidades.put(email, usuario);
+        }
+
+        if (memo != null) {
+            memo.put(email, usuario);
+        }
+        return ativo(usuario);
+    }
+
+    /**
+     * Inativos ficam no memo e no cache, mas nunca são devolvidos (nenhum dos dois caminhos)
+     */
+    private static Optional<UsuarioResumo> ativo(UsuarioResumo usuario) {
+        return Optional.of(usuario).filter(u -> Boolean.TRUE.equals(u.ativo()));
+    }
+
+    /**
+     * Remove a identidade do cache compartilhado e do memo da requisição atual; dentro de uma
+     * transação, remove de novo do cache compartilhado depois do commit
+     */
+    public void invalidar(String email) {
+        if (email == null) {
+            return;
+        }
+        identidades.invalidate(email);
+        Map<String, UsuarioResumo> memo = memoDaRequisicao();
+        if (memo != null) {
+            memo.remove(email);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    identidades.invalidate(email);
+                }
+            });
+        }
+    }
+
+    /**
+     * Memo guardado como atributo da requisição atual; null fora de requisições HTTP (ex.: jobs agendados)
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, UsuarioResumo> memoDaRequisicao() {
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        if (atributos == null) {
+            return null;
+        }
+        Map<String, UsuarioResumo> memo = (Map<String, UsuarioResumo>) atributos.getAttribute(
+                ATRIBUTO_MEMO, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new HashMap<>();
+            atributos.setAttribute(ATRIBUTO_MEMO, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return memo;
+    }
+}
@@ -5,14 +5,21 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.financeiro.application.events.PerfilAlteradoEvent;
 import com.financeiro.domain.entities.Categoria;
 import com.financeiro.domain.entities.Categoria.TipoCategoria;
 import com.financeiro.domain.entities.Usuario;
+import com.financeiro.infrastructure.security.RefreshTokenService;
+import com.financeiro.infrastructure.security.TokenVersionRegistry;
 import com.financeiro.repository.CategoriaRepository;
+import com.financeiro.repository.ExclusaoSincronizacaoRepository;
+import com.financeiro.repository.ResumoMensalRepository;
+import com.financeiro.repository.SaldoDiarioRepository;
 import com.financeiro.repository.TransacaoRepository;
 import com.financeiro.repository.UsuarioRepository;
 
@@ -31,7 +38,14 @@ public class UsuarioService {
     private final UsuarioRepository usuarioRepository;
     private final CategoriaRepository categoriaRepository;
     private final TransacaoRepository transacaoRepository;
+    private final ResumoMensalRepository resumoMensalRepository;
+    private final SaldoDiarioRepository saldoDiarioRepository;
+    private final ExclusaoSincronizacaoRepository exclusaoSincronizacaoRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final UsuarioIdentidadeCache usuarioIdentidadeCache;
+    private final RefreshTokenService refreshTokenService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Cria um novo usuário com categorias padrão
@@ -138,6 +152,8 @@ public class UsuarioService {
                         .build()
         );
 
+        // Seq 0: entram na primeira sincronização, como os dados anteriores ao delta sync
+        categoriasDefault.forEach(categoria -> categoria.setSeqAlteracao(0L));
         List<Categoria> salvas = categoriaRepository.saveAll(categoriasDefault);
         log.info("{} categorias padrão criadas para usuário {}", salvas.size(), usuario.getEmail());
     }
@@ -171,10 +187,18 @@ public class UsuarioService {
         Usuario usuario = usuarioRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
 
-        if (nome != null) {
+        // Nome, email e papel aparecem nas respostas de transações: mudam a versão dos dados (ETag)
+        boolean perfilAlterado = false;
+        if (nome != null && !nome.equals(usuario.getNome())) {
             usuario.setNome(nome);
+            perfilAlterado = true;
         }
+        // Email, senha e papel fazem parte da identidade do token: só eles invalidam os tokens emitidos
+        boolean identidadeAlterada = false;
         
+        // Identidade em cache fica obsoleta (email antigo e novo)
+        usuarioIdentidadeCache.invalidar(usuario.getEmail());
+
         if (email != null && !email.equals(usuario.getEmail())) {
             // Verificar se novo email já está em uso
             usuarioRepository.findByEmail(email)
@@ -183,14 +207,28 @@ public class UsuarioService {
                         throw new IllegalArgumentException("Email já está em uso");
                     });
             usuario.setEmail(email);
+            usuarioIdentidadeCache.invalidar(email);
+            identidadeAlterada = true;
+            perfilAlterado = true;
         }
         
         if (senha != null) {
             usuario.setSenha(passwordEncoder.encode(senha));
+            refreshTokenService.revogarTodos(id);
+            identidadeAlterada = true;
         }
         
-        if (papel != null) {
+        if (papel != null && papel != usuario.getPapel()) {
             usuario.setPapel(papel);
+            identidadeAlterada = true;
+            perfilAlterado = true;
+        }
+
+        if (identidadeAlterada) {
+            tokenVersionRegistry.invalidarTokens(usuario);
+        }
+        if (perfilAlterado) {
+            eventPublisher.publishEvent(new PerfilAlteradoEvent(usuario.getId()));
         }
 
         return usuarioRepository.save(usuario);
@@ -204,8 +242,13 @@ public class UsuarioService {
         Usuario usuario = usuarioRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
         
+        if (Boolean.TRUE.equals(usuario.getAtivo())) {
+            tokenVersionRegistry.invalidarTokens(usuario);
+        }
         usuario.setAtivo(false);
         usuarioRepository.save(usuario);
+        refreshTokenService.revogarTodos(id);
+        usuarioIdentidadeCache.invalidar(usuario.getEmail());
         log.info("Usuário desativado: {}", usuario.getEmail());
     }
 
@@ -217,8 +260,12 @@ public class UsuarioService {
         Usuario usuario = usuarioRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
         
+        if (!Boolean.TRUE.equals(usuario.getAtivo())) {
+            tokenVersionRegistry.invalidarTokens(usuario);
+        }
         usuario.setAtivo(true);
         usuarioRepository.save(usuario);
+        usuarioIdentidadeCache.invalidar(usuario.getEmail());
         log.info("Usuário ativado: {}", usuario.getEmail());
     }
     
@@ -251,13 +298,20 @@ public class UsuarioService {
         long qtdCategorias = categoriaRepository.countByUsuarioId(id);
         
         log.info("Deletando {} transação(ões) do usuário {}", qtdTransacoes, email);
+        resumoMensalRepository.deleteByUsuarioId(id);
+        saldoDiarioRepository.deleteByUsuarioId(id);
+        exclusaoSincronizacaoRepository.deleteByUsuarioId(id);
         transacaoRepository.deleteByUsuarioId(id);
         
         log.info("Deletando {} categoria(s) do usuário {}", qtdCategorias, email);
         categoriaRepository.deleteByUsuarioId(id);
         
+        refreshTokenService.revogarTodos(id);
+        
         log.info("Deletando usuário {}", email);
         usuarioRepository.delete(usuario);
+        tokenVersionRegistry.descartarUsuario(id);
+        usuarioIdentidadeCache.invalidar(email);
         
         log.warn("Usuário {} deletado permanentemente com sucesso. " +
                 "Removidas {} transação(ões) e {} categoria(s)", 
@@ -0,0 +1,58 @@
+package com.financeiro.application.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import com.financeiro.repository.UsuarioRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Versão dos dados (transações, categorias e perfil) de cada usuário, para ETags condicionais.
+ *
+ * A versão é usuarios.seq_sincronizacao, o contador do delta sync: incrementado antes do commit de
+ * toda alteração de transações ou categorias, e também de nome, email, papel ou foto (embutidos nas
+ * listagens). Por ser persistida, vale igual em todas as instâncias e sobrevive a restarts: um ETag
+ * só deixa de casar quando os dados mudam.
+ *
+ * Custa uma leitura pela chave primária por requisição condicional, no lugar da consulta completa.
+ * Deve ser lida antes dos dados: assim uma resposta nunca carrega uma versão mais nova que os dados
+ * que contém.
+ */
+@Component
+@RequiredArgsConstructor
+public class VersaoDadosUsuario {
+
+    private final UsuarioRepository usuarioRepository;
+
+    /**
+     * Versão vigente dos dados do usuário (0 se nada mudou ou o usuário não existe)
+     */
+    public long versaoAtual(UUID usuarioId) {
+        Long seq = usuarioRepository.findSeqSincronizacao(usuarioId);
+        return seq != null ? seq : 0L;
+    }
+
+    /**
+     * ETag forte (entre aspas) da versão atual do usuário para uma consulta (recurso + parâmetros)
+     */
+    public String etag(UUID usuarioId, Object... consulta) {
+        return "\"" + versaoAtual(usuarioId) + "-" + resumo(consulta) + "\"";
+    }
+
+    private static String resumo(Object[] consulta) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(Arrays.deepToString(consulta).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
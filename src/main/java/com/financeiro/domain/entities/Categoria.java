@@ -77,9 +77,17 @@ public class Categoria {
     @Column(name = "cor", length = 7)
     private String cor;
 
+    /**
+     * Contador de alterações do usuário no commit que gravou a linha por último (delta sync).
+     * Null enquanto a alteração não é commitada: preenchido pelo SincronizacaoService antes do commit.
+     */
+    @Column(name = "seq_alteracao")
+    private Long seqAlteracao;
+
     @PreUpdate
     public void preUpdate() {
         this.dataAtualizacao = LocalDateTime.now();
+        this.seqAlteracao = null;
     }
 
     public enum TipoCategoria {
@@ -0,0 +1,49 @@
+package com.financeiro.domain.entities;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lápide de um registro removido, para que clientes em delta sync apaguem a cópia local.
+ * Escrita apenas pelo SincronizacaoService (via SQL); somente leitura no restante.
+ */
+@Entity
+@Table(name = "exclusoes_sincronizacao")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExclusaoSincronizacao {
+
+    @Id
+    @Column(name = "entidade_id", nullable = false)
+    private UUID entidadeId;
+
+    @Column(name = "usuario_id", nullable = false)
+    private UUID usuarioId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entidade", nullable = false, length = 20)
+    private Entidade entidade;
+
+    // Null enquanto a remoção não é commitada
+    @Column(name = "seq_alteracao")
+    private Long seqAlteracao;
+
+    @Column(name = "data_exclusao", nullable = false)
+    private LocalDateTime dataExclusao;
+
+    public enum Entidade {
+        TRANSACAO,
+        CATEGORIA
+    }
+}
@@ -0,0 +1,45 @@
+package com.financeiro.domain.entities;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Refresh token emitido para um usuário, identificado pelo jti do JWT.
+ * Um token é válido enquanto não expirou e não foi revogado (por uso/rotação, logout ou revogação em massa).
+ */
+@Entity
+@Table(name = "refresh_tokens")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken {
+
+    @Id
+    @Column(name = "jti", updatable = false, nullable = false)
+    private UUID jti;
+
+    @Column(name = "usuario_id", nullable = false, updatable = false)
+    private UUID usuarioId;
+
+    @Column(name = "emitido_em", nullable = false)
+    private LocalDateTime emitidoEm;
+
+    @Column(name = "expira_em", nullable = false)
+    private LocalDateTime expiraEm;
+
+    @Column(name = "revogado_em")
+    private LocalDateTime revogadoEm;
+
+    @Column(name = "substituido_por")
+    private UUID substituidoPor;
+}
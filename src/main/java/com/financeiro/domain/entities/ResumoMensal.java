@@ -0,0 +1,58 @@
+package com.financeiro.domain.entities;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Rollup mensal: soma e quantidade das transações de um usuário por mês, categoria e tipo.
+ * Escrito apenas pelo ResumoMensalService (recalculado a partir de transacoes); somente leitura no restante.
+ */
+@Entity
+@Table(name = "resumo_mensal")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoMensal {
+
+    @EmbeddedId
+    private Chave id;
+
+    @Column(name = "total", nullable = false, precision = 14, scale = 2)
+    private BigDecimal total;
+
+    @Column(name = "quantidade", nullable = false)
+    private Long quantidade;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Chave implements Serializable {
+
+        @Column(name = "usuario_id", nullable = false)
+        private UUID usuarioId;
+
+        // Mês no formato AAAAMM
+        @Column(name = "ano_mes", nullable = false)
+        private Integer anoMes;
+
+        @Column(name = "categoria_id", nullable = false)
+        private UUID categoriaId;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "tipo", nullable = false, length = 20)
+        private Transacao.TipoTransacao tipo;
+    }
+}
@@ -0,0 +1,51 @@
+package com.financeiro.domain.entities;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Checkpoint de saldo: líquido do dia e saldo acumulado até o fim do dia, só para dias com movimento.
+ * Escrito apenas pelo SaldoDiarioService (recalculado a partir de transacoes); somente leitura no restante.
+ */
+@Entity
+@Table(name = "saldo_diario")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaldoDiario {
+
+    @EmbeddedId
+    private Chave id;
+
+    // Receitas - despesas do dia
+    @Column(name = "liquido", nullable = false, precision = 14, scale = 2)
+    private BigDecimal liquido;
+
+    // Saldo acumulado até o fim do dia (inclusive)
+    @Column(name = "saldo", nullable = false, precision = 16, scale = 2)
+    private BigDecimal saldo;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Chave implements Serializable {
+
+        @Column(name = "usuario_id", nullable = false)
+        private UUID usuarioId;
+
+        @Column(name = "data", nullable = false)
+        private LocalDate data;
+    }
+}
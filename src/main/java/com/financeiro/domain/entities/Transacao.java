@@ -23,6 +23,7 @@ import jakarta.persistence.PostPersist;
 import jakarta.persistence.PostUpdate;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -37,7 +38,8 @@ import lombok.NoArgsConstructor;
  * Uma transação pode ser uma receita ou despesa.
  */
 @Entity
-@Table(name = "transacoes")
+@Table(name = "transacoes", uniqueConstraints = @UniqueConstraint(
+        name = "uk_transacoes_pai_data", columnNames = {"transacao_pai_id", "data_transacao"}))
 @Data
 @Builder
 @NoArgsConstructor
@@ -134,9 +136,17 @@ public class Transacao {
     @Builder.Default
     private Boolean ativa = true;
 
+    /**
+     * Contador de alterações do usuário no commit que gravou a linha por último (delta sync).
+     * Null enquanto a alteração não é commitada: preenchido pelo SincronizacaoService antes do commit.
+     */
+    @Column(name = "seq_alteracao")
+    private Long seqAlteracao;
+
     @PreUpdate
     public void preUpdate() {
         this.dataAtualizacao = LocalDateTime.now();
+        this.seqAlteracao = null;
     }
 
     public enum TipoTransacao {
@@ -171,6 +181,26 @@ public class Transacao {
         }
     }
 
+    /**
+     * Regra de negócio: Nova ocorrência desta transação FIXA (origem da série) na data informada
+     */
+    public Transacao novaOcorrencia(LocalDate data) {
+        return Transacao.builder()
+                .descricao(descricao)
+                .valor(valor)
+                .dataTransacao(data)
+                .tipo(tipo)
+                .observacoes(observacoes)
+                .categoria(categoria)
+                .usuario(usuario)
+                .recorrente(true)
+                .tipoRecorrencia(TipoRecorrencia.FIXA)
+                .frequencia(frequencia)
+                .transacaoPaiId(id)
+                .ativa(true)
+                .build();
+    }
+
     /**
      * Regra de negócio: Obter valor com sinal correto (negativo para despesas)
      */
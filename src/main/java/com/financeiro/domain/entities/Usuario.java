@@ -5,6 +5,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.UuidGenerator;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -94,6 +95,32 @@ public class Usuario implements UserDetails {
     @Column(name = "foto", length = 500)
     private String foto;
 
+    /**
+     * Contador de alterações dos dados do usuário (delta sync).
+     * Escrito apenas por SQL no SincronizacaoService: a entidade nunca grava a coluna.
+     */
+    @ColumnDefault("0")
+    @Column(name = "seq_sincronizacao", nullable = false, insertable = false, updatable = false)
+    private Long seqSincronizacao;
+
+    /**
+     * Maior seq_alteracao das lápides já removidas pela retenção: tokens de delta sync
+     * anteriores a ele precisam de uma sincronização completa.
+     * Escrito apenas por SQL no SincronizacaoService.
+     */
+    @ColumnDefault("0")
+    @Column(name = "seq_exclusoes_expurgadas", nullable = false, insertable = false, updatable = false)
+    private Long seqExclusoesExpurgadas;
+
+    /**
+     * Versão dos tokens de acesso (claim "ver"). Incrementada pelo TokenVersionRegistry na mesma
+     * gravação que altera email, senha, papel ou status ativo: tokens de versão anterior são recusados.
+     */
+    @ColumnDefault("0")
+    @Column(name = "versao_token", nullable = false)
+    @Builder.Default
+    private Integer versaoToken = 0;
+
     @OneToMany(mappedBy = "usuario", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Transacao> transacoes;
 
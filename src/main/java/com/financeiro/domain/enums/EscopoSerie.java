@@ -0,0 +1,32 @@
+package com.financeiro.domain.enums;
+
+/**
+ * Alcance de uma edição em série (PATCH /api/transacoes/{id}/serie)
+ */
+public enum EscopoSerie {
+    /**
+     * Apenas a transação informada
+     */
+    ESTA("Esta"),
+
+    /**
+     * A transação informada e as da mesma série com data igual ou posterior. Numa série FIXA,
+     * inclui também a origem, que é o modelo das ocorrências geradas depois pelo JOB.
+     */
+    FUTURAS("Esta e as futuras"),
+
+    /**
+     * Toda a série: origem e todas as parcelas/ocorrências
+     */
+    TODAS("Todas");
+
+    private final String descricao;
+
+    EscopoSerie(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+}
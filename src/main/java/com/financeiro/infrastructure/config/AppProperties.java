@@ -1,6 +1,9 @@
 package com.financeiro.infrastructure.config;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 import lombok.Data;
 
@@ -10,6 +13,14 @@ public class AppProperties {
     
     private Cors cors = new Cors();
     private Swagger swagger = new Swagger();
+    private Cache cache = new Cache();
+    private UltimoAcesso ultimoAcesso = new UltimoAcesso();
+    private Paginacao paginacao = new Paginacao();
+    private Exportacao exportacao = new Exportacao();
+    private ResumoMensal resumoMensal = new ResumoMensal();
+    private SaldoDiario saldoDiario = new SaldoDiario();
+    private Relatorios relatorios = new Relatorios();
+    private Sincronizacao sincronizacao = new Sincronizacao();
     
     @Data
     public static class Cors {
@@ -20,4 +31,98 @@ public class AppProperties {
     public static class Swagger {
         private boolean enabled = true;
     }
-}
\ No newline at end of file
+    
+    @Data
+    public static class Cache {
+        private Usuarios usuarios = new Usuarios();
+        private RelatorioMensal relatorioMensal = new RelatorioMensal();
+        private ListagemMensal listagemMensal = new ListagemMensal();
+    }
+    
+    @Data
+    public static class Usuarios {
+        // Quantidade máxima de identidades (email -> id/papel/ativo) em memória
+        private long maxSize = 10000;
+        
+        // Tempo de vida de cada identidade em cache
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+    
+    @Data
+    public static class RelatorioMensal {
+        // Quantidade máxima de meses (usuário + mês -> totais por categoria) em memória
+        private long maxSize = 50000;
+        
+        // Rede de segurança: a invalidação normal é por evento de alteração
+        private Duration ttl = Duration.ofHours(6);
+    }
+    
+    @Data
+    public static class ListagemMensal {
+        // Limite do cache de listagens por (usuário, mês), pelo tamanho estimado das linhas
+        private DataSize maxBytes = DataSize.ofMegabytes(64);
+        
+        // Rede de segurança: a invalidação normal é por evento de alteração
+        private Duration ttl = Duration.ofHours(6);
+        
+        // Períodos com mais meses que isto vão direto ao banco, sem passar pelo cache
+        private int mesesMaximos = 12;
+    }
+    
+    @Data
+    public static class UltimoAcesso {
+        // Intervalo de gravação em lote dos últimos acessos acumulados em memória
+        private Duration flushInterval = Duration.ofSeconds(30);
+    }
+    
+    @Data
+    public static class Paginacao {
+        // Tamanho de página usado quando o cliente não informa "tamanho"
+        private int tamanhoPadrao = 50;
+        
+        // Limite rígido do servidor: valores maiores são reduzidos a este
+        private int tamanhoMaximo = 200;
+    }
+    
+    @Data
+    public static class Exportacao {
+        // Linhas trazidas do banco por ida ao servidor (cursor JDBC); limita a memória da exportação
+        private int fetchSize = 500;
+        
+        // Exportações simultâneas por instância: cada uma ocupa uma conexão do pool enquanto o cliente baixa
+        private int maxSimultaneas = 2;
+    }
+    
+    @Data
+    public static class ResumoMensal {
+        // Usuários reconstruídos em paralelo pelo comando de reconstrução dos rollups
+        private int paralelismoReconstrucao = 4;
+        
+        // Usuários sorteados por execução da verificação (rollups x transações)
+        private int usuariosPorVerificacao = 20;
+    }
+    
+    @Data
+    public static class SaldoDiario {
+        // Maior intervalo (em dias) aceito pela série de saldos diários
+        private int diasMaximosSerie = 1830;
+    }
+    
+    @Data
+    public static class Relatorios {
+        // Maior período (em meses) aceito pelo relatório categorias x mês
+        private int mesesMaximos = 60;
+    }
+    
+    @Data
+    public static class Sincronizacao {
+        // Transações por página do delta sync quando o cliente não informa "tamanho"
+        private int tamanhoPadrao = 500;
+        
+        // Limite rígido do servidor: valores maiores são reduzidos a este
+        private int tamanhoMaximo = 2000;
+        
+        // Lápides mais antigas que isto são removidas; clientes com token anterior recebem 410
+        private Duration retencaoExclusoes = Duration.ofDays(90);
+    }
+}
@@ -1,17 +1,21 @@
 package com.financeiro.infrastructure.config;
 
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.financeiro.domain.entities.Usuario;
 import com.financeiro.repository.UsuarioRepository;
 
 /**
- * UserDetailsService customizado que carrega usuários do banco de dados
+ * UserDetailsService customizado que carrega usuários do banco de dados.
+ * Também regrava o hash da senha quando o DaoAuthenticationProvider detecta força de BCrypt desatualizada.
  */
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UsuarioRepository usuarioRepository;
 
@@ -25,4 +29,16 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .filter(usuario -> usuario.getAtivo())
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado: " + email));
     }
-}
\ No newline at end of file
+
+    /**
+     * Atualiza apenas a coluna senha (a senha em si não mudou, só o custo do hash)
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Usuario usuario = (Usuario) user;
+        usuarioRepository.atualizarSenha(usuario.getId(), newPassword);
+        usuario.setSenha(newPassword);
+        return usuario;
+    }
+}
@@ -0,0 +1,28 @@
+package com.financeiro.infrastructure.config;
+
+import java.nio.file.Path;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import com.financeiro.infrastructure.security.GoogleCertsKeySource;
+import com.financeiro.infrastructure.security.GooglePublicKeySource;
+import com.financeiro.infrastructure.security.JwksFileKeySource;
+
+/**
+ * Fonte das chaves públicas do Google: arquivo JWKS local (google.verifier.jwks-file)
+ * ou, por padrão, os certificados oficiais.
+ */
+@Configuration
+public class GoogleConfig {
+
+    @Bean
+    public GooglePublicKeySource googlePublicKeySource(GoogleProperties googleProperties) {
+        String jwksFile = googleProperties.getVerifier().getJwksFile();
+        if (StringUtils.hasText(jwksFile)) {
+            return new JwksFileKeySource(Path.of(jwksFile));
+        }
+        return new GoogleCertsKeySource();
+    }
+}
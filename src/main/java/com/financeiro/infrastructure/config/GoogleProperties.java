@@ -16,6 +16,7 @@ import lombok.Setter;
 public class GoogleProperties {
     
     private Client client = new Client();
+    private Verifier verifier = new Verifier();
     
     @Getter
     @Setter
@@ -23,4 +24,15 @@ public class GoogleProperties {
         private String id;
         private String secret;
     }
+
+    @Getter
+    @Setter
+    public static class Verifier {
+        /** Arquivo JWKS local; quando definido substitui os certificados oficiais do Google */
+        private String jwksFile;
+        /** Carrega as chaves públicas na inicialização, tirando a busca do caminho do primeiro login */
+        private boolean warmUp = true;
+        /** Tolerância de relógio na validação de exp/iat */
+        private long acceptableTimeSkewSeconds = 300;
+    }
 }
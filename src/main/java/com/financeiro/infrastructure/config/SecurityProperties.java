@@ -1,14 +1,23 @@
 package com.financeiro.infrastructure.config;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
 @ConfigurationProperties(prefix = "security")
 public class SecurityProperties {
     
     private Jwt jwt = new Jwt();
+    private Hashing hashing = new Hashing();
+    private RateLimit rateLimit = new RateLimit();
     
     @Data
     public static class Jwt {
@@ -20,5 +29,77 @@ public class SecurityProperties {
         
         // Tempo de expiração do refresh token (7 dias em millisegundos)
         private long refreshExpirationTime = 604800000; // 7 days
+        
+        // Quantidade máxima de tokens já verificados mantidos em cache (evita refazer o HMAC a cada requisição)
+        private int verifiedTokenCacheSize = 10000;
+        
+        // Monta o principal a partir das claims do token (id, email, papéis) sem consultar o banco a cada requisição
+        private boolean statelessPrincipal = true;
+        
+        // Capacidade esperada do índice em memória de refresh tokens revogados (Bloom filter + conjunto exato)
+        private int revokedRefreshIndexSize = 100000;
+    }
+    
+    @Data
+    public static class Hashing {
+        // Threads dedicadas ao BCrypt (fora das threads do Tomcat)
+        private int poolSize = Runtime.getRuntime().availableProcessors();
+        
+        // Hashes aguardando thread livre; acima disso a requisição recebe 503 com Retry-After
+        private int queueCapacity = 64;
+        
+        // Tempo máximo de espera pelo resultado do hash antes de responder 503
+        private Duration timeout = Duration.ofSeconds(5);
+        
+        // Valor do header Retry-After quando o pool está saturado
+        private Duration retryAfter = Duration.ofSeconds(2);
+        
+        // Força de BCrypt fixa; 0 = calibrar na inicialização para atingir targetHashTime
+        private int strength = 0;
+        
+        // Tempo alvo de um hash na calibração (e limites da força calibrada)
+        private Duration targetHashTime = Duration.ofMillis(250);
+        private int minStrength = 10;
+        private int maxStrength = 14;
+    }
+    
+    @Data
+    public static class RateLimit {
+        private boolean enabled = true;
+        
+        // Buckets sem uso há mais que isso (já totalmente recarregados) são descartados
+        private Duration idleEviction = Duration.ofMinutes(10);
+        
+        // Grupos de rotas avaliados na ordem declarada; vale o primeiro cujo padrão casar com a URL
+        private Map<String, Grupo> grupos = gruposPadrao();
+        
+        private static Map<String, Grupo> gruposPadrao() {
+            Map<String, Grupo> grupos = new LinkedHashMap<>();
+            grupos.put("auth", new Grupo(List.of("/api/auth/**"), 10, Duration.ofMinutes(1), Chave.IP));
+            grupos.put("relatorios", new Grupo(
+                    List.of("/api/transacoes/resumo", "/api/transacoes/preview", "/api/transacoes/export",
+                            "/api/relatorios/**"),
+                    30, Duration.ofMinutes(1), Chave.USUARIO));
+            grupos.put("api", new Grupo(List.of("/api/**"), 300, Duration.ofMinutes(1), Chave.USUARIO));
+            return grupos;
+        }
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Grupo {
+        private List<String> padroes = List.of();
+        
+        // Requisições permitidas por período (também é o tamanho máximo da rajada)
+        private long capacidade;
+        private Duration periodo = Duration.ofMinutes(1);
+        
+        // USUARIO: email do usuário autenticado (IP quando anônimo); IP: endereço do cliente
+        private Chave chave = Chave.USUARIO;
+    }
+    
+    public enum Chave {
+        USUARIO, IP
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package com.financeiro.infrastructure.security;
+
+import java.time.Duration;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.financeiro.infrastructure.config.SecurityProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Escolhe a força do BCrypt que mais se aproxima do tempo alvo de hash no hardware atual.
+ *
+ * Cada incremento de força dobra o custo, então basta medir a força mínima e extrapolar:
+ * força = mínima + log2(alvo / tempo medido), limitada a [minStrength, maxStrength].
+ */
+@Slf4j
+final class BCryptStrengthCalibrator {
+
+    private static final String SENHA_AMOSTRA = "calibracao-bcrypt";
+    private static final int AMOSTRAS = 3;
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    static int calibrar(SecurityProperties.Hashing hashing) {
+        if (hashing.getStrength() > 0) {
+            return hashing.getStrength();
+        }
+
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(hashing.getMinStrength());
+        encoder.encode(SENHA_AMOSTRA); // aquecimento do JIT
+
+        long melhor = Long.MAX_VALUE;
+        for (int i = 0; i < AMOSTRAS; i++) {
+            long inicio = System.nanoTime();
+            encoder.encode(SENHA_AMOSTRA);
+            melhor = Math.min(melhor, System.nanoTime() - inicio);
+        }
+
+        double razao = (double) hashing.getTargetHashTime().toNanos() / Math.max(1, melhor);
+        int incremento = razao > 1 ? (int) Math.round(Math.log(razao) / Math.log(2)) : 0;
+        int forca = Math.min(hashing.getMaxStrength(), hashing.getMinStrength() + incremento);
+
+        log.info("BCrypt calibrado: força {} ({} ms na força {}, alvo {} ms)",
+                forca, Duration.ofNanos(melhor).toMillis(), hashing.getMinStrength(),
+                hashing.getTargetHashTime().toMillis());
+        return forca;
+    }
+}
@@ -0,0 +1,127 @@
+package com.financeiro.infrastructure.security;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.financeiro.infrastructure.config.SecurityProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * PasswordEncoder que executa o BCrypt num pool dedicado e limitado.
+ *
+ * - Threads do Tomcat apenas aguardam o resultado; o trabalho de CPU fica restrito a poolSize threads
+ * - Fila limitada: quando cheia (ou quando a espera passa do timeout) responde 503 com Retry-After
+ * - Métricas do executor (senha.hashing), tempo de cada operação e contagem de rejeições
+ *
+ * {@link #upgradeEncoding(String)} indica hashes com força menor que a atual, permitindo que o
+ * DaoAuthenticationProvider regrave a senha no próximo login bem-sucedido.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final Duration retryAfter;
+    private final Timer tempoEncode;
+    private final Timer tempoMatches;
+    private final Counter rejeitadas;
+
+    public BoundedPasswordEncoder(SecurityProperties.Hashing hashing, MeterRegistry meterRegistry) {
+        this.delegate = new BCryptPasswordEncoder(BCryptStrengthCalibrator.calibrar(hashing));
+        this.timeout = hashing.getTimeout();
+        this.retryAfter = hashing.getRetryAfter();
+        this.executor = new ThreadPoolExecutor(
+                hashing.getPoolSize(),
+                hashing.getPoolSize(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(hashing.getQueueCapacity()),
+                new ThreadsNomeadas(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        new ExecutorServiceMetrics(executor, "senha.hashing", Tags.empty()).bindTo(meterRegistry);
+        this.tempoEncode = Timer.builder("senha.hashing.duracao").tag("operacao", "encode").register(meterRegistry);
+        this.tempoMatches = Timer.builder("senha.hashing.duracao").tag("operacao", "matches").register(meterRegistry);
+        this.rejeitadas = Counter.builder("senha.hashing.rejeitadas").register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executar(() -> tempoEncode.record(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executar(() -> tempoMatches.record(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Apenas lê o prefixo do hash ($2a$NN$), não precisa do pool
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T executar(Callable<T> tarefa) {
+        Future<T> futuro;
+        try {
+            futuro = executor.submit(tarefa);
+        } catch (RejectedExecutionException e) {
+            rejeitadas.increment();
+            log.warn("Pool de hashing saturado ({} na fila), recusando requisição", executor.getQueue().size());
+            throw new HashingIndisponivelException(retryAfter);
+        }
+
+        try {
+            return futuro.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            rejeitadas.increment();
+            log.warn("Hash de senha não concluído em {} ms, recusando requisição", timeout.toMillis());
+            throw new HashingIndisponivelException(retryAfter);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futuro.cancel(true);
+            throw new IllegalStateException("Interrompido aguardando hash de senha", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Falha ao processar hash de senha", e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private static final class ThreadsNomeadas implements ThreadFactory {
+
+        private final AtomicInteger contador = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "senha-hashing-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
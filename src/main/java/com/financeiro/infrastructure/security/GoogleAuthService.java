@@ -1,49 +1,78 @@
 package com.financeiro.infrastructure.security;
 
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import com.financeiro.infrastructure.config.GoogleProperties;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
-import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
-import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.JsonFactory;
 import com.google.api.client.json.gson.GsonFactory;
 
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Serviço para autenticação com Google OAuth 2.0
+ *
+ * A verificação é feita com uma única fonte de chaves públicas ({@link GooglePublicKeySource}),
+ * compartilhada entre todos os logins: as chaves são buscadas uma vez, ficam em cache e podem ser
+ * carregadas já na inicialização.
  */
 @Slf4j
 @Service
 public class GoogleAuthService {
 
-    private final String clientId;
+    private static final JsonFactory JSON_FACTORY = GsonFactory.getDefaultInstance();
+    private static final List<String> ISSUERS = List.of("accounts.google.com", "https://accounts.google.com");
+    private static final long INTERVALO_MINIMO_RECARGA_MS = TimeUnit.MINUTES.toMillis(1);
 
-    public GoogleAuthService(GoogleProperties googleProperties) {
-        this.clientId = googleProperties.getClient().getId();
+    private final List<String> audience;
+    private final GooglePublicKeySource publicKeySource;
+    private final GoogleProperties.Verifier verifierProperties;
+    private volatile long ultimaRecargaForcada;
+
+    public GoogleAuthService(GoogleProperties googleProperties, GooglePublicKeySource publicKeySource) {
+        this.audience = Collections.singletonList(googleProperties.getClient().getId());
+        this.publicKeySource = publicKeySource;
+        this.verifierProperties = googleProperties.getVerifier();
+    }
+
+    /**
+     * Carrega as chaves públicas na inicialização para que o primeiro login não pague a busca.
+     * Falha aqui não impede a aplicação de subir: as chaves serão buscadas no primeiro login.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void aquecerChaves() {
+        if (!verifierProperties.isWarmUp()) {
+            return;
+        }
+        try {
+            int quantidade = publicKeySource.getPublicKeys().size();
+            log.info("Chaves públicas do Google carregadas na inicialização: {}", quantidade);
+        } catch (Exception e) {
+            log.warn("Não foi possível carregar as chaves públicas do Google na inicialização: {}", e.getMessage());
+        }
     }
 
     /**
      * Verifica e valida o token JWT do Google
-     * 
+     *
      * @param idTokenString Token JWT recebido do frontend (do Google Sign-In)
      * @return Payload do token contendo informações do usuário
      * @throws Exception se o token for inválido
      */
     public GoogleIdToken.Payload verifyToken(String idTokenString) throws Exception {
         log.info("Verificando token do Google...");
-        
-        GoogleIdTokenVerifier verifier = new GoogleIdTokenVerifier.Builder(
-                new NetHttpTransport(),
-                GsonFactory.getDefaultInstance())
-                .setAudience(Collections.singletonList(clientId))
-                .build();
-
-        GoogleIdToken idToken = verifier.verify(idTokenString);
-        
-        if (idToken != null) {
+
+        GoogleIdToken idToken = GoogleIdToken.parse(JSON_FACTORY, idTokenString);
+
+        if (verificarClaims(idToken) && verificarAssinatura(idToken)) {
             log.info("Token do Google verificado com sucesso");
             return idToken.getPayload();
         } else {
@@ -51,4 +80,44 @@ public class GoogleAuthService {
             throw new Exception("Token inválido");
         }
     }
+
+    /**
+     * Emissor, audiência e validade (exp/iat) — verificados antes da assinatura por serem baratos
+     */
+    private boolean verificarClaims(GoogleIdToken idToken) {
+        return idToken.verifyIssuer(ISSUERS)
+                && idToken.verifyAudience(audience)
+                && idToken.verifyTime(System.currentTimeMillis(), verifierProperties.getAcceptableTimeSkewSeconds());
+    }
+
+    /**
+     * Verifica a assinatura com as chaves em cache. Se nenhuma servir (possível rotação de chaves
+     * pelo Google), recarrega as chaves uma vez — no máximo uma recarga forçada por minuto, para que
+     * tokens forjados não disparem buscas repetidas.
+     */
+    private boolean verificarAssinatura(GoogleIdToken idToken) throws Exception {
+        if (assinadoPorAlguma(idToken, publicKeySource.getPublicKeys())) {
+            return true;
+        }
+
+        long agora = System.currentTimeMillis();
+        if (agora - ultimaRecargaForcada < INTERVALO_MINIMO_RECARGA_MS) {
+            return false;
+        }
+        ultimaRecargaForcada = agora;
+
+        log.info("Assinatura não confere com as chaves em cache, recarregando chaves do Google");
+        publicKeySource.refresh();
+        return assinadoPorAlguma(idToken, publicKeySource.getPublicKeys());
+    }
+
+    private static boolean assinadoPorAlguma(GoogleIdToken idToken, List<PublicKey> chaves)
+            throws GeneralSecurityException {
+        for (PublicKey chave : chaves) {
+            if (idToken.verifySignature(chave)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
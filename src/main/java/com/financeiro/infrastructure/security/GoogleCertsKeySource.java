@@ -0,0 +1,39 @@
+package com.financeiro.infrastructure.security;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.util.List;
+
+import com.google.api.client.googleapis.auth.oauth2.GooglePublicKeysManager;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.gson.GsonFactory;
+
+/**
+ * Chaves públicas oficiais do Google.
+ *
+ * Um único {@link GooglePublicKeysManager} (e um único transporte HTTP) é mantido durante toda a vida
+ * da aplicação: as chaves ficam em cache pelo max-age do Cache-Control e só são buscadas novamente
+ * quando expiram.
+ */
+public class GoogleCertsKeySource implements GooglePublicKeySource {
+
+    private final GooglePublicKeysManager publicKeysManager;
+
+    public GoogleCertsKeySource() {
+        this.publicKeysManager = new GooglePublicKeysManager.Builder(
+                new NetHttpTransport(),
+                GsonFactory.getDefaultInstance())
+                .build();
+    }
+
+    @Override
+    public List<PublicKey> getPublicKeys() throws GeneralSecurityException, IOException {
+        return publicKeysManager.getPublicKeys();
+    }
+
+    @Override
+    public void refresh() throws GeneralSecurityException, IOException {
+        publicKeysManager.refresh();
+    }
+}
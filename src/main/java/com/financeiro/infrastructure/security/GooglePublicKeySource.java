@@ -0,0 +1,26 @@
+package com.financeiro.infrastructure.security;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.util.List;
+
+/**
+ * Fonte das chaves públicas usadas para verificar a assinatura dos ID tokens do Google.
+ *
+ * Implementações:
+ * - {@link GoogleCertsKeySource}: certificados oficiais do Google, em cache pelo tempo do Cache-Control
+ * - {@link JwksFileKeySource}: arquivo JWKS local (testes e ambientes sem acesso à internet)
+ */
+public interface GooglePublicKeySource {
+
+    /**
+     * Chaves vigentes (do cache, quando ainda válido)
+     */
+    List<PublicKey> getPublicKeys() throws GeneralSecurityException, IOException;
+
+    /**
+     * Força a recarga das chaves (ex.: após rotação de chaves pelo Google)
+     */
+    void refresh() throws GeneralSecurityException, IOException;
+}
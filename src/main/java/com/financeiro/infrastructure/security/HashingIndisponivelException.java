@@ -0,0 +1,28 @@
+package com.financeiro.infrastructure.security;
+
+import java.time.Duration;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Pool de hashing de senhas saturado: a requisição é recusada rapidamente com 503 e Retry-After
+ * em vez de ocupar uma thread do Tomcat esperando na fila.
+ */
+public class HashingIndisponivelException extends ResponseStatusException {
+
+    private final Duration retryAfter;
+
+    public HashingIndisponivelException(Duration retryAfter) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Servidor ocupado processando senhas, tente novamente em instantes");
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds())));
+        return headers;
+    }
+}
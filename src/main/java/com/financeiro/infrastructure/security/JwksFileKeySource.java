@@ -0,0 +1,66 @@
+package com.financeiro.infrastructure.security;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Chaves públicas lidas de um arquivo JWKS local (mesmo formato de https://www.googleapis.com/oauth2/v3/certs).
+ *
+ * Usado em testes e ambientes offline. O arquivo é lido uma vez e relido apenas em {@link #refresh()}.
+ */
+@Slf4j
+public class JwksFileKeySource implements GooglePublicKeySource {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Path arquivo;
+    private volatile List<PublicKey> chaves;
+
+    public JwksFileKeySource(Path arquivo) {
+        this.arquivo = arquivo;
+    }
+
+    @Override
+    public List<PublicKey> getPublicKeys() throws GeneralSecurityException, IOException {
+        List<PublicKey> atuais = chaves;
+        if (atuais == null) {
+            refresh();
+            atuais = chaves;
+        }
+        return atuais;
+    }
+
+    @Override
+    public synchronized void refresh() throws GeneralSecurityException, IOException {
+        JsonNode jwks = OBJECT_MAPPER.readTree(Files.readAllBytes(arquivo));
+        KeyFactory rsa = KeyFactory.getInstance("RSA");
+        Base64.Decoder base64Url = Base64.getUrlDecoder();
+
+        List<PublicKey> lidas = new ArrayList<>();
+        for (JsonNode jwk : jwks.path("keys")) {
+            if (!"RSA".equals(jwk.path("kty").asText())) {
+                continue;
+            }
+            BigInteger modulo = new BigInteger(1, base64Url.decode(jwk.path("n").asText()));
+            BigInteger expoente = new BigInteger(1, base64Url.decode(jwk.path("e").asText()));
+            lidas.add(rsa.generatePublic(new RSAPublicKeySpec(modulo, expoente)));
+        }
+
+        log.info("{} chave(s) pública(s) do Google carregada(s) de {}", lidas.size(), arquivo);
+        chaves = List.copyOf(lidas);
+    }
+}
@@ -9,6 +9,8 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
+
+import com.financeiro.infrastructure.config.SecurityProperties;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import jakarta.servlet.FilterChain;
@@ -21,16 +23,29 @@ import jakarta.servlet.http.HttpServletResponse;
  * 1. Extrai o token JWT do header Authorization
  * 2. Valida o token
  * 3. Autentica o usuário no contexto do Spring Security
+ *
+ * Com {@code security.jwt.stateless-principal} habilitado, o principal é montado
+ * diretamente das claims (id, email e papéis) e a revogação é feita pela versão
+ * de tokens do usuário em memória, sem consultar o banco a cada requisição.
+ * Tokens antigos, sem essas claims, continuam carregando o usuário pelo banco.
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final SecurityProperties securityProperties;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(
+            JwtService jwtService,
+            UserDetailsService userDetailsService,
+            TokenVersionRegistry tokenVersionRegistry,
+            SecurityProperties securityProperties) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.securityProperties = securityProperties;
     }
 
     @Override
@@ -50,14 +65,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             // Extrai o token (remove "Bearer " do início)
             final String jwt = authHeader.substring(7);
-            final String userEmail = jwtService.extractUsername(jwt);
+            // Verifica assinatura e expiração uma única vez
+            final TokenClaims claims = jwtService.verificarToken(jwt);
+            final String userEmail = claims.subject();
 
-            // Se extraiu o email e o usuário ainda não está autenticado
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            // Se extraiu o email e o usuário ainda não está autenticado (refresh token não autentica requisições)
+            if (userEmail != null && !claims.isRefresh() && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = carregarPrincipal(claims);
 
                 // Valida o token
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (userDetails != null && jwtService.isTokenValid(claims, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -76,4 +93,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Monta o principal pelas claims quando possível; caso contrário carrega do banco.
+     * Retorna null se os tokens do usuário foram invalidados (desativação, troca de papel etc.)
+     */
+    private UserDetails carregarPrincipal(TokenClaims claims) {
+        if (securityProperties.getJwt().isStatelessPrincipal() && claims.possuiIdentidadeCompleta()) {
+            if (claims.versao() != tokenVersionRegistry.versaoAtual(claims.usuarioId())) {
+                return null;
+            }
+            return UsuarioAutenticado.from(claims);
+        }
+        return this.userDetailsService.loadUserByUsername(claims.subject());
+    }
 }
@@ -1,9 +1,15 @@
 package com.financeiro.infrastructure.security;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import javax.crypto.SecretKey;
@@ -12,41 +18,81 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.financeiro.domain.entities.Usuario;
 import com.financeiro.infrastructure.config.SecurityProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
 /**
  * Serviço responsável por gerenciar tokens JWT:
  * - Geração de tokens de acesso e refresh
  * - Validação de tokens
- * - Extração de informações (claims)
+ * - Extração de informações (claims), sempre pelo token verificado em cache
+ *
+ * A chave de assinatura e o parser são criados uma única vez na inicialização.
+ * Tokens já verificados ficam em cache (indexados pelo SHA-256 do token) até
+ * expirarem, evitando refazer a verificação HMAC em requisições repetidas.
  */
 @Service
 public class JwtService {
 
     private final SecurityProperties securityProperties;
-
-    public JwtService(SecurityProperties securityProperties) {
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final SecretKey signInKey;
+    private final JwtParser jwtParser;
+    private final Cache<String, TokenClaims> tokensVerificados;
+
+    public JwtService(
+            SecurityProperties securityProperties,
+            TokenVersionRegistry tokenVersionRegistry,
+            MeterRegistry meterRegistry) {
         this.securityProperties = securityProperties;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.signInKey = criarChaveAssinatura(securityProperties.getJwt().getSecretKey());
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signInKey)
+                .build();
+        this.tokensVerificados = Caffeine.newBuilder()
+                .maximumSize(securityProperties.getJwt().getVerifiedTokenCacheSize())
+                .expireAfter(new ExpiracaoPeloToken())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tokensVerificados, "jwt.tokens-verificados");
     }
 
     /**
-     * Extrai o email (username) do token JWT
+     * Verifica a assinatura e a expiração do token uma única vez e devolve as claims.
+     * Tokens repetidos são atendidos pelo cache sem nenhuma operação criptográfica.
+     *
+     * @throws io.jsonwebtoken.JwtException se o token for inválido ou estiver expirado
      */
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    public TokenClaims verificarToken(String token) {
+        String digest = calcularDigest(token);
+
+        TokenClaims emCache = tokensVerificados.getIfPresent(digest);
+        if (emCache != null && !emCache.isExpirado()) {
+            return emCache;
+        }
+
+        TokenClaims verificado = TokenClaims.from(extractAllClaims(token));
+        tokensVerificados.put(digest, verificado);
+        return verificado;
     }
 
     /**
-     * Extrai uma claim específica do token
+     * Extrai o email (username) do token JWT
      */
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    public String extractUsername(String token) {
+        return verificarToken(token).subject();
     }
 
     /**
@@ -64,10 +110,21 @@ public class JwtService {
     }
 
     /**
-     * Gera um refresh token (com validade maior)
+     * Gera um refresh token (com validade maior) identificado pelo jti informado.
+     * A emissão deve passar pelo {@link RefreshTokenService}, que registra o jti para rotação/revogação.
      */
-    public String generateRefreshToken(UserDetails userDetails) {
-        return buildToken(new HashMap<>(), userDetails, securityProperties.getJwt().getRefreshExpirationTime());
+    String generateRefreshToken(UserDetails userDetails, UUID jti, Date emitidoEm, Date expiraEm) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(TokenClaims.CLAIM_TIPO, TokenClaims.TIPO_REFRESH);
+        adicionarAuthorities(claims, userDetails);
+        return Jwts.builder()
+                .claims(claims)
+                .id(jti.toString())
+                .subject(userDetails.getUsername())
+                .issuedAt(emitidoEm)
+                .expiration(expiraEm)
+                .signWith(signInKey)
+                .compact();
     }
 
     /**
@@ -77,59 +134,107 @@ public class JwtService {
             Map<String, Object> extraClaims,
             UserDetails userDetails,
             long expiration) {
-        
-        // Adiciona as authorities/roles no token JWT
-        extraClaims.put("authorities", userDetails.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.toList()));
-        
+
+        adicionarAuthorities(extraClaims, userDetails);
+
+        // Id do usuário e versão vigente dos tokens permitem montar o principal sem consultar o banco
+        if (userDetails instanceof Usuario usuario && usuario.getId() != null) {
+            extraClaims.put(TokenClaims.CLAIM_USUARIO_ID, usuario.getId().toString());
+            extraClaims.put(TokenClaims.CLAIM_VERSAO, versaoDoToken(usuario));
+        }
+
         return Jwts.builder()
                 .claims(extraClaims)
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey())
+                .signWith(signInKey)
                 .compact();
     }
 
     /**
-     * Valida se o token é válido para o usuário
+     * Versão gravada junto com o papel lido do banco: durante uma alteração ainda não commitada,
+     * o token sai com a versão e o papel anteriores e é recusado assim que a nova versão é publicada
      */
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    private int versaoDoToken(Usuario usuario) {
+        return usuario.getVersaoToken() != null ? usuario.getVersaoToken() : tokenVersionRegistry.versaoAtual(usuario.getId());
     }
 
     /**
-     * Verifica se o token expirou
+     * Adiciona as authorities/roles no token JWT
      */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private static void adicionarAuthorities(Map<String, Object> claims, UserDetails userDetails) {
+        claims.put("authorities", userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Valida se o token é válido para o usuário
+     */
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        return isTokenValid(verificarToken(token), userDetails);
     }
 
     /**
-     * Extrai a data de expiração do token
+     * Valida claims já verificadas contra o usuário (sem reprocessar o token)
      */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public boolean isTokenValid(TokenClaims claims, UserDetails userDetails) {
+        return claims.subject() != null
+                && claims.subject().equals(userDetails.getUsername())
+                && !claims.isExpirado();
     }
 
     /**
-     * Extrai todas as claims do token
+     * Extrai todas as claims do token (verifica assinatura e expiração)
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
+        return jwtParser
                 .parseSignedClaims(token)
                 .getPayload();
     }
 
     /**
-     * Obtém a chave de assinatura do token
+     * Cria a chave de assinatura do token a partir do segredo configurado
      */
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(securityProperties.getJwt().getSecretKey());
+    private static SecretKey criarChaveAssinatura(String secretKey) {
+        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
         return Keys.hmacShaKeyFor(keyBytes);
     }
+
+    /**
+     * SHA-256 do token: usado como chave do cache para não manter tokens em claro na memória
+     */
+    private static String calcularDigest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível na JVM", e);
+        }
+    }
+
+    /**
+     * Cada entrada do cache expira junto com o próprio token
+     */
+    private static final class ExpiracaoPeloToken implements Expiry<String, TokenClaims> {
+
+        @Override
+        public long expireAfterCreate(String digest, TokenClaims claims, long currentTime) {
+            if (claims.expiration() == null) {
+                return 0;
+            }
+            return Math.max(0, Duration.between(Instant.now(), claims.expiration()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, TokenClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String digest, TokenClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
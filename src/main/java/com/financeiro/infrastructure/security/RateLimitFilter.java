@@ -0,0 +1,88 @@
+package com.financeiro.infrastructure.security;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.financeiro.infrastructure.config.SecurityProperties;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Filtro de rate limit, executado logo após o {@link JwtAuthenticationFilter}
+ * (o usuário autenticado já é conhecido e pode ser usado como chave).
+ *
+ * Responde com os headers X-RateLimit-Limit / X-RateLimit-Remaining / X-RateLimit-Reset e,
+ * quando o limite é excedido, 429 com Retry-After.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final boolean habilitado;
+
+    public RateLimitFilter(RateLimiter rateLimiter, SecurityProperties securityProperties) {
+        this.rateLimiter = rateLimiter;
+        this.habilitado = securityProperties.getRateLimit().isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        RateLimiter.GrupoLimite grupo = habilitado ? rateLimiter.grupoDa(caminho(request)) : null;
+        if (grupo == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RateLimiter.Decisao decisao = grupo.consumir(chave(grupo, request));
+
+        response.setHeader("X-RateLimit-Limit", String.valueOf(decisao.limite()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(decisao.restantes()));
+        response.setHeader("X-RateLimit-Reset", String.valueOf(decisao.resetSegundos()));
+
+        if (!decisao.permitida()) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, decisao.retryAfterSegundos())));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            response.getWriter().write("{\"erro\":\"Muitas requisições, tente novamente em instantes\"}");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Chave do bucket: email do usuário autenticado (grupos por USUARIO) ou IP do cliente
+     */
+    private static String chave(RateLimiter.GrupoLimite grupo, HttpServletRequest request) {
+        if (grupo.chave() == SecurityProperties.Chave.USUARIO) {
+            Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+            if (autenticacao != null && autenticacao.isAuthenticated()
+                    && !(autenticacao instanceof AnonymousAuthenticationToken)) {
+                return "u:" + autenticacao.getName();
+            }
+        }
+        // Atrás de proxy, o IP real depende de server.forward-headers-strategy
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static String caminho(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
@@ -0,0 +1,159 @@
+package com.financeiro.infrastructure.security;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import com.financeiro.infrastructure.config.SecurityProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Limites de requisições por grupo de rotas, com um bucket por chave (email ou IP).
+ *
+ * Cada bucket usa GCRA (generic cell rate algorithm): o estado inteiro é um único AtomicLong com o
+ * "theoretical arrival time", atualizado por CAS, sem locks. É equivalente a um token bucket de
+ * capacidade N recarregado continuamente a N requisições por período.
+ *
+ * Os buckets de cada grupo ficam num ConcurrentHashMap (segmentado internamente por chave).
+ * Um bucket cujo TAT já passou está totalmente recarregado e pode ser descartado sem perda de estado.
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final List<GrupoLimite> grupos = new ArrayList<>();
+    private final long ociosoNanos;
+
+    public RateLimiter(SecurityProperties securityProperties, MeterRegistry meterRegistry) {
+        SecurityProperties.RateLimit config = securityProperties.getRateLimit();
+        this.ociosoNanos = config.getIdleEviction().toNanos();
+        config.getGrupos().forEach((nome, grupo) -> grupos.add(new GrupoLimite(nome, grupo, meterRegistry)));
+    }
+
+    /**
+     * Grupo da rota (primeiro que casar, na ordem configurada) ou null se a rota não é limitada
+     */
+    public GrupoLimite grupoDa(String caminho) {
+        for (GrupoLimite grupo : grupos) {
+            if (grupo.casaCom(caminho)) {
+                return grupo;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * JOB: descarta buckets ociosos (TAT no passado há mais que idle-eviction)
+     */
+    @Scheduled(fixedDelay = 60, timeUnit = TimeUnit.SECONDS)
+    public void descartarOciosos() {
+        long limite = System.nanoTime() - ociosoNanos;
+        int removidos = 0;
+        for (GrupoLimite grupo : grupos) {
+            int antes = grupo.buckets.size();
+            grupo.buckets.values().removeIf(bucket -> bucket.tat.get() < limite);
+            removidos += antes - grupo.buckets.size();
+        }
+        if (removidos > 0) {
+            log.debug("Rate limit: {} bucket(s) ocioso(s) descartado(s)", removidos);
+        }
+    }
+
+    /**
+     * Resultado de uma tentativa de consumo
+     */
+    public record Decisao(boolean permitida, long limite, long restantes, long resetSegundos, long retryAfterSegundos) {
+    }
+
+    public static final class GrupoLimite {
+
+        private final String nome;
+        private final List<String> padroes;
+        private final SecurityProperties.Chave chave;
+        private final long capacidade;
+        private final long intervaloNanos;
+        private final long toleranciaNanos;
+        private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+        private final Counter permitidas;
+        private final Counter bloqueadas;
+
+        GrupoLimite(String nome, SecurityProperties.Grupo config, MeterRegistry meterRegistry) {
+            this.nome = nome;
+            this.padroes = List.copyOf(config.getPadroes());
+            this.chave = config.getChave();
+            this.capacidade = config.getCapacidade();
+            this.intervaloNanos = Math.max(1, config.getPeriodo().toNanos() / config.getCapacidade());
+            this.toleranciaNanos = intervaloNanos * config.getCapacidade();
+            this.permitidas = Counter.builder("ratelimit.requisicoes")
+                    .tag("grupo", nome).tag("resultado", "permitida").register(meterRegistry);
+            this.bloqueadas = Counter.builder("ratelimit.requisicoes")
+                    .tag("grupo", nome).tag("resultado", "bloqueada").register(meterRegistry);
+            Gauge.builder("ratelimit.buckets", buckets, Map::size).tag("grupo", nome).register(meterRegistry);
+        }
+
+        public String nome() {
+            return nome;
+        }
+
+        public SecurityProperties.Chave chave() {
+            return chave;
+        }
+
+        boolean casaCom(String caminho) {
+            for (String padrao : padroes) {
+                if (PATH_MATCHER.match(padrao, caminho)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Consome uma requisição do bucket da chave (GCRA com CAS)
+         */
+        public Decisao consumir(String chaveBucket) {
+            Bucket bucket = buckets.computeIfAbsent(chaveBucket, k -> new Bucket());
+            long agora = System.nanoTime();
+
+            while (true) {
+                long tatAtual = bucket.tat.get();
+                long tat = Math.max(tatAtual, agora);
+                long novoTat = tat + intervaloNanos;
+                long ocupado = novoTat - agora;
+
+                if (ocupado > toleranciaNanos) {
+                    bloqueadas.increment();
+                    long espera = ocupado - toleranciaNanos;
+                    return new Decisao(false, capacidade, 0, segundos(tat - agora), segundos(espera));
+                }
+                if (bucket.tat.compareAndSet(tatAtual, novoTat)) {
+                    permitidas.increment();
+                    long restantes = (toleranciaNanos - ocupado) / intervaloNanos;
+                    return new Decisao(true, capacidade, restantes, segundos(ocupado), 0);
+                }
+            }
+        }
+
+        private static long segundos(long nanos) {
+            return Math.max(0, (nanos + 999_999_999L) / 1_000_000_000L);
+        }
+    }
+
+    private static final class Bucket {
+        // Theoretical arrival time (System.nanoTime): bucket cheio quando tat <= agora
+        private final AtomicLong tat = new AtomicLong(Long.MIN_VALUE / 2);
+    }
+}
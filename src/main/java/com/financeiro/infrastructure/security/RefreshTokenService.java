@@ -0,0 +1,229 @@
+package com.financeiro.infrastructure.security;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.financeiro.domain.entities.RefreshToken;
+import com.financeiro.domain.entities.Usuario;
+import com.financeiro.infrastructure.config.SecurityProperties;
+import com.financeiro.repository.RefreshTokenRepository;
+
+import io.jsonwebtoken.JwtException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Emissão, rotação e revogação de refresh tokens.
+ *
+ * - Cada refresh token tem um jti registrado na tabela refresh_tokens
+ * - Cada uso revoga o token apresentado e emite um novo (rotação)
+ * - Reapresentar um token já revogado indica vazamento: todos os tokens do usuário são revogados
+ * - Revogações ficam no {@link RevokedRefreshTokenIndex}, reconstruído do banco na inicialização.
+ *   O índice responde antes de qualquer acesso ao banco: um token revogado é recusado na rotação
+ *   sem carregar o usuário nem tentar o UPDATE, e o logout de um token já revogado nem abre
+ *   transação. Para os demais, o UPDATE condicional continua sendo a palavra final.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private final JwtService jwtService;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RevokedRefreshTokenIndex revokedIndex;
+    private final UserDetailsService userDetailsService;
+    private final SecurityProperties securityProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    public RefreshTokenService(
+            JwtService jwtService,
+            RefreshTokenRepository refreshTokenRepository,
+            RevokedRefreshTokenIndex revokedIndex,
+            UserDetailsService userDetailsService,
+            SecurityProperties securityProperties,
+            PlatformTransactionManager transactionManager) {
+        this.jwtService = jwtService;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.revokedIndex = revokedIndex;
+        this.userDetailsService = userDetailsService;
+        this.securityProperties = securityProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Resultado da rotação: usuário dono do token e o novo refresh token
+     */
+    public record Rotacao(Usuario usuario, String refreshToken) {
+    }
+
+    /**
+     * Emite e registra um novo refresh token para o usuário
+     */
+    @Transactional
+    public String emitir(Usuario usuario) {
+        return emitir(usuario, UUID.randomUUID());
+    }
+
+    /**
+     * Troca o refresh token apresentado por um novo.
+     * Falhas de validação lançam 401; a revogação em massa por reuso é mantida mesmo com a exceção.
+     */
+    @Transactional(noRollbackFor = ResponseStatusException.class)
+    public Rotacao rotacionar(String refreshToken) {
+        TokenClaims claims = verificarRefreshToken(refreshToken);
+
+        if (revokedIndex.isRevogado(claims.jti())) {
+            throw reusoDetectado(claims.jti());
+        }
+
+        Usuario usuario = (Usuario) userDetailsService.loadUserByUsername(claims.subject());
+
+        UUID novoJti = UUID.randomUUID();
+        if (refreshTokenRepository.revogarSeAtivo(claims.jti(), novoJti, LocalDateTime.now()) == 0) {
+            throw reusoDetectado(claims.jti());
+        }
+        registrarRevogacaoAposCommit(claims.jti(), claims.expiration());
+
+        return new Rotacao(usuario, emitir(usuario, novoJti));
+    }
+
+    /**
+     * Logout: revoga o refresh token apresentado (idempotente).
+     * Token já no índice (logout repetido, token já rotacionado): nada a gravar, sem transação.
+     */
+    public void revogar(String refreshToken) {
+        TokenClaims claims = verificarRefreshToken(refreshToken);
+        if (revokedIndex.isRevogado(claims.jti())) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (refreshTokenRepository.revogarSeAtivo(claims.jti(), null, LocalDateTime.now()) > 0) {
+                registrarRevogacaoAposCommit(claims.jti(), claims.expiration());
+            }
+        });
+    }
+
+    /**
+     * Revoga todos os refresh tokens ativos do usuário (reset de senha, desativação, exclusão, reuso)
+     */
+    @Transactional
+    public void revogarTodos(UUID usuarioId) {
+        LocalDateTime agora = LocalDateTime.now();
+        List<RefreshToken> ativos = refreshTokenRepository.findAtivosByUsuarioId(usuarioId, agora);
+        refreshTokenRepository.revogarTodosDoUsuario(usuarioId, agora);
+        for (RefreshToken ativo : ativos) {
+            registrarRevogacaoAposCommit(ativo.getJti(), paraInstant(ativo.getExpiraEm()));
+        }
+        if (!ativos.isEmpty()) {
+            log.info("{} refresh token(s) revogado(s) do usuário {}", ativos.size(), usuarioId);
+        }
+    }
+
+    /**
+     * Carrega o índice de revogados a partir do banco
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarIndice() {
+        reconstruirIndice();
+        log.info("Índice de refresh tokens revogados carregado: {} jti(s)", revokedIndex.tamanho());
+    }
+
+    /**
+     * JOB diário: remove tokens expirados da tabela e do índice em memória
+     */
+    @Scheduled(cron = "0 30 3 * * *")
+    @Transactional
+    public void removerExpirados() {
+        int removidos = refreshTokenRepository.deleteExpirados(LocalDateTime.now());
+        reconstruirIndice();
+        log.info("Refresh tokens expirados removidos: {} (índice com {} revogado(s))", removidos, revokedIndex.tamanho());
+    }
+
+    private void reconstruirIndice() {
+        revokedIndex.reconstruir(() -> refreshTokenRepository.findRevogadosVigentes(LocalDateTime.now()).stream()
+                .collect(Collectors.toMap(RefreshToken::getJti, token -> paraInstant(token.getExpiraEm()))));
+    }
+
+    private String emitir(Usuario usuario, UUID jti) {
+        Instant emitidoEm = Instant.now();
+        Instant expiraEm = emitidoEm.plusMillis(securityProperties.getJwt().getRefreshExpirationTime());
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .jti(jti)
+                .usuarioId(usuario.getId())
+                .emitidoEm(paraLocalDateTime(emitidoEm))
+                .expiraEm(paraLocalDateTime(expiraEm))
+                .build());
+
+        return jwtService.generateRefreshToken(usuario, jti, Date.from(emitidoEm), Date.from(expiraEm));
+    }
+
+    /**
+     * Verifica assinatura/expiração e exige um refresh token com jti
+     * (tokens emitidos antes da rotação não têm jti e exigem novo login)
+     */
+    private TokenClaims verificarRefreshToken(String refreshToken) {
+        TokenClaims claims;
+        try {
+            claims = jwtService.verificarToken(refreshToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token expirado ou inválido");
+        }
+        if (!claims.isRefresh() || claims.jti() == null || claims.subject() == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token inválido");
+        }
+        return claims;
+    }
+
+    /**
+     * Token já usado (ou revogado) reapresentado: revoga toda a família de tokens do usuário
+     */
+    private ResponseStatusException reusoDetectado(UUID jti) {
+        refreshTokenRepository.findById(jti).ifPresent(token -> {
+            log.warn("Reuso de refresh token revogado (jti {}), revogando todos os tokens do usuário {}",
+                    jti, token.getUsuarioId());
+            revogarTodos(token.getUsuarioId());
+        });
+        return new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token revogado");
+    }
+
+    /**
+     * O índice só recebe a revogação depois do commit, para nunca marcar como revogado algo que sofreu rollback
+     */
+    private void registrarRevogacaoAposCommit(UUID jti, Instant expiraEm) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            revokedIndex.adicionar(jti, expiraEm);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                revokedIndex.adicionar(jti, expiraEm);
+            }
+        });
+    }
+
+    private static LocalDateTime paraLocalDateTime(Instant instante) {
+        return LocalDateTime.ofInstant(instante, ZoneId.systemDefault());
+    }
+
+    private static Instant paraInstant(LocalDateTime dataHora) {
+        return dataHora.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
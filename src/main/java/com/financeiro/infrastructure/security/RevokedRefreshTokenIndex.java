@@ -0,0 +1,161 @@
+package com.financeiro.infrastructure.security;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import com.financeiro.infrastructure.config.SecurityProperties;
+
+/**
+ * Índice em memória dos jtis de refresh tokens revogados (e ainda não expirados).
+ *
+ * Consulta em tempo constante e sem alocação: um Bloom filter responde "certamente não revogado"
+ * para a grande maioria dos tokens, e só os positivos consultam o conjunto exato.
+ *
+ * O Bloom filter só aceita inserções; a remoção dos expirados acontece em {@link #reconstruir},
+ * que monta um índice novo (a partir do banco) e o troca atomicamente. As revogações registradas
+ * enquanto o banco é lido são guardadas à parte e aplicadas ao índice novo na troca.
+ */
+@Component
+public class RevokedRefreshTokenIndex {
+
+    private static final double TAXA_FALSOS_POSITIVOS = 0.01;
+
+    private final int capacidadeEsperada;
+    private final Object reconstrucao = new Object();
+    private volatile Estado estado;
+    // Revogações recebidas durante uma reconstrução em andamento (null fora dela)
+    private Map<UUID, Instant> pendentes;
+
+    public RevokedRefreshTokenIndex(SecurityProperties securityProperties) {
+        this.capacidadeEsperada = securityProperties.getJwt().getRevokedRefreshIndexSize();
+        this.estado = new Estado(new BloomFilter(capacidadeEsperada, TAXA_FALSOS_POSITIVOS), new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Indica se o jti foi revogado
+     */
+    public boolean isRevogado(UUID jti) {
+        Estado atual = estado;
+        return atual.bloom().mightContain(jti) && atual.revogados().containsKey(jti);
+    }
+
+    /**
+     * Registra uma revogação (mantida até a expiração do token)
+     */
+    public synchronized void adicionar(UUID jti, Instant expiraEm) {
+        Estado atual = estado;
+        // Conjunto exato antes do filtro: quem vê o bit ligado encontra o jti no conjunto
+        atual.revogados().put(jti, expiraEm);
+        atual.bloom().add(jti);
+        if (pendentes != null) {
+            pendentes.put(jti, expiraEm);
+        }
+    }
+
+    /**
+     * Monta um novo índice com os revogados vigentes lidos do banco e troca o atual.
+     * A leitura acontece fora do lock de {@link #adicionar}; o que for adicionado entre o início da
+     * leitura e a troca (commits que a consulta pode não ter visto) entra no índice novo.
+     */
+    public void reconstruir(Supplier<Map<UUID, Instant>> leituraDoBanco) {
+        synchronized (reconstrucao) {
+            synchronized (this) {
+                pendentes = new HashMap<>();
+            }
+            try {
+                Map<UUID, Instant> revogadosDoBanco = leituraDoBanco.get();
+                trocar(revogadosDoBanco);
+            } finally {
+                synchronized (this) {
+                    pendentes = null;
+                }
+            }
+        }
+    }
+
+    private synchronized void trocar(Map<UUID, Instant> revogadosDoBanco) {
+        Instant agora = Instant.now();
+        Map<UUID, Instant> revogados = new ConcurrentHashMap<>(revogadosDoBanco);
+        revogados.putAll(pendentes);
+        revogados.values().removeIf(expiraEm -> !expiraEm.isAfter(agora));
+
+        BloomFilter bloom = new BloomFilter(Math.max(capacidadeEsperada, revogados.size()), TAXA_FALSOS_POSITIVOS);
+        revogados.keySet().forEach(bloom::add);
+        estado = new Estado(bloom, revogados);
+    }
+
+    /**
+     * Quantidade de jtis revogados no índice
+     */
+    public int tamanho() {
+        return estado.revogados().size();
+    }
+
+    private record Estado(BloomFilter bloom, Map<UUID, Instant> revogados) {
+    }
+
+    /**
+     * Bloom filter sobre os 128 bits do UUID, com bits em AtomicLongArray (inserções concorrentes via CAS).
+     * As k posições vêm de double hashing das duas metades do UUID.
+     */
+    private static final class BloomFilter {
+
+        private final AtomicLongArray palavras;
+        private final long quantidadeBits;
+        private final int quantidadeHashes;
+
+        BloomFilter(int capacidade, double taxaFalsosPositivos) {
+            double ln2 = Math.log(2);
+            long bits = (long) Math.ceil(-capacidade * Math.log(taxaFalsosPositivos) / (ln2 * ln2));
+            int palavrasNecessarias = (int) Math.max(1, (bits + 63) / 64);
+            this.palavras = new AtomicLongArray(palavrasNecessarias);
+            this.quantidadeBits = palavrasNecessarias * 64L;
+            this.quantidadeHashes = Math.max(1, (int) Math.round((double) quantidadeBits / capacidade * ln2));
+        }
+
+        void add(UUID jti) {
+            long h1 = misturar(jti.getMostSignificantBits());
+            long h2 = misturar(jti.getLeastSignificantBits()) | 1;
+            for (int i = 0; i < quantidadeHashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, quantidadeBits);
+                int indice = (int) (bit >>> 6);
+                long mascara = 1L << bit;
+                long atual;
+                do {
+                    atual = palavras.get(indice);
+                } while ((atual & mascara) == 0 && !palavras.compareAndSet(indice, atual, atual | mascara));
+            }
+        }
+
+        boolean mightContain(UUID jti) {
+            long h1 = misturar(jti.getMostSignificantBits());
+            long h2 = misturar(jti.getLeastSignificantBits()) | 1;
+            for (int i = 0; i < quantidadeHashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, quantidadeBits);
+                if ((palavras.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Finalizador do MurmurHash3 (fmix64): espalha os bits de cada metade do UUID
+         */
+        private static long misturar(long valor) {
+            valor ^= valor >>> 33;
+            valor *= 0xff51afd7ed558ccdL;
+            valor ^= valor >>> 33;
+            valor *= 0xc4ceb9fe1a85ec53L;
+            valor ^= valor >>> 33;
+            return valor;
+        }
+    }
+}
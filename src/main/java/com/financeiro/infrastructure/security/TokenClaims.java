@@ -0,0 +1,80 @@
+package com.financeiro.infrastructure.security;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Claims de um token JWT cuja assinatura já foi verificada.
+ * Imutável, pode ser compartilhado entre requisições pelo cache do {@link JwtService}.
+ */
+public record TokenClaims(
+        String subject,
+        UUID usuarioId,
+        Integer versao,
+        UUID jti,
+        String tipo,
+        List<String> authorities,
+        Instant issuedAt,
+        Instant expiration) {
+
+    static final String CLAIM_USUARIO_ID = "uid";
+    static final String CLAIM_VERSAO = "ver";
+    static final String CLAIM_TIPO = "tipo";
+    static final String TIPO_REFRESH = "refresh";
+
+    /**
+     * Converte as claims do jjwt para a representação imutável
+     */
+    static TokenClaims from(Claims claims) {
+        return new TokenClaims(
+                claims.getSubject(),
+                extrairUuid(claims.get(CLAIM_USUARIO_ID)),
+                extrairVersao(claims.get(CLAIM_VERSAO)),
+                extrairUuid(claims.getId()),
+                claims.get(CLAIM_TIPO, String.class),
+                extrairAuthorities(claims.get("authorities")),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+    }
+
+    /**
+     * Verifica se o token já passou da data de expiração
+     */
+    public boolean isExpirado() {
+        return expiration != null && !Instant.now().isBefore(expiration);
+    }
+
+    /**
+     * Refresh tokens só servem para /api/auth/refresh, nunca como token de acesso
+     */
+    public boolean isRefresh() {
+        return TIPO_REFRESH.equals(tipo);
+    }
+
+    /**
+     * Indica se o token traz as claims necessárias para montar o principal sem consultar o banco
+     * (tokens emitidos antes da inclusão de "uid"/"ver" não trazem)
+     */
+    public boolean possuiIdentidadeCompleta() {
+        return subject != null && usuarioId != null && versao != null;
+    }
+
+    private static UUID extrairUuid(Object valor) {
+        return valor != null ? UUID.fromString(valor.toString()) : null;
+    }
+
+    private static Integer extrairVersao(Object versao) {
+        return versao instanceof Number numero ? numero.intValue() : null;
+    }
+
+    private static List<String> extrairAuthorities(Object authorities) {
+        if (authorities instanceof Collection<?> colecao) {
+            return colecao.stream().map(String::valueOf).toList();
+        }
+        return List.of();
+    }
+}
@@ -0,0 +1,80 @@
+package com.financeiro.infrastructure.security;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.financeiro.domain.entities.Usuario;
+import com.financeiro.repository.UsuarioRepository;
+import com.financeiro.repository.projection.VersaoTokenUsuario;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Versão dos tokens de cada usuário: persistida em usuarios.versao_token e espelhada em memória.
+ *
+ * Todo token emitido carrega a versão gravada no usuário (claim "ver"). Quando o usuário
+ * tem email, senha, papel ou status ativo alterados, a versão é incrementada na mesma
+ * gravação, e tokens emitidos antes disso deixam de ser aceitos pelo filtro JWT sem que
+ * seja preciso consultar o banco a cada requisição.
+ *
+ * O mapa é carregado do banco na criação do bean (antes de o servidor aceitar requisições)
+ * e só recebe a versão nova depois do commit: até lá, o banco e os tokens emitidos
+ * continuam na versão anterior, coerentes com o papel ainda gravado.
+ * Cada instância conhece apenas as alterações feitas nela desde a inicialização.
+ */
+@Slf4j
+@Component
+public class TokenVersionRegistry {
+
+    private final Map<UUID, Integer> versoes = new ConcurrentHashMap<>();
+
+    public TokenVersionRegistry(UsuarioRepository usuarioRepository) {
+        List<VersaoTokenUsuario> alteradas = usuarioRepository.findVersoesTokenAlteradas();
+        alteradas.forEach(v -> versoes.put(v.id(), v.versaoToken()));
+        log.info("Versão de tokens inicializada: {} usuário(s) com tokens invalidados", alteradas.size());
+    }
+
+    /**
+     * Versão vigente dos tokens do usuário (0 se nunca foi alterada)
+     */
+    public int versaoAtual(UUID usuarioId) {
+        return versoes.getOrDefault(usuarioId, 0);
+    }
+
+    /**
+     * Invalida todos os tokens já emitidos para o usuário: incrementa a versão na entidade,
+     * gravada no mesmo UPDATE das demais alterações, e a publica em memória após o commit.
+     * Deve ser chamado dentro da transação que grava o usuário.
+     */
+    public void invalidarTokens(Usuario usuario) {
+        int novaVersao = (usuario.getVersaoToken() == null ? 0 : usuario.getVersaoToken()) + 1;
+        usuario.setVersaoToken(novaVersao);
+        aposCommit(() -> versoes.merge(usuario.getId(), novaVersao, Math::max));
+    }
+
+    /**
+     * Usuário removido: nenhum token dele volta a ser aceito nesta instância
+     */
+    public void descartarUsuario(UUID usuarioId) {
+        aposCommit(() -> versoes.put(usuarioId, Integer.MAX_VALUE));
+    }
+
+    private static void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+}
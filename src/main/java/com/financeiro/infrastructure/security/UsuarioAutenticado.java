@@ -0,0 +1,64 @@
+package com.financeiro.infrastructure.security;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Principal leve montado apenas a partir das claims do JWT (id, email e papéis),
+ * usado quando o filtro opera sem consultar o banco a cada requisição.
+ */
+public record UsuarioAutenticado(
+        UUID id,
+        String email,
+        List<GrantedAuthority> authorities) implements UserDetails {
+
+    /**
+     * Monta o principal a partir de claims já verificadas
+     */
+    public static UsuarioAutenticado from(TokenClaims claims) {
+        List<GrantedAuthority> authorities = claims.authorities().stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+        return new UsuarioAutenticado(claims.usuarioId(), claims.subject(), authorities);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -15,7 +16,10 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.financeiro.application.services.UsuarioIdentidadeCache;
 import com.financeiro.domain.entities.Usuario;
+import com.financeiro.infrastructure.security.RefreshTokenService;
+import com.financeiro.infrastructure.security.TokenVersionRegistry;
 import com.financeiro.repository.UsuarioRepository;
 
 /**
@@ -34,12 +38,22 @@ public class AdminUtilController {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UsuarioIdentidadeCache usuarioIdentidadeCache;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
     /**
      * Endpoint para resetar senha do admin
      * URL: POST /api/admin/reset-password
      * Body: { "email": "admin@financeiro.com", "novaSenha": "password" }
      */
     @PostMapping("/reset-password")
+    @Transactional
     public ResponseEntity<?> resetPassword(@RequestBody Map<String, String> request) {
         String email = request.get("email");
         String novaSenha = request.get("novaSenha");
@@ -59,8 +73,14 @@ public class AdminUtilController {
         usuario.setSenha(senhaHasheada);
         usuario.setAtivo(true);
         usuario.setDataAtualizacao(LocalDateTime.now());
+        // Senha nova: tokens de acesso emitidos com a senha antiga deixam de valer (mesmo UPDATE)
+        tokenVersionRegistry.invalidarTokens(usuario);
         
         usuarioRepository.save(usuario);
+        // Reset reativa o usuário: descarta a identidade em cache (ativo=false)
+        usuarioIdentidadeCache.invalidar(email);
+        // Senha nova: sessões abertas com a senha antiga não podem mais renovar o token
+        refreshTokenService.revogarTodos(usuario.getId());
 
         Map<String, Object> response = new HashMap<>();
         response.put("sucesso", true);
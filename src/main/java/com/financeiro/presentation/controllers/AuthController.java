@@ -9,7 +9,9 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.financeiro.application.services.UsuarioService;
 import com.financeiro.domain.entities.Usuario;
+import com.financeiro.infrastructure.security.UsuarioAutenticado;
 import com.financeiro.presentation.dto.usuario.UsuarioResponse;
 
 /**
@@ -19,6 +21,12 @@ import com.financeiro.presentation.dto.usuario.UsuarioResponse;
 @RequestMapping("/api/me")
 public class AuthController {
 
+    private final UsuarioService usuarioService;
+
+    public AuthController(UsuarioService usuarioService) {
+        this.usuarioService = usuarioService;
+    }
+
     @GetMapping
     public ResponseEntity<UsuarioResponse> getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -29,6 +37,13 @@ public class AuthController {
             return ResponseEntity.ok(response);
         }
         
+        // Principal montado apenas pelas claims do token: carrega os dados completos do banco
+        if (authentication != null && authentication.getPrincipal() instanceof UsuarioAutenticado autenticado) {
+            return usuarioService.buscarPorId(autenticado.id())
+                    .map(usuario -> ResponseEntity.ok(UsuarioResponse.fromEntity(usuario)))
+                    .orElse(ResponseEntity.notFound().build());
+        }
+        
         return ResponseEntity.notFound().build();
     }
 
@@ -1,22 +1,26 @@
 package com.financeiro.presentation.controllers;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.financeiro.application.events.PerfilAlteradoEvent;
+import com.financeiro.application.services.UltimoAcessoBuffer;
+import com.financeiro.application.services.UsuarioIdentidadeCache;
 import com.financeiro.domain.entities.Usuario;
 import com.financeiro.infrastructure.config.SecurityProperties;
 import com.financeiro.infrastructure.security.GoogleAuthService;
 import com.financeiro.infrastructure.security.JwtService;
+import com.financeiro.infrastructure.security.RefreshTokenService;
 import com.financeiro.presentation.dto.auth.GoogleAuthRequest;
 import com.financeiro.presentation.dto.auth.LoginRequest;
 import com.financeiro.presentation.dto.auth.LoginResponse;
@@ -38,22 +42,31 @@ public class AuthenticationController {
     private final UsuarioRepository usuarioRepository;
     private final SecurityProperties securityProperties;
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
     private final GoogleAuthService googleAuthService;
+    private final RefreshTokenService refreshTokenService;
+    private final UltimoAcessoBuffer ultimoAcessoBuffer;
+    private final UsuarioIdentidadeCache usuarioIdentidadeCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AuthenticationController(
             AuthenticationManager authenticationManager,
             UsuarioRepository usuarioRepository,
             SecurityProperties securityProperties,
             JwtService jwtService,
-            UserDetailsService userDetailsService,
-            GoogleAuthService googleAuthService) {
+            GoogleAuthService googleAuthService,
+            RefreshTokenService refreshTokenService,
+            UltimoAcessoBuffer ultimoAcessoBuffer,
+            UsuarioIdentidadeCache usuarioIdentidadeCache,
+            ApplicationEventPublisher eventPublisher) {
         this.authenticationManager = authenticationManager;
         this.usuarioRepository = usuarioRepository;
         this.securityProperties = securityProperties;
         this.jwtService = jwtService;
-        this.userDetailsService = userDetailsService;
         this.googleAuthService = googleAuthService;
+        this.refreshTokenService = refreshTokenService;
+        this.ultimoAcessoBuffer = ultimoAcessoBuffer;
+        this.usuarioIdentidadeCache = usuarioIdentidadeCache;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -70,11 +83,11 @@ public class AuthenticationController {
             
             // Gera o token JWT
             String jwtToken = jwtService.generateToken(usuario);
-            String refreshToken = jwtService.generateRefreshToken(usuario);
+            String refreshToken = refreshTokenService.emitir(usuario);
             
-            // Atualiza último acesso
+            // Atualiza último acesso (gravado em lote pelo buffer, sem UPDATE no caminho do login)
             usuario.atualizarUltimoAcesso();
-            usuarioRepository.save(usuario);
+            ultimoAcessoBuffer.registrar(usuario.getId());
 
             LoginResponse response = LoginResponse.builder()
                     .usuario(UsuarioResponse.fromEntity(usuario))
@@ -90,43 +103,42 @@ public class AuthenticationController {
     }
 
     /**
-     * Endpoint para renovar o token usando o refresh token
+     * Endpoint para renovar o token usando o refresh token.
+     * O refresh token apresentado é revogado e substituído por um novo (rotação).
      */
     @PostMapping("/refresh")
     public ResponseEntity<LoginResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
         try {
-            // Extrai o email do refresh token
-            String userEmail = jwtService.extractUsername(request.getRefreshToken());
-            
-            if (userEmail == null) {
-                throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token inválido");
-            }
-
-            // Carrega o usuário
-            Usuario usuario = (Usuario) userDetailsService.loadUserByUsername(userEmail);
-            
-            // Valida o refresh token
-            if (!jwtService.isTokenValid(request.getRefreshToken(), usuario)) {
-                throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token expirado ou inválido");
-            }
+            RefreshTokenService.Rotacao rotacao = refreshTokenService.rotacionar(request.getRefreshToken());
+            Usuario usuario = rotacao.usuario();
 
-            // Gera novos tokens
+            // Gera novo token de acesso
             String newJwtToken = jwtService.generateToken(usuario);
-            String newRefreshToken = jwtService.generateRefreshToken(usuario);
 
             LoginResponse response = LoginResponse.builder()
                     .usuario(UsuarioResponse.fromEntity(usuario))
                     .token(newJwtToken)
-                    .refreshToken(newRefreshToken)
+                    .refreshToken(rotacao.refreshToken())
                     .expiresIn(securityProperties.getJwt().getExpirationTime())
                     .build();
 
             return ResponseEntity.ok(response);
+        } catch (ResponseStatusException ex) {
+            throw ex;
         } catch (Exception ex) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Erro ao renovar token: " + ex.getMessage());
         }
     }
 
+    /**
+     * Logout: revoga o refresh token informado
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequest request) {
+        refreshTokenService.revogar(request.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Endpoint para autenticação com Google OAuth
      */
@@ -144,16 +156,32 @@ public class AuthenticationController {
             // Busca ou cria o usuário
             Usuario usuario = usuarioRepository.findByEmail(email)
                     .map(u -> {
+                        boolean alterado = false;
+                        boolean fotoAlterada = false;
                         // Atualiza a foto se mudou
                         if (foto != null && !foto.equals(u.getFoto())) {
                             u.setFoto(foto);
+                            alterado = true;
+                            fotoAlterada = true;
                         }
                         // Atualiza o googleId se não estava setado
                         if (u.getGoogleId() == null) {
                             u.setGoogleId(googleId);
+                            alterado = true;
                         }
+                        // Último acesso vai pelo buffer; só grava a linha se algo mais mudou
                         u.atualizarUltimoAcesso();
-                        return usuarioRepository.save(u);
+                        ultimoAcessoBuffer.registrar(u.getId());
+                        if (!alterado) {
+                            return u;
+                        }
+                        Usuario salvo = usuarioRepository.save(u);
+                        // Foto faz parte da identidade em cache (dono embutido nas transações)
+                        usuarioIdentidadeCache.invalidar(salvo.getEmail());
+                        if (fotoAlterada) {
+                            eventPublisher.publishEvent(new PerfilAlteradoEvent(salvo.getId()));
+                        }
+                        return salvo;
                     })
                     .orElseGet(() -> {
                         // Cria novo usuário
@@ -170,7 +198,7 @@ public class AuthenticationController {
             
             // Gera tokens JWT
             String jwtToken = jwtService.generateToken(usuario);
-            String refreshToken = jwtService.generateRefreshToken(usuario);
+            String refreshToken = refreshTokenService.emitir(usuario);
             
             LoginResponse response = LoginResponse.builder()
                     .usuario(UsuarioResponse.fromEntity(usuario))
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -16,8 +17,11 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.financeiro.application.services.CategoriaService;
+import com.financeiro.application.services.UsuarioIdentidadeCache;
+import com.financeiro.application.services.VersaoDadosUsuario;
 import com.financeiro.domain.entities.Categoria;
 import com.financeiro.presentation.dto.categoria.CategoriaResponse;
 import com.financeiro.presentation.dto.categoria.CreateCategoriaRequest;
@@ -36,6 +40,8 @@ import lombok.RequiredArgsConstructor;
 public class CategoriaController {
 
     private final CategoriaService categoriaService;
+    private final UsuarioIdentidadeCache usuarioIdentidadeCache;
+    private final VersaoDadosUsuario versaoDadosUsuario;
 
     private String obterEmailUsuarioAutenticado() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -72,15 +78,27 @@ public class CategoriaController {
 
     /**
      * Listar todas as categorias ativas
+     * Responde 304 (sem consultar o banco) se If-None-Match casar com a versão atual dos dados do usuário
      */
     @GetMapping
-    public ResponseEntity<List<CategoriaResponse>> listarCategorias() {
+    public ResponseEntity<List<CategoriaResponse>> listarCategorias(WebRequest webRequest) {
         String emailUsuario = obterEmailUsuarioAutenticado();
+        String etag = usuarioIdentidadeCache.buscar(emailUsuario)
+                .map(usuario -> versaoDadosUsuario.etag(usuario.id(), "categorias"))
+                .orElse(null);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
         List<Categoria> categorias = categoriaService.listarAtivas(emailUsuario);
         List<CategoriaResponse> response = categorias.stream()
                 .map(CategoriaResponse::fromEntity)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(response);
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate());
+        if (etag != null) {
+            resposta.eTag(etag);
+        }
+        return resposta.body(response);
     }
 
     /**
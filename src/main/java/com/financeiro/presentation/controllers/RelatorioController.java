@@ -0,0 +1,54 @@
+package com.financeiro.presentation.controllers;
+
+import java.security.Principal;
+import java.time.YearMonth;
+import java.util.UUID;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.financeiro.application.services.RelatorioService;
+import com.financeiro.application.services.UsuarioIdentidadeCache;
+import com.financeiro.presentation.dto.relatorio.RelatorioCategoriasMensalResponse;
+import com.financeiro.repository.projection.UsuarioResumo;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Relatórios agregados do usuário autenticado
+ * ✅ SEGURO: Usa o email do JWT token
+ */
+@RestController
+@RequestMapping("/api/relatorios")
+@RequiredArgsConstructor
+public class RelatorioController {
+
+    private final RelatorioService relatorioService;
+    private final UsuarioIdentidadeCache usuarioIdentidadeCache;
+
+    /**
+     * Matriz meses x categorias (totais e quantidades) do período, meses no formato AAAA-MM
+     */
+    @GetMapping("/categorias-mensal")
+    public ResponseEntity<RelatorioCategoriasMensalResponse> categoriasMensal(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth inicio,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth fim,
+            Principal principal) {
+        UUID usuarioId = usuarioIdentidadeCache.buscar(principal.getName())
+                .map(UsuarioResumo::id)
+                .orElse(null);
+        if (usuarioId == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        try {
+            return ResponseEntity.ok(relatorioService.categoriasPorMes(usuarioId, inicio, fim));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
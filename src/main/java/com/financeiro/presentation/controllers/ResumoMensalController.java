@@ -0,0 +1,42 @@
+package com.financeiro.presentation.controllers;
+
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.financeiro.application.services.ResumoMensalService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Manutenção da tabela resumo_mensal (apenas ADMIN)
+ */
+@RestController
+@RequestMapping("/api/resumo-mensal")
+@RequiredArgsConstructor
+public class ResumoMensalController {
+
+    private final ResumoMensalService resumoMensalService;
+
+    /**
+     * Recalcula os rollups de todos os usuários a partir das transações
+     */
+    @PostMapping("/reconstruir")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ResumoMensalService.Reconstrucao> reconstruir() {
+        return ResponseEntity.ok(resumoMensalService.reconstruirTodos());
+    }
+
+    /**
+     * Executa agora a verificação por amostragem (a mesma do JOB diário)
+     */
+    @PostMapping("/verificar")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> verificar() {
+        return ResponseEntity.ok(Map.of("corrigidos", resumoMensalService.verificarAmostra()));
+    }
+}
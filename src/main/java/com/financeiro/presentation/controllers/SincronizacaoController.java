@@ -0,0 +1,56 @@
+package com.financeiro.presentation.controllers;
+
+import java.security.Principal;
+import java.util.UUID;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.financeiro.application.services.SincronizacaoExpiradaException;
+import com.financeiro.application.services.SincronizacaoService;
+import com.financeiro.application.services.UsuarioIdentidadeCache;
+import com.financeiro.presentation.dto.sincronizacao.SincronizacaoResponse;
+import com.financeiro.repository.projection.UsuarioResumo;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Sincronização incremental para clientes com cópia local (offline/mobile)
+ * ✅ SEGURO: Usa o email do JWT token
+ */
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+public class SincronizacaoController {
+
+    private final SincronizacaoService sincronizacaoService;
+    private final UsuarioIdentidadeCache usuarioIdentidadeCache;
+
+    /**
+     * Alterações desde o token ("desde"); sem token, todos os dados do usuário.
+     * 410 se o token for anterior às lápides retidas: o cliente deve sincronizar de novo sem token.
+     */
+    @GetMapping
+    public ResponseEntity<SincronizacaoResponse> sincronizar(
+            @RequestParam(required = false) String desde,
+            @RequestParam(required = false) Integer tamanho,
+            Principal principal) {
+        UUID usuarioId = usuarioIdentidadeCache.buscar(principal.getName())
+                .map(UsuarioResumo::id)
+                .orElse(null);
+        if (usuarioId == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        try {
+            return ResponseEntity.ok(sincronizacaoService.sincronizar(usuarioId, desde, tamanho));
+        } catch (SincronizacaoExpiradaException e) {
+            return ResponseEntity.status(e.getStatusCode()).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -4,25 +4,52 @@ import java.math.BigDecimal;
 import java.security.Principal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.UUID;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.financeiro.application.services.DataOcupadaNaSerieException;
+import com.financeiro.application.services.ExportacaoService;
+import com.financeiro.application.services.RecorrenciaService;
 import com.financeiro.application.services.TransacaoService;
+import com.financeiro.application.services.UsuarioIdentidadeCache;
+import com.financeiro.application.services.VersaoDadosUsuario;
+import com.financeiro.domain.entities.Transacao;
+import com.financeiro.domain.enums.EscopoSerie;
+import com.financeiro.domain.enums.TipoRecorrencia;
+import com.financeiro.presentation.dto.transacao.AtualizacaoSerieRequest;
 import com.financeiro.presentation.dto.transacao.CreateTransacaoRequest;
+import com.financeiro.presentation.dto.transacao.ListaTransacoesCompactaResponse;
+import com.financeiro.presentation.dto.transacao.LoteTransacoesRequest;
+import com.financeiro.presentation.dto.transacao.LoteTransacoesResponse;
+import com.financeiro.presentation.dto.transacao.PaginaTransacoesResponse;
 import com.financeiro.presentation.dto.transacao.ResumoFinanceiroResponse;
+import com.financeiro.presentation.dto.transacao.SerieSaldoResponse;
 import com.financeiro.presentation.dto.transacao.TransacaoResponse;
 import com.financeiro.presentation.dto.transacao.UpdateTransacaoRequest;
+import com.financeiro.repository.FiltroTransacoes;
+import com.financeiro.repository.projection.UsuarioResumo;
 
 import jakarta.validation.Valid;
 
@@ -36,25 +63,96 @@ import jakarta.validation.Valid;
 public class TransacaoController {
 
     private final TransacaoService transacaoService;
+    private final ExportacaoService exportacaoService;
+    private final RecorrenciaService recorrenciaService;
+    private final UsuarioIdentidadeCache usuarioIdentidadeCache;
+    private final VersaoDadosUsuario versaoDadosUsuario;
 
-    public TransacaoController(TransacaoService transacaoService) {
+    public TransacaoController(
+            TransacaoService transacaoService,
+            ExportacaoService exportacaoService,
+            RecorrenciaService recorrenciaService,
+            UsuarioIdentidadeCache usuarioIdentidadeCache,
+            VersaoDadosUsuario versaoDadosUsuario) {
         this.transacaoService = transacaoService;
+        this.exportacaoService = exportacaoService;
+        this.recorrenciaService = recorrenciaService;
+        this.usuarioIdentidadeCache = usuarioIdentidadeCache;
+        this.versaoDadosUsuario = versaoDadosUsuario;
     }
 
     /**
-     * Lista todas as transações do usuário autenticado
+     * Lista as transações do usuário autenticado, paginadas por cursor (mais recentes primeiro).
+     * Com completo=true, devolve a lista inteira sem paginação (compatibilidade).
+     * Com view=compact, usuário e categorias vêm uma única vez (ver {@link ListaTransacoesCompactaResponse}).
+     * Critérios opcionais, combinados com AND: categoriaId (repetível), tipo, valorMin/valorMax,
+     * tipoRecorrencia, transacaoPaiId e ativa.
+     * Responde 304 (sem consultar o banco) se If-None-Match casar com a versão atual dos dados.
      * ✅ SEGURO: Usa o email do JWT token
      */
     @GetMapping
-    public ResponseEntity<List<TransacaoResponse>> listarMinhasTransacoes(
+    public ResponseEntity<?> listarMinhasTransacoes(
             Principal principal,
             @RequestParam(required = false) LocalDate dataInicio,
-            @RequestParam(required = false) LocalDate dataFim) {
+            @RequestParam(required = false) LocalDate dataFim,
+            @RequestParam(required = false) List<UUID> categoriaId,
+            @RequestParam(required = false) Transacao.TipoTransacao tipo,
+            @RequestParam(required = false) BigDecimal valorMin,
+            @RequestParam(required = false) BigDecimal valorMax,
+            @RequestParam(required = false) TipoRecorrencia tipoRecorrencia,
+            @RequestParam(required = false) UUID transacaoPaiId,
+            @RequestParam(required = false) Boolean ativa,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho,
+            @RequestParam(defaultValue = "false") boolean completo,
+            @RequestParam(required = false) String view,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest webRequest) {
+        boolean compacta = compacta(view, accept);
+        String etag = etag(principal, "listar", dataInicio, dataFim, categoriaId, tipo, valorMin, valorMax,
+                tipoRecorrencia, transacaoPaiId, ativa, cursor, tamanho, completo, compacta);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
         try {
             String emailUsuarioAutenticado = principal.getName();
-            List<TransacaoResponse> transacoes = transacaoService.listarTransacoesDoUsuarioAutenticado(
-                    emailUsuarioAutenticado, dataInicio, dataFim);
-            return ResponseEntity.ok(transacoes);
+            FiltroTransacoes filtro = new FiltroTransacoes(
+                    categoriaId, tipo, valorMin, valorMax, tipoRecorrencia, transacaoPaiId, ativa);
+            if (completo) {
+                List<TransacaoResponse> transacoes = transacaoService.listarTransacoesDoUsuarioAutenticado(
+                        emailUsuarioAutenticado, dataInicio, dataFim, filtro);
+                return compacta
+                        ? versionada(etag, ListaTransacoesCompactaResponse.de(transacoes))
+                        : versionada(etag, transacoes);
+            }
+            PaginaTransacoesResponse pagina = transacaoService.listarPaginaDoUsuarioAutenticado(
+                    emailUsuarioAutenticado, dataInicio, dataFim, filtro, cursor, tamanho);
+            return compacta
+                    ? versionada(etag, ListaTransacoesCompactaResponse.de(pagina))
+                    : versionada(etag, pagina);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Busca textual em descrição e observações (sem diferenciar maiúsculas e acentos, tolerante a
+     * erros de digitação no PostgreSQL), por relevância e paginada por cursor
+     * ✅ SEGURO: Usa o email do JWT token
+     */
+    @GetMapping("/busca")
+    public ResponseEntity<PaginaTransacoesResponse> buscarMinhasTransacoes(
+            Principal principal,
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho,
+            WebRequest webRequest) {
+        String etag = etag(principal, "busca", q, cursor, tamanho);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        try {
+            return versionada(etag, transacaoService.buscarDoUsuarioAutenticado(principal.getName(), q, cursor, tamanho));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -95,12 +193,32 @@ public class TransacaoController {
         }
     }
 
+    /**
+     * Aplica um lote ordenado de criações, atualizações e remoções numa única transação.
+     * 200 com o resultado de cada item; 422 (nada gravado) se algum item for recusado.
+     * ✅ SEGURO: Usa o email do JWT token; só alcança transações e categorias do usuário
+     */
+    @PostMapping("/lote")
+    public ResponseEntity<LoteTransacoesResponse> executarLote(
+            @Valid @RequestBody LoteTransacoesRequest request,
+            Principal principal) {
+        try {
+            LoteTransacoesResponse resposta = transacaoService.executarLoteDoUsuarioAutenticado(
+                    request, principal.getName());
+            return resposta.isAplicado()
+                    ? ResponseEntity.ok(resposta)
+                    : ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(resposta);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Atualiza uma transação
      * ✅ SEGURO: Valida se a transação pertence ao usuário autenticado
      */
     @PutMapping("/{id}")
-    public ResponseEntity<TransacaoResponse> atualizarTransacao(
+    public ResponseEntity<?> atualizarTransacao(
             @PathVariable UUID id,
             @Valid @RequestBody UpdateTransacaoRequest request,
             Principal principal) {
@@ -109,11 +227,52 @@ public class TransacaoController {
             TransacaoResponse transacao = transacaoService.atualizarTransacaoDoUsuarioAutenticado(
                     id, request, emailUsuarioAutenticado);
             return ResponseEntity.ok(transacao);
+        } catch (DataOcupadaNaSerieException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(Map.of("erro", e.getReason()));
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    /**
+     * Edita em série os campos informados: escopo=esta (só a transação), futuras (ela e as
+     * posteriores da série) ou todas. Um único UPDATE, sem carregar as transações.
+     * ✅ SEGURO: Só alcança transações e categorias do usuário autenticado
+     */
+    @PatchMapping("/{id}/serie")
+    public ResponseEntity<Map<String, Object>> atualizarSerie(
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "esta") String escopo,
+            @Valid @RequestBody AtualizacaoSerieRequest request,
+            Principal principal) {
+        EscopoSerie escopoSerie;
+        try {
+            escopoSerie = EscopoSerie.valueOf(escopo.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("erro", "Escopo deve ser esta, futuras ou todas"));
+        }
+
+        UUID usuarioId = usuarioIdentidadeCache.buscar(principal.getName())
+                .map(UsuarioResumo::id)
+                .orElse(null);
+        if (usuarioId == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        int alteradas;
+        try {
+            alteradas = recorrenciaService.atualizarSerie(id, usuarioId, escopoSerie, request);
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("erro", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("erro", e.getMessage()));
+        }
+        return ResponseEntity.ok(Map.of(
+                "transacaoId", id,
+                "escopo", escopoSerie,
+                "quantidadeAtualizada", alteradas));
+    }
+
     /**
      * Deleta uma transação
      * ✅ SEGURO: Valida se a transação pertence ao usuário autenticado
@@ -132,29 +291,138 @@ public class TransacaoController {
     }
 
     /**
-     * Lista transações por período do usuário autenticado
+     * Lista transações por período do usuário autenticado, paginadas por cursor.
+     * Com completo=true, devolve a lista inteira do período sem paginação (compatibilidade).
+     * Aceita view=compact e If-None-Match como a listagem principal.
      * ✅ SEGURO: Usa o email do JWT token
      */
     @GetMapping("/periodo")
-    public ResponseEntity<List<TransacaoResponse>> listarPorPeriodo(
+    public ResponseEntity<?> listarPorPeriodo(
             @RequestParam LocalDate inicio,
             @RequestParam LocalDate fim,
-            Principal principal) {
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho,
+            @RequestParam(defaultValue = "false") boolean completo,
+            @RequestParam(required = false) String view,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            Principal principal,
+            WebRequest webRequest) {
+        boolean compacta = compacta(view, accept);
+        String etag = etag(principal, "periodo", inicio, fim, cursor, tamanho, completo, compacta);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
         String emailUsuarioAutenticado = principal.getName();
-        List<TransacaoResponse> transacoes = transacaoService.listarTransacoesDoUsuarioAutenticado(
-                emailUsuarioAutenticado, inicio, fim);
-        return ResponseEntity.ok(transacoes);
+        if (completo) {
+            List<TransacaoResponse> transacoes = transacaoService.listarTransacoesDoUsuarioAutenticado(
+                    emailUsuarioAutenticado, inicio, fim);
+            return compacta
+                    ? versionada(etag, ListaTransacoesCompactaResponse.de(transacoes))
+                    : versionada(etag, transacoes);
+        }
+        try {
+            PaginaTransacoesResponse pagina = transacaoService.listarPaginaDoUsuarioAutenticado(
+                    emailUsuarioAutenticado, inicio, fim, cursor, tamanho);
+            return compacta
+                    ? versionada(etag, ListaTransacoesCompactaResponse.de(pagina))
+                    : versionada(etag, pagina);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
-     * Calcula o saldo do usuário autenticado
+     * Exporta o histórico do usuário autenticado em CSV ou NDJSON (ordem cronológica).
+     * As linhas são escritas na resposta à medida que saem do banco (memória constante).
+     * 429 se todas as vagas de exportação simultânea estiverem em uso.
+     * ✅ SEGURO: Usa o email do JWT token
+     *
+     * @param format csv (padrão) ou ndjson
+     * @param gzip true para baixar o arquivo compactado (.gz)
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) LocalDate dataInicio,
+            @RequestParam(required = false) LocalDate dataFim,
+            @RequestParam(required = false) UUID categoriaId,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            Principal principal) {
+        ExportacaoService.Formato formato;
+        try {
+            formato = ExportacaoService.Formato.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        UUID usuarioId = usuarioIdentidadeCache.buscar(principal.getName())
+                .map(UsuarioResumo::id)
+                .orElse(null);
+        if (usuarioId == null) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        ExportacaoService.Filtro filtro = new ExportacaoService.Filtro(dataInicio, dataFim, categoriaId);
+        String arquivo = "transacoes." + formato.getExtensao() + (gzip ? ".gz" : "");
+        ExportacaoService.Reserva reserva = exportacaoService.reservar().orElse(null);
+        if (reserva == null) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+        // A vaga é devolvida quando o download termina (ou o cliente desconecta)
+        StreamingResponseBody corpo = saida -> {
+            try (reserva) {
+                exportacaoService.exportar(usuarioId, filtro, formato, gzip, saida);
+            }
+        };
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : formato.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(arquivo).build().toString())
+                .body(corpo);
+    }
+
+    /**
+     * Calcula o saldo do usuário autenticado (atual, ou ao fim da data informada)
      * ✅ SEGURO: Usa o email do JWT token
      */
     @GetMapping("/saldo")
-    public ResponseEntity<BigDecimal> calcularMeuSaldo(Principal principal) {
+    public ResponseEntity<BigDecimal> calcularMeuSaldo(
+            @RequestParam(required = false) LocalDate data,
+            Principal principal,
+            WebRequest webRequest) {
+        String etag = etag(principal, "saldo", data);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
         String emailUsuarioAutenticado = principal.getName();
-        BigDecimal saldo = transacaoService.calcularSaldoDoUsuarioAutenticado(emailUsuarioAutenticado);
-        return ResponseEntity.ok(saldo);
+        BigDecimal saldo = data != null
+                ? transacaoService.calcularSaldoDoUsuarioAutenticadoEm(emailUsuarioAutenticado, data)
+                : transacaoService.calcularSaldoDoUsuarioAutenticado(emailUsuarioAutenticado);
+        return versionada(etag, saldo);
+    }
+
+    /**
+     * Saldo ao fim de cada dia do período, para gráficos
+     * ✅ SEGURO: Usa o email do JWT token
+     */
+    @GetMapping("/saldo/serie")
+    public ResponseEntity<SerieSaldoResponse> serieSaldo(
+            @RequestParam LocalDate inicio,
+            @RequestParam LocalDate fim,
+            Principal principal,
+            WebRequest webRequest) {
+        String etag = etag(principal, "saldo-serie", inicio, fim);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        try {
+            return versionada(etag, transacaoService.serieSaldoDoUsuarioAutenticado(principal.getName(), inicio, fim));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
@@ -165,12 +433,17 @@ public class TransacaoController {
     public ResponseEntity<ResumoFinanceiroResponse> resumoFinanceiro(
             @RequestParam(required = false) LocalDate dataInicio,
             @RequestParam(required = false) LocalDate dataFim,
-            Principal principal) {
+            Principal principal,
+            WebRequest webRequest) {
+        String etag = etag(principal, "resumo", dataInicio, dataFim);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
         try {
             String emailUsuarioAutenticado = principal.getName();
             ResumoFinanceiroResponse resumo = transacaoService.obterResumoFinanceiroDoUsuarioAutenticado(
                     emailUsuarioAutenticado, dataInicio, dataFim);
-            return ResponseEntity.ok(resumo);
+            return versionada(etag, resumo);
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -184,12 +457,15 @@ public class TransacaoController {
      * 
      * @param mes Mês desejado (1-12)
      * @param ano Ano desejado (ex: 2026)
+     * @param view "compact" para a representação compacta
      * @return Lista de transações previstas (reais + simuladas) para aquele mês
      */
     @GetMapping("/preview")
-    public ResponseEntity<List<TransacaoResponse>> previsaoTransacoes(
+    public ResponseEntity<?> previsaoTransacoes(
             @RequestParam int mes,
             @RequestParam int ano,
+            @RequestParam(required = false) String view,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
             Principal principal) {
         try {
             String emailUsuarioAutenticado = principal.getName();
@@ -201,9 +477,41 @@ public class TransacaoController {
             
             List<TransacaoResponse> transacoes = transacaoService.previsaoTransacoesParaMes(
                     emailUsuarioAutenticado, mes, ano);
-            return ResponseEntity.ok(transacoes);
+            return compacta(view, accept)
+                    ? ResponseEntity.ok(ListaTransacoesCompactaResponse.de(transacoes))
+                    : ResponseEntity.ok(transacoes);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
     }
+
+    /**
+     * Representação compacta pedida por view=compact ou pelo media type compacto no Accept
+     */
+    private static boolean compacta(String view, String accept) {
+        return ListaTransacoesCompactaResponse.VIEW.equalsIgnoreCase(view)
+                || (accept != null && accept.contains(ListaTransacoesCompactaResponse.MEDIA_TYPE));
+    }
+
+    /**
+     * ETag da consulta na versão atual dos dados do usuário (null se o usuário não for encontrado).
+     * Só usa caches em memória: um If-None-Match válido é respondido sem nenhuma consulta ao banco.
+     */
+    private String etag(Principal principal, Object... consulta) {
+        return usuarioIdentidadeCache.buscar(principal.getName())
+                .map(usuario -> versaoDadosUsuario.etag(usuario.id(), consulta))
+                .orElse(null);
+    }
+
+    /**
+     * 200 com o ETag da versão e no-cache: o cliente guarda a resposta, mas revalida a cada uso
+     */
+    private static <T> ResponseEntity<T> versionada(String etag, T corpo) {
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate());
+        if (etag != null) {
+            resposta.eTag(etag);
+        }
+        return resposta.body(corpo);
+    }
 }
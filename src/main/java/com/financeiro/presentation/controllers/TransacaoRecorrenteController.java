@@ -1,8 +1,8 @@
 package com.financeiro.presentation.controllers;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.UUID;
 
 import org.springframework.http.ResponseEntity;
@@ -16,9 +16,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.financeiro.application.services.RecorrenciaService;
-import com.financeiro.domain.entities.Transacao;
-import com.financeiro.domain.enums.TipoRecorrencia;
-import com.financeiro.repository.TransacaoRepository;
+import com.financeiro.application.services.UsuarioIdentidadeCache;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -37,8 +35,8 @@ import lombok.extern.slf4j.Slf4j;
 @SecurityRequirement(name = "bearer-key")
 public class TransacaoRecorrenteController {
 
-    private final TransacaoRepository transacaoRepository;
     private final RecorrenciaService recorrenciaService;
+    private final UsuarioIdentidadeCache usuarioIdentidadeCache;
 
     @PatchMapping("/{id}/pausar")
     @Operation(summary = "Pausar recorrência", 
@@ -49,29 +47,14 @@ public class TransacaoRecorrenteController {
         
         log.info("Solicitação de pausa de recorrência para transação {}", id);
         
-        Transacao transacao = transacaoRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Transação não encontrada"));
-        
-        // Verificar se a transação pertence ao usuário autenticado
-        if (!transacao.getUsuario().getEmail().equals(userDetails.getUsername())) {
-            log.warn("Usuário {} tentou pausar transação {} de outro usuário", 
-                    userDetails.getUsername(), id);
-            return ResponseEntity.status(403).body(Map.of(
-                    "erro", "Você não tem permissão para pausar esta transação"
-            ));
-        }
-        
-        // Verificar se é uma transação FIXA
-        if (transacao.getTipoRecorrencia() != TipoRecorrencia.FIXA) {
-            return ResponseEntity.badRequest().body(Map.of(
-                    "erro", "Apenas transações FIXA podem ser pausadas"
-            ));
+        try {
+            recorrenciaService.alterarAtivaRecorrencia(id, obterUsuarioId(userDetails), false);
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(404).body(Map.of("erro", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("erro", e.getMessage()));
         }
         
-        // Pausar
-        transacao.setAtiva(false);
-        transacaoRepository.save(transacao);
-        
         log.info("Recorrência da transação {} pausada com sucesso", id);
         
         Map<String, Object> response = new HashMap<>();
@@ -91,29 +74,14 @@ public class TransacaoRecorrenteController {
         
         log.info("Solicitação de reativação de recorrência para transação {}", id);
         
-        Transacao transacao = transacaoRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Transação não encontrada"));
-        
-        // Verificar se a transação pertence ao usuário autenticado
-        if (!transacao.getUsuario().getEmail().equals(userDetails.getUsername())) {
-            log.warn("Usuário {} tentou reativar transação {} de outro usuário", 
-                    userDetails.getUsername(), id);
-            return ResponseEntity.status(403).body(Map.of(
-                    "erro", "Você não tem permissão para reativar esta transação"
-            ));
-        }
-        
-        // Verificar se é uma transação FIXA
-        if (transacao.getTipoRecorrencia() != TipoRecorrencia.FIXA) {
-            return ResponseEntity.badRequest().body(Map.of(
-                    "erro", "Apenas transações FIXA podem ser reativadas"
-            ));
+        try {
+            recorrenciaService.alterarAtivaRecorrencia(id, obterUsuarioId(userDetails), true);
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(404).body(Map.of("erro", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("erro", e.getMessage()));
         }
         
-        // Reativar
-        transacao.setAtiva(true);
-        transacaoRepository.save(transacao);
-        
         log.info("Recorrência da transação {} reativada com sucesso", id);
         
         Map<String, Object> response = new HashMap<>();
@@ -133,58 +101,13 @@ public class TransacaoRecorrenteController {
         
         log.info("Solicitação de cancelamento de série para transação {}", id);
         
-        Transacao transacao = transacaoRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Transação não encontrada"));
-        
-        // Verificar se a transação pertence ao usuário autenticado
-        if (!transacao.getUsuario().getEmail().equals(userDetails.getUsername())) {
-            log.warn("Usuário {} tentou cancelar série da transação {} de outro usuário", 
-                    userDetails.getUsername(), id);
-            return ResponseEntity.status(403).body(Map.of(
-                    "erro", "Você não tem permissão para cancelar esta série"
-            ));
-        }
-        
-        int canceladas = 0;
-        
-        if (transacao.getTipoRecorrencia() == TipoRecorrencia.PARCELADA) {
-            // Buscar todas as parcelas futuras (data > hoje)
-            List<Transacao> parcelasFuturas = transacaoRepository
-                    .findByUsuarioId(transacao.getUsuario().getId())
-                    .stream()
-                    .filter(t -> t.getTransacaoPaiId() != null && 
-                                 t.getTransacaoPaiId().equals(transacao.getId()) &&
-                                 t.getDataTransacao().isAfter(java.time.LocalDate.now()))
-                    .toList();
-            
-            transacaoRepository.deleteAll(parcelasFuturas);
-            canceladas = parcelasFuturas.size();
-            
-            log.info("Canceladas {} parcelas futuras da transação {}", canceladas, id);
-            
-        } else if (transacao.getTipoRecorrencia() == TipoRecorrencia.FIXA) {
-            // Pausar a transação para não gerar mais ocorrências
-            transacao.setAtiva(false);
-            transacaoRepository.save(transacao);
-            
-            // Buscar e deletar ocorrências futuras
-            List<Transacao> ocorrenciasFuturas = transacaoRepository
-                    .findByUsuarioId(transacao.getUsuario().getId())
-                    .stream()
-                    .filter(t -> t.getTransacaoPaiId() != null && 
-                                 t.getTransacaoPaiId().equals(id) &&
-                                 t.getDataTransacao().isAfter(java.time.LocalDate.now()))
-                    .toList();
-            
-            transacaoRepository.deleteAll(ocorrenciasFuturas);
-            canceladas = ocorrenciasFuturas.size();
-            
-            log.info("Pausada transação FIXA {} e canceladas {} ocorrências futuras", id, canceladas);
-            
-        } else {
-            return ResponseEntity.badRequest().body(Map.of(
-                    "erro", "Apenas transações PARCELADA ou FIXA podem ter séries canceladas"
-            ));
+        int canceladas;
+        try {
+            canceladas = recorrenciaService.cancelarSerie(id, obterUsuarioId(userDetails));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(404).body(Map.of("erro", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("erro", e.getMessage()));
         }
         
         Map<String, Object> response = new HashMap<>();
@@ -207,4 +130,14 @@ public class TransacaoRecorrenteController {
                 "mensagem", "Job executado com sucesso"
         ));
     }
+
+    /**
+     * Id do usuário autenticado (cache de identidade); transações de outros usuários
+     * simplesmente não são encontradas pelas consultas filtradas por dono
+     */
+    private UUID obterUsuarioId(UserDetails userDetails) {
+        return usuarioIdentidadeCache.buscar(userDetails.getUsername())
+                .orElseThrow(() -> new NoSuchElementException("Usuário autenticado não encontrado"))
+                .id();
+    }
 }
@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 import com.financeiro.domain.entities.Categoria;
+import com.financeiro.repository.projection.TransacaoListagem;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -45,4 +46,21 @@ public class CategoriaResponse {
                 .cor(categoria.getCor())
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Extrai a categoria de uma linha de listagem de transações (projeção)
+     */
+    public static CategoriaResponse fromListagem(TransacaoListagem listagem) {
+        return CategoriaResponse.builder()
+                .id(listagem.categoriaId())
+                .nome(listagem.categoriaNome())
+                .descricao(listagem.categoriaDescricao())
+                .tipo(listagem.categoriaTipo())
+                .ativa(listagem.categoriaAtiva())
+                .dataCriacao(listagem.categoriaDataCriacao())
+                .dataAtualizacao(listagem.categoriaDataAtualizacao())
+                .usuarioId(listagem.categoriaUsuarioId())
+                .cor(listagem.categoriaCor())
+                .build();
+    }
+}
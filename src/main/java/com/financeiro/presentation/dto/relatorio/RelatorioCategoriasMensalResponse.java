@@ -0,0 +1,40 @@
+package com.financeiro.presentation.dto.relatorio;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import com.financeiro.domain.entities.Transacao;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Matriz densa meses x categorias: totais[i][j] e quantidades[i][j] são do mês meses[i]
+ * na coluna categorias[j] (zero quando não houve movimento)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelatorioCategoriasMensalResponse {
+
+    private String inicio; // AAAA-MM
+    private String fim;    // AAAA-MM
+    private List<String> meses;
+    private List<Coluna> categorias;
+    private List<List<BigDecimal>> totais;
+    private List<List<Long>> quantidades;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Coluna {
+        private UUID categoriaId;
+        private String nome;
+        private String cor;
+        private Transacao.TipoTransacao tipo;
+    }
+}
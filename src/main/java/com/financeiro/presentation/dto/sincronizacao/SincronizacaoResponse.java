@@ -0,0 +1,34 @@
+package com.financeiro.presentation.dto.sincronizacao;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import com.financeiro.domain.entities.ExclusaoSincronizacao;
+import com.financeiro.presentation.dto.categoria.CategoriaResponse;
+import com.financeiro.presentation.dto.transacao.TransacaoCompactaResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Alterações desde o token enviado: registros criados/alterados e lápides dos removidos.
+ * Para continuar, envie "proximoToken" no parâmetro "desde" (enquanto "temMais", imediatamente).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SincronizacaoResponse {
+
+    private List<TransacaoCompactaResponse> transacoes;
+    private List<CategoriaResponse> categorias;
+    private List<Exclusao> exclusoes; // vazio na primeira sincronização (sem token)
+    private String proximoToken;
+    private boolean temMais;
+
+    public record Exclusao(ExclusaoSincronizacao.Entidade entidade, UUID id, LocalDateTime dataExclusao) {
+    }
+}
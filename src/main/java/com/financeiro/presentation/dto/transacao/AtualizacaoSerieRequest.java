@@ -0,0 +1,35 @@
+package com.financeiro.presentation.dto.transacao;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO para edição em série (PATCH): apenas os campos informados são alterados.
+ * A data não é editável em série: cada parcela/ocorrência mantém a sua.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AtualizacaoSerieRequest {
+
+    @Size(min = 2, max = 100, message = "Descrição deve ter entre 2 e 100 caracteres")
+    private String descricao;
+
+    @Positive(message = "Valor deve ser positivo")
+    @DecimalMin(value = "0.01", message = "Valor deve ser maior que zero")
+    private BigDecimal valor;
+
+    private UUID categoriaId;
+
+    @Size(max = 500, message = "Observações devem ter no máximo 500 caracteres")
+    private String observacoes;
+}
@@ -0,0 +1,80 @@
+package com.financeiro.presentation.dto.transacao;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.financeiro.presentation.dto.categoria.CategoriaResponse;
+import com.financeiro.presentation.dto.usuario.UsuarioResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Representação compacta (normalizada) de uma lista de transações.
+ *
+ * O usuário aparece uma vez e as categorias uma vez cada, num dicionário por id;
+ * cada item referencia a categoria por "categoriaId".
+ * Solicitada com view=compact ou Accept: application/vnd.financeiro.compacto+json.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ListaTransacoesCompactaResponse {
+
+    public static final String MEDIA_TYPE = "application/vnd.financeiro.compacto+json";
+    public static final String VIEW = "compact";
+
+    private UsuarioResponse usuario;
+    private Map<UUID, CategoriaResponse> categorias;
+    private List<TransacaoCompactaResponse> itens;
+
+    // Presentes apenas em listagens paginadas
+    private Integer tamanho;
+    private Boolean temMais;
+    private String proximoCursor;
+
+    /**
+     * Normaliza uma lista de respostas completas
+     */
+    public static ListaTransacoesCompactaResponse de(List<TransacaoResponse> transacoes) {
+        UsuarioResponse usuario = null;
+        Map<UUID, CategoriaResponse> categorias = new LinkedHashMap<>();
+        List<TransacaoCompactaResponse> itens = new ArrayList<>(transacoes.size());
+
+        for (TransacaoResponse transacao : transacoes) {
+            if (usuario == null) {
+                usuario = transacao.getUsuario();
+            }
+            CategoriaResponse categoria = transacao.getCategoria();
+            if (categoria != null) {
+                categorias.putIfAbsent(categoria.getId(), categoria);
+            }
+            itens.add(TransacaoCompactaResponse.fromResponse(transacao));
+        }
+
+        return ListaTransacoesCompactaResponse.builder()
+                .usuario(usuario)
+                .categorias(categorias)
+                .itens(itens)
+                .build();
+    }
+
+    /**
+     * Normaliza uma página, mantendo os dados de paginação
+     */
+    public static ListaTransacoesCompactaResponse de(PaginaTransacoesResponse pagina) {
+        ListaTransacoesCompactaResponse compacta = de(pagina.getItens());
+        compacta.setTamanho(pagina.getTamanho());
+        compacta.setTemMais(pagina.isTemMais());
+        compacta.setProximoCursor(pagina.getProximoCursor());
+        return compacta;
+    }
+}
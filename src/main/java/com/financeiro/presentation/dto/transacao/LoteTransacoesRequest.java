@@ -0,0 +1,48 @@
+package com.financeiro.presentation.dto.transacao;
+
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lote ordenado de criações, atualizações e remoções, aplicado numa única transação de banco.
+ * Os itens são validados um a um pelo serviço (erros reportados por índice), não aqui.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoteTransacoesRequest {
+
+    public static final int TAMANHO_MAXIMO = 500;
+
+    @NotEmpty(message = "O lote deve ter ao menos uma operação")
+    @Size(max = TAMANHO_MAXIMO, message = "O lote deve ter no máximo " + TAMANHO_MAXIMO + " operações")
+    private List<Operacao> operacoes;
+
+    /**
+     * CRIAR usa "criacao"; ATUALIZAR usa "id" e "atualizacao"; REMOVER usa "id"
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Operacao {
+        private TipoOperacao operacao;
+        private UUID id;
+        private CreateTransacaoRequest criacao;
+        private UpdateTransacaoRequest atualizacao;
+    }
+
+    public enum TipoOperacao {
+        CRIAR,
+        ATUALIZAR,
+        REMOVER
+    }
+}
@@ -0,0 +1,32 @@
+package com.financeiro.presentation.dto.transacao;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de cada operação do lote, na ordem recebida.
+ * aplicado=false: ao menos um item foi recusado e nada foi gravado (ver "erro" dos itens).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoteTransacoesResponse {
+
+    private boolean aplicado;
+    private List<Resultado> resultados;
+
+    /**
+     * id: transação criada (origem, em séries), atualizada ou removida; erro: motivo da recusa
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Resultado(int indice, LoteTransacoesRequest.TipoOperacao operacao, UUID id, String erro) {
+    }
+}
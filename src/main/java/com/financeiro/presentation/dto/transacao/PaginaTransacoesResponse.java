@@ -0,0 +1,24 @@
+package com.financeiro.presentation.dto.transacao;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de resposta para uma página de transações (paginação por cursor).
+ * Para buscar a próxima página, envie "proximoCursor" no parâmetro "cursor".
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaTransacoesResponse {
+
+    private List<TransacaoResponse> itens;
+    private int tamanho;
+    private boolean temMais;
+    private String proximoCursor; // null na última página
+}
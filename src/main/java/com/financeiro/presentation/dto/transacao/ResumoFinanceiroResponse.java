@@ -1,6 +1,11 @@
 package com.financeiro.presentation.dto.transacao;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.financeiro.domain.entities.Transacao;
+import com.financeiro.repository.projection.TotalPorCategoria;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -11,4 +16,26 @@ public class ResumoFinanceiroResponse {
     private BigDecimal totalReceitas;
     private BigDecimal totalDespesas;
     private BigDecimal saldo;
+    private List<TotalCategoriaResponse> categorias; // Subtotais por categoria, maiores primeiro
+
+    /**
+     * Monta o resumo a partir dos subtotais por tipo/categoria já agregados no banco
+     */
+    public static ResumoFinanceiroResponse fromTotais(List<TotalPorCategoria> totais) {
+        BigDecimal totalReceitas = BigDecimal.ZERO;
+        BigDecimal totalDespesas = BigDecimal.ZERO;
+        List<TotalCategoriaResponse> categorias = new ArrayList<>(totais.size());
+
+        for (TotalPorCategoria total : totais) {
+            BigDecimal valor = total.total() != null ? total.total() : BigDecimal.ZERO;
+            if (total.tipo() == Transacao.TipoTransacao.RECEITA) {
+                totalReceitas = totalReceitas.add(valor);
+            } else {
+                totalDespesas = totalDespesas.add(valor);
+            }
+            categorias.add(TotalCategoriaResponse.fromProjection(total));
+        }
+
+        return new ResumoFinanceiroResponse(totalReceitas, totalDespesas, totalReceitas.subtract(totalDespesas), categorias);
+    }
 }
@@ -0,0 +1,36 @@
+package com.financeiro.presentation.dto.transacao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Saldo ao fim de cada dia de um período (um ponto por dia, inclusive dias sem movimento)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SerieSaldoResponse {
+
+    private LocalDate inicio;
+    private LocalDate fim;
+    private BigDecimal saldoAnterior; // saldo ao fim do dia anterior ao início
+    private BigDecimal saldoFinal;
+    private BigDecimal variacao; // saldoFinal - saldoAnterior
+    private List<Ponto> pontos;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Ponto {
+        private LocalDate data;
+        private BigDecimal movimento; // receitas - despesas do dia
+        private BigDecimal saldo;
+    }
+}
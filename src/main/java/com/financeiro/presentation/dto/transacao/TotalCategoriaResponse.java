@@ -0,0 +1,40 @@
+package com.financeiro.presentation.dto.transacao;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import com.financeiro.domain.entities.Transacao;
+import com.financeiro.repository.projection.TotalPorCategoria;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Subtotal de uma categoria no resumo financeiro
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TotalCategoriaResponse {
+
+    private UUID categoriaId;
+    private String nome;
+    private String cor;
+    private Transacao.TipoTransacao tipo;
+    private BigDecimal total;
+    private long quantidade;
+
+    public static TotalCategoriaResponse fromProjection(TotalPorCategoria total) {
+        return TotalCategoriaResponse.builder()
+                .categoriaId(total.categoriaId())
+                .nome(total.categoriaNome())
+                .cor(total.categoriaCor())
+                .tipo(total.tipo())
+                .total(total.total())
+                .quantidade(total.quantidade() != null ? total.quantidade() : 0)
+                .build();
+    }
+}
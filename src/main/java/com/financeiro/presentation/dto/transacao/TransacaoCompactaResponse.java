@@ -0,0 +1,95 @@
+package com.financeiro.presentation.dto.transacao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.financeiro.domain.entities.Transacao;
+import com.financeiro.domain.enums.Frequencia;
+import com.financeiro.domain.enums.TipoRecorrencia;
+import com.financeiro.repository.projection.TransacaoListagem;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Linha da representação compacta: categoria referenciada por id, sem usuário e sem campos nulos
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TransacaoCompactaResponse {
+
+    private UUID id; // null em transações simuladas (previsão)
+    private String descricao;
+    private BigDecimal valor;
+    private LocalDate dataTransacao;
+    private Transacao.TipoTransacao tipo;
+    private String observacoes;
+    private LocalDateTime dataCriacao;
+    private LocalDateTime dataAtualizacao;
+    private UUID categoriaId;
+
+    // Campos de recorrência
+    private TipoRecorrencia tipoRecorrencia;
+    private Frequencia frequencia;
+    private Boolean recorrente; // Deprecated - mantido para compatibilidade
+    private Integer quantidadeParcelas;
+    private Integer parcelaAtual;
+    private UUID transacaoPaiId;
+    private Boolean ativa;
+
+    /**
+     * Converte a resposta completa para a linha compacta
+     */
+    public static TransacaoCompactaResponse fromResponse(TransacaoResponse transacao) {
+        return TransacaoCompactaResponse.builder()
+                .id(transacao.getId())
+                .descricao(transacao.getDescricao())
+                .valor(transacao.getValor())
+                .dataTransacao(transacao.getDataTransacao())
+                .tipo(transacao.getTipo())
+                .observacoes(transacao.getObservacoes())
+                .dataCriacao(transacao.getDataCriacao())
+                .dataAtualizacao(transacao.getDataAtualizacao())
+                .categoriaId(transacao.getCategoria() != null ? transacao.getCategoria().getId() : null)
+                .tipoRecorrencia(transacao.getTipoRecorrencia())
+                .frequencia(transacao.getFrequencia())
+                .recorrente(transacao.getRecorrente())
+                .quantidadeParcelas(transacao.getQuantidadeParcelas())
+                .parcelaAtual(transacao.getParcelaAtual())
+                .transacaoPaiId(transacao.getTransacaoPaiId())
+                .ativa(transacao.getAtiva())
+                .build();
+    }
+
+    /**
+     * Converte a linha de listagem (projeção) para a linha compacta
+     */
+    public static TransacaoCompactaResponse fromListagem(TransacaoListagem listagem) {
+        return TransacaoCompactaResponse.builder()
+                .id(listagem.id())
+                .descricao(listagem.descricao())
+                .valor(listagem.valor())
+                .dataTransacao(listagem.dataTransacao())
+                .tipo(listagem.tipo())
+                .observacoes(listagem.observacoes())
+                .dataCriacao(listagem.dataCriacao())
+                .dataAtualizacao(listagem.dataAtualizacao())
+                .categoriaId(listagem.categoriaId())
+                .tipoRecorrencia(listagem.tipoRecorrencia())
+                .frequencia(listagem.frequencia())
+                .recorrente(listagem.recorrente())
+                .quantidadeParcelas(listagem.quantidadeParcelas())
+                .parcelaAtual(listagem.parcelaAtual())
+                .transacaoPaiId(listagem.transacaoPaiId())
+                .ativa(listagem.ativa())
+                .build();
+    }
+}
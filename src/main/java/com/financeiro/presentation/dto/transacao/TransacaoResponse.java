@@ -10,6 +10,7 @@ import com.financeiro.domain.enums.Frequencia;
 import com.financeiro.domain.enums.TipoRecorrencia;
 import com.financeiro.presentation.dto.categoria.CategoriaResponse;
 import com.financeiro.presentation.dto.usuario.UsuarioResponse;
+import com.financeiro.repository.projection.TransacaoListagem;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -70,6 +71,32 @@ public class TransacaoResponse {
                 .build();
     }
 
+    /**
+     * Converte uma linha de listagem (projeção) para DTO de resposta.
+     * O usuário é o mesmo em toda a listagem, então a mesma instância é compartilhada entre as linhas.
+     */
+    public static TransacaoResponse fromListagem(TransacaoListagem listagem, UsuarioResponse usuario) {
+        return TransacaoResponse.builder()
+                .id(listagem.id())
+                .descricao(listagem.descricao())
+                .valor(listagem.valor())
+                .dataTransacao(listagem.dataTransacao())
+                .tipo(listagem.tipo())
+                .observacoes(listagem.observacoes())
+                .dataCriacao(listagem.dataCriacao())
+                .dataAtualizacao(listagem.dataAtualizacao())
+                .categoria(CategoriaResponse.fromListagem(listagem))
+                .usuario(usuario)
+                .tipoRecorrencia(listagem.tipoRecorrencia())
+                .frequencia(listagem.frequencia())
+                .recorrente(listagem.recorrente())
+                .quantidadeParcelas(listagem.quantidadeParcelas())
+                .parcelaAtual(listagem.parcelaAtual())
+                .transacaoPaiId(listagem.transacaoPaiId())
+                .ativa(listagem.ativa())
+                .build();
+    }
+
     /**
      * Converte entidade para DTO de resposta simples (sem categoria detalhada)
      */
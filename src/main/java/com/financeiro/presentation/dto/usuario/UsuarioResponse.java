@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 import com.financeiro.domain.entities.Usuario;
+import com.financeiro.repository.projection.UsuarioResumo;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -45,4 +46,19 @@ public class UsuarioResponse {
                 .foto(usuario.getFoto())
                 .build();
     }
+
+    /**
+     * Dono embutido nas respostas de transações, a partir da identidade em cache (sem datas de
+     * criação, atualização e último acesso)
+     */
+    public static UsuarioResponse fromResumo(UsuarioResumo usuario) {
+        return UsuarioResponse.builder()
+                .id(usuario.id())
+                .nome(usuario.nome())
+                .email(usuario.email())
+                .papel(usuario.papel())
+                .ativo(usuario.ativo())
+                .foto(usuario.foto())
+                .build();
+    }
 }
\ No newline at end of file
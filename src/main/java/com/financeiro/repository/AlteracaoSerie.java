@@ -0,0 +1,20 @@
+package com.financeiro.repository;
+
+import java.math.BigDecimal;
+
+import com.financeiro.domain.entities.Categoria;
+
+/**
+ * Campos a alterar numa série de transações; null = mantém o valor de cada linha.
+ * Em séries PARCELADA a descrição recebe o sufixo " (i/N)" de cada parcela.
+ */
+public record AlteracaoSerie(
+        String descricao,
+        BigDecimal valor,
+        Categoria categoria,
+        String observacoes) {
+
+    public boolean vazia() {
+        return descricao == null && valor == null && categoria == null && observacoes == null;
+    }
+}
@@ -1,5 +1,6 @@
 package com.financeiro.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,11 +23,19 @@ public interface CategoriaRepository extends JpaRepository<Categoria, UUID> {
     List<Categoria> findAtivasByUsuarioAndTipo(@Param("usuarioId") UUID usuarioId, @Param("tipo") TipoCategoria tipo);
 
     Optional<Categoria> findByIdAndUsuarioId(UUID id, UUID usuarioId);
+    
+    // Pré-carga das categorias de um lote de transações (as de outro usuário ficam de fora)
+    List<Categoria> findByUsuarioIdAndIdIn(UUID usuarioId, Collection<UUID> ids);
 
     boolean existsByNomeIgnoreCaseAndUsuarioId(String nome, UUID usuarioId);
 
     boolean existsByNomeIgnoreCaseAndUsuarioIdAndIdNot(String nome, UUID usuarioId, UUID id);
     
+    // Delta sync: categorias com seq_alteracao em (desde, ate], por idx_categorias_usuario_seq
+    @Query("SELECT c FROM Categoria c WHERE c.usuario.id = :usuarioId "
+            + "AND c.seqAlteracao > :desde AND c.seqAlteracao <= :ate ORDER BY c.seqAlteracao, c.id")
+    List<Categoria> findAlteradasEntre(@Param("usuarioId") UUID usuarioId, @Param("desde") long desde, @Param("ate") long ate);
+    
     // Métodos para suporte a deleção de usuário
     long countByUsuarioId(UUID usuarioId);
     void deleteByUsuarioId(UUID usuarioId);
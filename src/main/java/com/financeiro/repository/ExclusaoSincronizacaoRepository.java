@@ -0,0 +1,23 @@
+package com.financeiro.repository;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.financeiro.domain.entities.ExclusaoSincronizacao;
+
+@Repository
+public interface ExclusaoSincronizacaoRepository extends JpaRepository<ExclusaoSincronizacao, UUID> {
+
+    @Query("SELECT e FROM ExclusaoSincronizacao e WHERE e.usuarioId = :usuarioId "
+            + "AND e.seqAlteracao > :desde AND e.seqAlteracao <= :ate ORDER BY e.seqAlteracao")
+    List<ExclusaoSincronizacao> findAlteradasEntre(UUID usuarioId, long desde, long ate);
+
+    @Modifying
+    @Query("DELETE FROM ExclusaoSincronizacao e WHERE e.usuarioId = :usuarioId")
+    int deleteByUsuarioId(UUID usuarioId);
+}
@@ -0,0 +1,39 @@
+package com.financeiro.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import com.financeiro.domain.entities.Transacao;
+import com.financeiro.domain.enums.TipoRecorrencia;
+
+/**
+ * Critérios opcionais da listagem de transações; null (ou lista vazia) = sem filtro.
+ * Combinados com AND entre si e com o dono e o período.
+ */
+public record FiltroTransacoes(
+        List<UUID> categoriaIds,
+        Transacao.TipoTransacao tipo,
+        BigDecimal valorMin,
+        BigDecimal valorMax,
+        TipoRecorrencia tipoRecorrencia,
+        UUID transacaoPaiId,
+        Boolean ativa) {
+
+    public static final FiltroTransacoes NENHUM = new FiltroTransacoes(null, null, null, null, null, null, null);
+
+    /**
+     * @throws IllegalArgumentException se a faixa de valores for inválida
+     */
+    public FiltroTransacoes {
+        categoriaIds = categoriaIds == null ? List.of() : List.copyOf(categoriaIds);
+        if (valorMin != null && valorMax != null && valorMin.compareTo(valorMax) > 0) {
+            throw new IllegalArgumentException("valorMin deve ser menor ou igual a valorMax");
+        }
+    }
+
+    public boolean semCriterios() {
+        return categoriaIds.isEmpty() && tipo == null && valorMin == null && valorMax == null
+                && tipoRecorrencia == null && transacaoPaiId == null && ativa == null;
+    }
+}
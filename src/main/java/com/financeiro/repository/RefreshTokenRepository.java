@@ -0,0 +1,45 @@
+package com.financeiro.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.financeiro.domain.entities.RefreshToken;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
+
+    /**
+     * Revoga o token se ainda estiver ativo. Retorna 0 quando já estava revogado (ou não existe):
+     * apenas uma requisição concorrente consegue rotacionar o mesmo token.
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revogadoEm = :agora, r.substituidoPor = :substituidoPor "
+            + "WHERE r.jti = :jti AND r.revogadoEm IS NULL AND r.expiraEm > :agora")
+    int revogarSeAtivo(@Param("jti") UUID jti,
+                       @Param("substituidoPor") UUID substituidoPor,
+                       @Param("agora") LocalDateTime agora);
+
+    @Query("SELECT r FROM RefreshToken r WHERE r.usuarioId = :usuarioId AND r.revogadoEm IS NULL AND r.expiraEm > :agora")
+    List<RefreshToken> findAtivosByUsuarioId(@Param("usuarioId") UUID usuarioId, @Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revogadoEm = :agora WHERE r.usuarioId = :usuarioId AND r.revogadoEm IS NULL")
+    int revogarTodosDoUsuario(@Param("usuarioId") UUID usuarioId, @Param("agora") LocalDateTime agora);
+
+    /**
+     * Revogados que ainda não expiraram: são os únicos que precisam estar no índice em memória
+     */
+    @Query("SELECT r FROM RefreshToken r WHERE r.revogadoEm IS NOT NULL AND r.expiraEm > :agora")
+    List<RefreshToken> findRevogadosVigentes(@Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiraEm <= :agora")
+    int deleteExpirados(@Param("agora") LocalDateTime agora);
+}
@@ -0,0 +1,53 @@
+package com.financeiro.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.financeiro.domain.entities.ResumoMensal;
+import com.financeiro.repository.projection.TotalMensalPorCategoria;
+import com.financeiro.repository.projection.TotalPorCategoria;
+
+/**
+ * Leitura dos rollups mensais (a escrita é feita pelo ResumoMensalService via SQL)
+ */
+@Repository
+public interface ResumoMensalRepository extends JpaRepository<ResumoMensal, ResumoMensal.Chave> {
+
+    String SELECT_TOTAIS = "SELECT new com.financeiro.repository.projection.TotalPorCategoria("
+            + "r.id.tipo, c.id, c.nome, c.cor, SUM(r.total), SUM(r.quantidade)) "
+            + "FROM ResumoMensal r JOIN Categoria c ON c.id = r.id.categoriaId ";
+
+    String AGRUPAR_TOTAIS = " GROUP BY r.id.tipo, c.id, c.nome, c.cor";
+
+    @Query(SELECT_TOTAIS + "WHERE r.id.usuarioId = :usuarioId" + AGRUPAR_TOTAIS)
+    List<TotalPorCategoria> totalizarPorCategoria(UUID usuarioId);
+
+    // Meses completos entre anoMesInicio e anoMesFim (AAAAMM, inclusive)
+    @Query(SELECT_TOTAIS + "WHERE r.id.usuarioId = :usuarioId AND r.id.anoMes BETWEEN :anoMesInicio AND :anoMesFim"
+            + AGRUPAR_TOTAIS)
+    List<TotalPorCategoria> totalizarPorCategoriaEntreMeses(UUID usuarioId, int anoMesInicio, int anoMesFim);
+
+    // Totais por mês e categoria (relatório categorias x mês), meses entre anoMesInicio e anoMesFim
+    @Query("SELECT new com.financeiro.repository.projection.TotalMensalPorCategoria("
+            + "r.id.anoMes, r.id.tipo, c.id, c.nome, c.cor, r.total, r.quantidade) "
+            + "FROM ResumoMensal r JOIN Categoria c ON c.id = r.id.categoriaId "
+            + "WHERE r.id.usuarioId = :usuarioId AND r.id.anoMes BETWEEN :anoMesInicio AND :anoMesFim")
+    List<TotalMensalPorCategoria> totalizarPorMesECategoria(UUID usuarioId, int anoMesInicio, int anoMesFim);
+
+    @Query("SELECT COALESCE(SUM(CASE WHEN r.id.tipo = 'RECEITA' THEN r.total ELSE -r.total END), 0) "
+            + "FROM ResumoMensal r WHERE r.id.usuarioId = :usuarioId")
+    BigDecimal calcularSaldo(UUID usuarioId);
+
+    @Query("SELECT r FROM ResumoMensal r WHERE r.id.usuarioId = :usuarioId")
+    List<ResumoMensal> findByUsuarioId(UUID usuarioId);
+
+    @Modifying
+    @Query("DELETE FROM ResumoMensal r WHERE r.id.usuarioId = :usuarioId")
+    int deleteByUsuarioId(UUID usuarioId);
+}
@@ -0,0 +1,34 @@
+package com.financeiro.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.financeiro.domain.entities.SaldoDiario;
+
+/**
+ * Leitura dos checkpoints de saldo diário (a escrita é feita pelo SaldoDiarioService via SQL)
+ */
+@Repository
+public interface SaldoDiarioRepository extends JpaRepository<SaldoDiario, SaldoDiario.Chave> {
+
+    // Saldo ao fim da data: último checkpoint até ela (vazio = nenhum movimento até a data)
+    @Query("SELECT s.saldo FROM SaldoDiario s WHERE s.id.usuarioId = :usuarioId AND s.id.data <= :data "
+            + "ORDER BY s.id.data DESC LIMIT 1")
+    Optional<BigDecimal> findSaldoEm(UUID usuarioId, LocalDate data);
+
+    @Query("SELECT s FROM SaldoDiario s WHERE s.id.usuarioId = :usuarioId AND s.id.data BETWEEN :inicio AND :fim "
+            + "ORDER BY s.id.data")
+    List<SaldoDiario> findEntre(UUID usuarioId, LocalDate inicio, LocalDate fim);
+
+    @Modifying
+    @Query("DELETE FROM SaldoDiario s WHERE s.id.usuarioId = :usuarioId")
+    int deleteByUsuarioId(UUID usuarioId);
+}
@@ -0,0 +1,20 @@
+package com.financeiro.repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Exclusão individual: fragmento implementado à mão porque o DELETE devolve a data da linha
+ * removida, e a sintaxe para isso depende do banco (ver {@link TransacaoExclusaoRepositoryImpl}).
+ */
+public interface TransacaoExclusaoRepository {
+
+    /**
+     * Um único DELETE filtrado pelo dono, que devolve a data da transação removida
+     * (mês do resumo_mensal a recalcular)
+     *
+     * @return vazio se a transação não existe ou pertence a outro usuário
+     */
+    Optional<LocalDate> deleteByIdAndUsuarioIdRetornandoData(UUID id, UUID usuarioId);
+}
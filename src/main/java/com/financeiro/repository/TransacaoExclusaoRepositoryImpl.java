@@ -0,0 +1,47 @@
+package com.financeiro.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * PostgreSQL: DELETE ... RETURNING. H2 (perfil local) não aceita RETURNING, mas devolve as
+ * linhas removidas lendo a tabela delta do próprio DELETE (OLD TABLE). Nos dois casos é uma
+ * única instrução, sem SELECT prévio.
+ */
+@RequiredArgsConstructor
+public class TransacaoExclusaoRepositoryImpl implements TransacaoExclusaoRepository {
+
+    private static final String SQL_POSTGRES =
+            "DELETE FROM transacoes WHERE id = :id AND usuario_id = :usuarioId RETURNING data_transacao";
+
+    private static final String SQL_H2 =
+            "SELECT data_transacao FROM OLD TABLE (DELETE FROM transacoes WHERE id = :id AND usuario_id = :usuarioId)";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Optional<LocalDate> deleteByIdAndUsuarioIdRetornandoData(UUID id, UUID usuarioId) {
+        List<LocalDate> datas = entityManager.createNativeQuery(postgres() ? SQL_POSTGRES : SQL_H2, LocalDate.class)
+                .setParameter("id", id)
+                .setParameter("usuarioId", usuarioId)
+                .getResultList();
+        return datas.stream().findFirst();
+    }
+
+    private boolean postgres() {
+        Dialect dialeto = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect();
+        return dialeto instanceof PostgreSQLDialect;
+    }
+}
@@ -0,0 +1,23 @@
+package com.financeiro.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import com.financeiro.repository.projection.TransacaoListagem;
+
+/**
+ * Listagem com critérios combináveis: fragmento implementado à mão porque a consulta
+ * é montada com apenas os critérios informados (ver {@link TransacaoFiltroRepositoryImpl})
+ */
+public interface TransacaoFiltroRepository {
+
+    /**
+     * Transações do usuário no período que atendem ao filtro, mais recentes primeiro.
+     *
+     * @param ultimaData posição (data, id) da última linha da página anterior; null na primeira página
+     * @param limite máximo de linhas; null = todas
+     */
+    List<TransacaoListagem> listarFiltradas(UUID usuarioId, LocalDate inicio, LocalDate fim, FiltroTransacoes filtro,
+            LocalDate ultimaData, UUID ultimoId, Integer limite);
+}
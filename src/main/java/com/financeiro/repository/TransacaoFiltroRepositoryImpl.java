@@ -0,0 +1,84 @@
+package com.financeiro.repository;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.financeiro.repository.projection.TransacaoListagem;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Monta um único SELECT com apenas os critérios informados: nada de "(:x IS NULL OR t.x = :x)",
+ * que impede o uso de índice. Cada critério compara a coluna diretamente, de modo que os índices
+ * da V8/V14 (usuário, data, tipo; categoria, data; pai, data) continuam aplicáveis; a ordem dos
+ * predicados no WHERE não influencia o planejador. O uso de índice em cada combinação é
+ * conferido no PostgreSQL por TransacaoFiltroPlanoTest.
+ */
+@RequiredArgsConstructor
+public class TransacaoFiltroRepositoryImpl implements TransacaoFiltroRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<TransacaoListagem> listarFiltradas(UUID usuarioId, LocalDate inicio, LocalDate fim, FiltroTransacoes filtro,
+            LocalDate ultimaData, UUID ultimoId, Integer limite) {
+        StringBuilder jpql = new StringBuilder(TransacaoRepository.SELECT_LISTAGEM)
+                .append("WHERE t.usuario.id = :usuarioId AND t.dataTransacao BETWEEN :inicio AND :fim");
+        Map<String, Object> parametros = new HashMap<>();
+        parametros.put("usuarioId", usuarioId);
+        parametros.put("inicio", inicio);
+        parametros.put("fim", fim);
+
+        // idx_transacoes_usuario_data_tipo
+        if (filtro.tipo() != null) {
+            jpql.append(" AND t.tipo = :tipo");
+            parametros.put("tipo", filtro.tipo());
+        }
+        // idx_transacoes_categoria_data
+        if (!filtro.categoriaIds().isEmpty()) {
+            jpql.append(" AND t.categoria.id IN :categoriaIds");
+            parametros.put("categoriaIds", filtro.categoriaIds());
+        }
+        // uk_transacoes_pai_data (V14)
+        if (filtro.transacaoPaiId() != null) {
+            jpql.append(" AND t.transacaoPaiId = :transacaoPaiId");
+            parametros.put("transacaoPaiId", filtro.transacaoPaiId());
+        }
+        // Sem índice próprio: filtram as linhas encontradas pelos índices acima
+        if (filtro.tipoRecorrencia() != null) {
+            jpql.append(" AND t.tipoRecorrencia = :tipoRecorrencia");
+            parametros.put("tipoRecorrencia", filtro.tipoRecorrencia());
+        }
+        if (filtro.ativa() != null) {
+            jpql.append(" AND t.ativa = :ativa");
+            parametros.put("ativa", filtro.ativa());
+        }
+        if (filtro.valorMin() != null) {
+            jpql.append(" AND t.valor >= :valorMin");
+            parametros.put("valorMin", filtro.valorMin());
+        }
+        if (filtro.valorMax() != null) {
+            jpql.append(" AND t.valor <= :valorMax");
+            parametros.put("valorMax", filtro.valorMax());
+        }
+
+        if (ultimaData != null) {
+            jpql.append(" AND (t.dataTransacao < :ultimaData OR (t.dataTransacao = :ultimaData AND t.id < :ultimoId))");
+            parametros.put("ultimaData", ultimaData);
+            parametros.put("ultimoId", ultimoId);
+        }
+        jpql.append(" ORDER BY t.dataTransacao DESC, t.id DESC");
+
+        TypedQuery<TransacaoListagem> consulta = entityManager.createQuery(jpql.toString(), TransacaoListagem.class);
+        parametros.forEach(consulta::setParameter);
+        if (limite != null) {
+            consulta.setMaxResults(limite);
+        }
+        return consulta.getResultList();
+    }
+}
@@ -2,18 +2,29 @@ package com.financeiro.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.financeiro.domain.entities.Transacao;
 import com.financeiro.domain.enums.TipoRecorrencia;
+import com.financeiro.repository.projection.AlteracaoTransacao;
+import com.financeiro.repository.projection.OcorrenciaSerie;
+import com.financeiro.repository.projection.ReferenciaTransacao;
+import com.financeiro.repository.projection.TotalPorCategoria;
+import com.financeiro.repository.projection.TransacaoListagem;
 
 @Repository
-public interface TransacaoRepository extends JpaRepository<Transacao, UUID> {
+public interface TransacaoRepository extends JpaRepository<Transacao, UUID>, TransacaoFiltroRepository, TransacaoSerieRepository,
+        TransacaoExclusaoRepository {
 
     // Query para buscar todas as transações com relacionamentos carregados
     @Query("SELECT t FROM Transacao t LEFT JOIN FETCH t.usuario LEFT JOIN FETCH t.categoria")
@@ -23,6 +34,44 @@ public interface TransacaoRepository extends JpaRepository<Transacao, UUID> {
     @Query("SELECT t FROM Transacao t LEFT JOIN FETCH t.usuario LEFT JOIN FETCH t.categoria WHERE t.id = :id")
     java.util.Optional<Transacao> findByIdWithRelations(UUID id);
 
+    // ====================================================================
+    // Operações restritas ao dono: o filtro por usuário faz parte do próprio SQL
+    // (0 linhas = não existe OU pertence a outro usuário, sem consultas extras)
+    // ====================================================================
+    
+    @Query("SELECT t FROM Transacao t LEFT JOIN FETCH t.usuario LEFT JOIN FETCH t.categoria WHERE t.id = :id AND t.usuario.id = :usuarioId")
+    Optional<Transacao> findByIdAndUsuarioIdWithRelations(UUID id, UUID usuarioId);
+    
+    @Query("SELECT t.tipoRecorrencia FROM Transacao t WHERE t.id = :id AND t.usuario.id = :usuarioId")
+    Optional<TipoRecorrencia> findTipoRecorrenciaByIdAndUsuarioId(UUID id, UUID usuarioId);
+    
+    @Query("SELECT t.dataTransacao FROM Transacao t WHERE t.id = :id AND t.usuario.id = :usuarioId")
+    Optional<LocalDate> findDataTransacaoByIdAndUsuarioId(UUID id, UUID usuarioId);
+    
+    // Lote: pré-carga das transações referenciadas e remoção num único DELETE, ambos filtrados pelo dono
+    @Query("SELECT t FROM Transacao t JOIN FETCH t.categoria WHERE t.usuario.id = :usuarioId AND t.id IN :ids")
+    List<Transacao> findByUsuarioIdAndIdInWithCategoria(UUID usuarioId, Collection<UUID> ids);
+    
+    @Modifying
+    @Query("DELETE FROM Transacao t WHERE t.usuario.id = :usuarioId AND t.id IN :ids")
+    int deleteByUsuarioIdAndIdIn(UUID usuarioId, Collection<UUID> ids);
+    
+    // Pausa/reativa uma transação do próprio usuário com o tipo de recorrência informado
+    @Modifying
+    @Query("UPDATE Transacao t SET t.ativa = :ativa, t.dataAtualizacao = :agora, t.seqAlteracao = NULL "
+            + "WHERE t.id = :id AND t.usuario.id = :usuarioId AND t.tipoRecorrencia = :tipoRecorrencia")
+    int atualizarAtivaPorTipo(UUID id, UUID usuarioId, TipoRecorrencia tipoRecorrencia, Boolean ativa, LocalDateTime agora);
+    
+    // Ocorrências/parcelas da série posteriores à data (lápides e meses afetados pelo cancelamento)
+    @Query("SELECT new com.financeiro.repository.projection.ReferenciaTransacao(t.id, t.dataTransacao) "
+            + "FROM Transacao t WHERE t.transacaoPaiId = :transacaoPaiId AND t.usuario.id = :usuarioId AND t.dataTransacao > :data")
+    List<ReferenciaTransacao> findSerieApos(UUID transacaoPaiId, UUID usuarioId, LocalDate data);
+    
+    // Remove as ocorrências/parcelas da série posteriores à data
+    @Modifying
+    @Query("DELETE FROM Transacao t WHERE t.transacaoPaiId = :transacaoPaiId AND t.usuario.id = :usuarioId AND t.dataTransacao > :data")
+    int deleteDaSerieApos(UUID transacaoPaiId, UUID usuarioId, LocalDate data);
+
     @Query("SELECT t FROM Transacao t LEFT JOIN FETCH t.usuario LEFT JOIN FETCH t.categoria WHERE t.dataTransacao BETWEEN :inicio AND :fim")
     List<Transacao> findByDataTransacaoBetween(LocalDate inicio, LocalDate fim);
     
@@ -33,6 +82,78 @@ public interface TransacaoRepository extends JpaRepository<Transacao, UUID> {
     @Query("SELECT t FROM Transacao t LEFT JOIN FETCH t.usuario LEFT JOIN FETCH t.categoria WHERE t.usuario.id = :usuarioId AND t.dataTransacao BETWEEN :inicio AND :fim")
     List<Transacao> findByUsuarioIdAndDataTransacaoBetween(UUID usuarioId, LocalDate inicio, LocalDate fim);
 
+    // ====================================================================
+    // Leitura para listagens: projeção TransacaoListagem (somente as colunas da resposta),
+    // sem hidratar entidades. O dono é sempre filtrado e não é projetado.
+    // ====================================================================
+    
+    String SELECT_LISTAGEM = "SELECT new com.financeiro.repository.projection.TransacaoListagem("
+            + "t.id, t.descricao, t.valor, t.dataTransacao, t.tipo, t.observacoes, t.dataCriacao, t.dataAtualizacao, "
+            + "t.tipoRecorrencia, t.frequencia, t.recorrente, t.quantidadeParcelas, t.parcelaAtual, t.transacaoPaiId, t.ativa, "
+            + "c.id, c.nome, c.descricao, c.tipo, c.ativa, c.dataCriacao, c.dataAtualizacao, c.usuario.id, c.cor) "
+            + "FROM Transacao t JOIN t.categoria c ";
+    
+    @Query(SELECT_LISTAGEM + "WHERE t.usuario.id = :usuarioId")
+    List<TransacaoListagem> listarPorUsuario(UUID usuarioId);
+    
+    @Query(SELECT_LISTAGEM + "WHERE t.usuario.id = :usuarioId AND t.dataTransacao BETWEEN :inicio AND :fim")
+    List<TransacaoListagem> listarPorUsuarioEPeriodo(UUID usuarioId, LocalDate inicio, LocalDate fim);
+    
+    // Origens FIXA ativas do usuário iniciadas até a data (base da previsão mensal)
+    @Query(SELECT_LISTAGEM + "WHERE t.usuario.id = :usuarioId AND t.tipoRecorrencia = :tipoRecorrencia "
+            + "AND t.ativa = true AND t.transacaoPaiId IS NULL AND t.dataTransacao <= :ate")
+    List<TransacaoListagem> listarOrigensAtivasPorUsuario(UUID usuarioId, TipoRecorrencia tipoRecorrencia, LocalDate ate);
+    
+    // Paginação por keyset sobre (data_transacao DESC, id DESC), usando idx_transacoes_usuario_data.
+    // Sem OFFSET: cada página começa logo após a última linha da anterior, com o mesmo custo.
+    // O tamanho vem do Pageable (sempre página 0, que vira apenas LIMIT).
+    
+    @Query(SELECT_LISTAGEM + "WHERE t.usuario.id = :usuarioId AND t.dataTransacao BETWEEN :inicio AND :fim "
+            + "ORDER BY t.dataTransacao DESC, t.id DESC")
+    List<TransacaoListagem> findPrimeiraPagina(UUID usuarioId, LocalDate inicio, LocalDate fim, Pageable limite);
+    
+    @Query(SELECT_LISTAGEM + "WHERE t.usuario.id = :usuarioId AND t.dataTransacao BETWEEN :inicio AND :fim "
+            + "AND (t.dataTransacao < :ultimaData OR (t.dataTransacao = :ultimaData AND t.id < :ultimoId)) "
+            + "ORDER BY t.dataTransacao DESC, t.id DESC")
+    List<TransacaoListagem> findPaginaApos(UUID usuarioId, LocalDate inicio, LocalDate fim,
+            LocalDate ultimaData, UUID ultimoId, Pageable limite);
+
+    // Linhas dos ids encontrados pela busca textual (a ordem de relevância é refeita pelo chamador)
+    @Query(SELECT_LISTAGEM + "WHERE t.usuario.id = :usuarioId AND t.id IN :ids")
+    List<TransacaoListagem> listarPorIds(UUID usuarioId, Collection<UUID> ids);
+    
+    // Delta sync: ordem (seq_alteracao, id), por idx_transacoes_usuario_seq.
+    // A primeira consulta (só as posições, com LIMIT) decide onde a página termina; a segunda traz as linhas
+    // entre as duas posições.
+    
+    @Query("SELECT new com.financeiro.repository.projection.AlteracaoTransacao(t.seqAlteracao, t.id) "
+            + "FROM Transacao t WHERE t.usuario.id = :usuarioId AND t.seqAlteracao <= :ateSeq "
+            + "AND (t.seqAlteracao > :desdeSeq OR (t.seqAlteracao = :desdeSeq AND t.id > :desdeId)) "
+            + "ORDER BY t.seqAlteracao, t.id")
+    List<AlteracaoTransacao> findAlteracoesApos(UUID usuarioId, long desdeSeq, UUID desdeId, long ateSeq, Pageable limite);
+    
+    @Query(SELECT_LISTAGEM + "WHERE t.usuario.id = :usuarioId "
+            + "AND (t.seqAlteracao > :desdeSeq OR (t.seqAlteracao = :desdeSeq AND t.id > :desdeId)) "
+            + "AND (t.seqAlteracao < :ateSeq OR (t.seqAlteracao = :ateSeq AND t.id <= :ateId)) "
+            + "ORDER BY t.seqAlteracao, t.id")
+    List<TransacaoListagem> listarAlteradasEntre(UUID usuarioId, long desdeSeq, UUID desdeId, long ateSeq, UUID ateId);
+
+    // ====================================================================
+    // Resumo financeiro agregado no banco: uma linha por (tipo, categoria), em uma única consulta
+    // ====================================================================
+    
+    String SELECT_TOTAIS = "SELECT new com.financeiro.repository.projection.TotalPorCategoria("
+            + "t.tipo, c.id, c.nome, c.cor, SUM(t.valor), COUNT(t)) "
+            + "FROM Transacao t JOIN t.categoria c ";
+    
+    String AGRUPAR_TOTAIS = " GROUP BY t.tipo, c.id, c.nome, c.cor ORDER BY t.tipo, SUM(t.valor) DESC";
+    
+    @Query(SELECT_TOTAIS + "WHERE t.usuario.id = :usuarioId AND t.dataTransacao BETWEEN :inicio AND :fim" + AGRUPAR_TOTAIS)
+    List<TotalPorCategoria> totalizarPorCategoria(UUID usuarioId, LocalDate inicio, LocalDate fim);
+    
+    @Query(SELECT_TOTAIS + "WHERE t.dataTransacao BETWEEN :inicio AND :fim" + AGRUPAR_TOTAIS)
+    List<TotalPorCategoria> totalizarPorCategoriaGeral(LocalDate inicio, LocalDate fim);
+
     @Query("SELECT SUM(t.valor) FROM Transacao t WHERE t.tipo = 'RECEITA'")
     BigDecimal calcularTotalReceitas();
 
@@ -61,7 +182,14 @@ public interface TransacaoRepository extends JpaRepository<Transacao, UUID> {
     @Query("SELECT t FROM Transacao t LEFT JOIN FETCH t.usuario LEFT JOIN FETCH t.categoria WHERE t.tipoRecorrencia = :tipoRecorrencia AND t.ativa = :ativa")
     List<Transacao> findByTipoRecorrenciaAndAtiva(TipoRecorrencia tipoRecorrencia, Boolean ativa);
     
-    boolean existsByTransacaoPaiIdAndDataTransacao(UUID transacaoPaiId, LocalDate dataTransacao);
+    // Datas da série já geradas entre as candidatas (uma consulta por geração, pelo índice único pai + data)
+    @Query("SELECT t.dataTransacao FROM Transacao t WHERE t.transacaoPaiId = :transacaoPaiId AND t.dataTransacao IN :datas")
+    List<LocalDate> findDatasExistentesDaSerie(UUID transacaoPaiId, Collection<LocalDate> datas);
+    
+    // Lote: ocorrências/parcelas das séries que já ocupam alguma das datas candidatas (superconjunto dos pares)
+    @Query("SELECT new com.financeiro.repository.projection.OcorrenciaSerie(t.id, t.transacaoPaiId, t.dataTransacao) "
+            + "FROM Transacao t WHERE t.transacaoPaiId IN :transacaoPaiIds AND t.dataTransacao IN :datas")
+    List<OcorrenciaSerie> findDasSeriesNasDatas(Collection<UUID> transacaoPaiIds, Collection<LocalDate> datas);
     
     @Query("SELECT t FROM Transacao t WHERE t.transacaoPaiId = :transacaoPaiId ORDER BY t.dataTransacao DESC LIMIT 1")
     java.util.Optional<Transacao> findTopByTransacaoPaiIdOrderByDataTransacaoDesc(UUID transacaoPaiId);
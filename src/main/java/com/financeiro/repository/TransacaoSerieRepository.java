@@ -0,0 +1,30 @@
+package com.financeiro.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import com.financeiro.domain.entities.Transacao;
+import com.financeiro.domain.enums.EscopoSerie;
+import com.financeiro.repository.projection.ReferenciaTransacao;
+
+/**
+ * Edição em série: fragmento implementado à mão porque o UPDATE é montado com apenas os
+ * campos alterados (ver {@link TransacaoSerieRepositoryImpl}). As linhas alcançadas são as
+ * mesmas nos dois métodos: a transação informada, a origem da série (transacaoPaiId nulo)
+ * e as parcelas/ocorrências dela, todas do usuário.
+ */
+public interface TransacaoSerieRepository {
+
+    /**
+     * Linhas que {@link #atualizarSerie} alcançaria (meses afetados, para os eventos de alteração)
+     */
+    List<ReferenciaTransacao> listarDaSerie(UUID usuarioId, Transacao alvo, EscopoSerie escopo);
+
+    /**
+     * Um único UPDATE, sem carregar entidades; marca as linhas para o delta sync (seqAlteracao nulo)
+     *
+     * @return quantidade de transações alteradas
+     */
+    int atualizarSerie(UUID usuarioId, Transacao alvo, EscopoSerie escopo, AlteracaoSerie alteracao, LocalDateTime agora);
+}
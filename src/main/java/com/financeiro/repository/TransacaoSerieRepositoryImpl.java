@@ -0,0 +1,99 @@
+package com.financeiro.repository;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.financeiro.domain.entities.Transacao;
+import com.financeiro.domain.enums.EscopoSerie;
+import com.financeiro.domain.enums.TipoRecorrencia;
+import com.financeiro.repository.projection.ReferenciaTransacao;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * SET só com os campos informados; WHERE pela chave primária (ESTA) ou pela origem + pai
+ * (FUTURAS/TODAS), este pelo índice uk_transacoes_pai_data (V14), que também cobre o filtro
+ * de data das futuras. FUTURAS numa FIXA sempre inclui a origem, modelo da série.
+ */
+@RequiredArgsConstructor
+public class TransacaoSerieRepositoryImpl implements TransacaoSerieRepository {
+
+    private static final String SELECT_REFERENCIAS =
+            "SELECT new com.financeiro.repository.projection.ReferenciaTransacao(t.id, t.dataTransacao) FROM Transacao t ";
+
+    // Mesmo formato da criação da série parcelada: "descrição (i/N)"
+    private static final String DESCRICAO_PARCELA = "CASE WHEN t.parcelaAtual IS NULL OR t.quantidadeParcelas IS NULL "
+            + "THEN :descricao ELSE CONCAT(:descricao, ' (', CAST(t.parcelaAtual AS String), '/', "
+            + "CAST(t.quantidadeParcelas AS String), ')') END";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<ReferenciaTransacao> listarDaSerie(UUID usuarioId, Transacao alvo, EscopoSerie escopo) {
+        Map<String, Object> parametros = new HashMap<>();
+        String jpql = SELECT_REFERENCIAS + where(usuarioId, alvo, escopo, parametros);
+        TypedQuery<ReferenciaTransacao> query = entityManager.createQuery(jpql, ReferenciaTransacao.class);
+        parametros.forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    @Override
+    public int atualizarSerie(UUID usuarioId, Transacao alvo, EscopoSerie escopo, AlteracaoSerie alteracao, LocalDateTime agora) {
+        Map<String, Object> parametros = new HashMap<>();
+        StringBuilder jpql = new StringBuilder("UPDATE Transacao t SET t.dataAtualizacao = :agora, t.seqAlteracao = NULL");
+        parametros.put("agora", agora);
+
+        if (alteracao.descricao() != null) {
+            jpql.append(", t.descricao = ")
+                    .append(alvo.getTipoRecorrencia() == TipoRecorrencia.PARCELADA ? DESCRICAO_PARCELA : ":descricao");
+            parametros.put("descricao", alteracao.descricao());
+        }
+        if (alteracao.valor() != null) {
+            jpql.append(", t.valor = :valor");
+            parametros.put("valor", alteracao.valor());
+        }
+        if (alteracao.categoria() != null) {
+            jpql.append(", t.categoria = :categoria");
+            parametros.put("categoria", alteracao.categoria());
+        }
+        if (alteracao.observacoes() != null) {
+            jpql.append(", t.observacoes = :observacoes");
+            parametros.put("observacoes", alteracao.observacoes());
+        }
+        jpql.append(' ').append(where(usuarioId, alvo, escopo, parametros));
+
+        Query query = entityManager.createQuery(jpql.toString());
+        parametros.forEach(query::setParameter);
+        return query.executeUpdate();
+    }
+
+    private static String where(UUID usuarioId, Transacao alvo, EscopoSerie escopo, Map<String, Object> parametros) {
+        parametros.put("usuarioId", usuarioId);
+        if (escopo == EscopoSerie.ESTA) {
+            parametros.put("id", alvo.getId());
+            return "WHERE t.id = :id AND t.usuario.id = :usuarioId";
+        }
+
+        UUID origemId = alvo.getTransacaoPaiId() != null ? alvo.getTransacaoPaiId() : alvo.getId();
+        parametros.put("origemId", origemId);
+        if (escopo == EscopoSerie.TODAS) {
+            return "WHERE (t.id = :origemId OR t.transacaoPaiId = :origemId) AND t.usuario.id = :usuarioId";
+        }
+
+        parametros.put("aPartirDe", alvo.getDataTransacao());
+        // Numa FIXA a origem entra mesmo sendo anterior: o JOB copia dela as próximas ocorrências
+        // (RecorrenciaService.processarTransacaoFixa)
+        if (alvo.getTipoRecorrencia() == TipoRecorrencia.FIXA) {
+            return "WHERE (t.id = :origemId OR (t.transacaoPaiId = :origemId AND t.dataTransacao >= :aPartirDe)) "
+                    + "AND t.usuario.id = :usuarioId";
+        }
+        return "WHERE (t.id = :origemId OR t.transacaoPaiId = :origemId) AND t.dataTransacao >= :aPartirDe "
+                + "AND t.usuario.id = :usuarioId";
+    }
+}
@@ -5,16 +5,45 @@ import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.financeiro.domain.entities.Usuario;
+import com.financeiro.repository.projection.UsuarioResumo;
+import com.financeiro.repository.projection.VersaoTokenUsuario;
 
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, UUID> {
     
     Optional<Usuario> findByEmail(String email);
     
+    @Query("SELECT new com.financeiro.repository.projection.UsuarioResumo(u.id, u.email, u.papel, u.ativo, u.nome, u.foto) "
+            + "FROM Usuario u WHERE u.email = :email")
+    Optional<UsuarioResumo> findResumoByEmail(@Param("email") String email);
+    
     boolean existsByEmail(String email);
     
     List<Usuario> findByAtivoTrue();
+    
+    // Apenas versões já incrementadas: as demais são 0, o padrão do registro em memória
+    @Query("SELECT new com.financeiro.repository.projection.VersaoTokenUsuario(u.id, u.versaoToken) "
+            + "FROM Usuario u WHERE u.versaoToken > 0")
+    List<VersaoTokenUsuario> findVersoesTokenAlteradas();
+    
+    @Query("SELECT u.id FROM Usuario u")
+    List<UUID> findAllIds();
+
+    // Contador de alterações do usuário (delta sync); null se o usuário não existir
+    @Query("SELECT u.seqSincronizacao FROM Usuario u WHERE u.id = :id")
+    Long findSeqSincronizacao(UUID id);
+
+    // Maior seq de lápide removida pela retenção; tokens anteriores a ele estão expirados
+    @Query("SELECT u.seqExclusoesExpurgadas FROM Usuario u WHERE u.id = :id")
+    Long findSeqExclusoesExpurgadas(UUID id);
+    
+    @Modifying
+    @Query("UPDATE Usuario u SET u.senha = :senha WHERE u.id = :id")
+    int atualizarSenha(@Param("id") UUID id, @Param("senha") String senha);
 }
\ No newline at end of file
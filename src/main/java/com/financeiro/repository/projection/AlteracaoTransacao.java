@@ -0,0 +1,9 @@
+package com.financeiro.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Posição de uma transação na ordem do delta sync: (seq_alteracao, id)
+ */
+public record AlteracaoTransacao(Long seqAlteracao, UUID id) {
+}
@@ -0,0 +1,10 @@
+package com.financeiro.repository.projection;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Transação de uma série e a data que ela ocupa (restrição única pai + data)
+ */
+public record OcorrenciaSerie(UUID id, UUID transacaoPaiId, LocalDate dataTransacao) {
+}
@@ -0,0 +1,10 @@
+package com.financeiro.repository.projection;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Id e data de uma transação: o necessário para registrar a remoção (lápide e meses afetados)
+ */
+public record ReferenciaTransacao(UUID id, LocalDate dataTransacao) {
+}
@@ -0,0 +1,19 @@
+package com.financeiro.repository.projection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import com.financeiro.domain.entities.Transacao;
+
+/**
+ * Subtotal de um mês (AAAAMM) por tipo de transação e categoria, lido do resumo_mensal
+ */
+public record TotalMensalPorCategoria(
+        Integer anoMes,
+        Transacao.TipoTransacao tipo,
+        UUID categoriaId,
+        String categoriaNome,
+        String categoriaCor,
+        BigDecimal total,
+        Long quantidade) {
+}
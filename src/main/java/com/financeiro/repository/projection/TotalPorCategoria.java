@@ -0,0 +1,18 @@
+package com.financeiro.repository.projection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import com.financeiro.domain.entities.Transacao;
+
+/**
+ * Subtotal agregado no banco (SUM/COUNT) por tipo de transação e categoria
+ */
+public record TotalPorCategoria(
+        Transacao.TipoTransacao tipo,
+        UUID categoriaId,
+        String categoriaNome,
+        String categoriaCor,
+        BigDecimal total,
+        Long quantidade) {
+}
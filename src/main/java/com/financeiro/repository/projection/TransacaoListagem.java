@@ -0,0 +1,45 @@
+package com.financeiro.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.financeiro.domain.entities.Categoria;
+import com.financeiro.domain.entities.Transacao;
+import com.financeiro.domain.enums.Frequencia;
+import com.financeiro.domain.enums.TipoRecorrencia;
+
+/**
+ * Linha de listagem de transação com os dados da categoria já achatados.
+ *
+ * Preenchida por constructor expression (SELECT new ...): não é entidade gerenciada,
+ * então não entra no persistence context, não passa por dirty checking nem por @PostLoad.
+ * Os dados do usuário não fazem parte da linha: as listagens são sempre de um único dono.
+ */
+public record TransacaoListagem(
+        UUID id,
+        String descricao,
+        BigDecimal valor,
+        LocalDate dataTransacao,
+        Transacao.TipoTransacao tipo,
+        String observacoes,
+        LocalDateTime dataCriacao,
+        LocalDateTime dataAtualizacao,
+        TipoRecorrencia tipoRecorrencia,
+        Frequencia frequencia,
+        Boolean recorrente,
+        Integer quantidadeParcelas,
+        Integer parcelaAtual,
+        UUID transacaoPaiId,
+        Boolean ativa,
+        UUID categoriaId,
+        String categoriaNome,
+        String categoriaDescricao,
+        Categoria.TipoCategoria categoriaTipo,
+        Boolean categoriaAtiva,
+        LocalDateTime categoriaDataCriacao,
+        LocalDateTime categoriaDataAtualizacao,
+        UUID categoriaUsuarioId,
+        String categoriaCor) {
+}
@@ -0,0 +1,19 @@
+package com.financeiro.repository.projection;
+
+import java.util.UUID;
+
+import com.financeiro.domain.entities.Usuario;
+
+/**
+ * Snapshot enxuto da identidade de um usuário (sem senha nem relacionamentos),
+ * usado pelos serviços para resolver o usuário autenticado a partir do email.
+ * Nome e foto vão junto para montar o dono embutido nas respostas de transações sem consultar o usuário.
+ */
+public record UsuarioResumo(
+        UUID id,
+        String email,
+        Usuario.Papel papel,
+        Boolean ativo,
+        String nome,
+        String foto) {
+}
@@ -0,0 +1,9 @@
+package com.financeiro.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Versão vigente dos tokens de um usuário, carregada na inicialização do registro de versões
+ */
+public record VersaoTokenUsuario(UUID id, Integer versaoToken) {
+}
@@ -0,0 +1,38 @@
+-- ================================================================================
+-- V10: Resumo mensal (rollup) por usuário, mês, categoria e tipo
+-- ================================================================================
+-- Soma e quantidade de transações por (usuario_id, ano_mes, categoria_id, tipo).
+-- Mantido pela aplicação na mesma transação de cada alteração em transacoes:
+-- os meses afetados são recalculados a partir das linhas brutas antes do commit.
+-- Resumos, saldos e totais por categoria leem daqui, sem varrer transacoes.
+--
+-- ano_mes: inteiro AAAAMM (ex.: 202401), ordenável e comparável por faixa
+-- ================================================================================
+
+CREATE TABLE IF NOT EXISTS resumo_mensal (
+    usuario_id UUID NOT NULL REFERENCES usuarios(id) ON DELETE CASCADE,
+    ano_mes INTEGER NOT NULL,
+    categoria_id UUID NOT NULL REFERENCES categorias(id) ON DELETE CASCADE,
+    tipo VARCHAR(20) NOT NULL,
+    total NUMERIC(14, 2) NOT NULL,
+    quantidade BIGINT NOT NULL,
+    PRIMARY KEY (usuario_id, ano_mes, categoria_id, tipo)
+);
+
+-- Carga inicial a partir das transações existentes
+INSERT INTO resumo_mensal (usuario_id, ano_mes, categoria_id, tipo, total, quantidade)
+SELECT usuario_id,
+       CAST(EXTRACT(YEAR FROM data_transacao) * 100 + EXTRACT(MONTH FROM data_transacao) AS INTEGER),
+       categoria_id,
+       tipo,
+       SUM(valor),
+       COUNT(*)
+FROM transacoes
+GROUP BY usuario_id,
+         CAST(EXTRACT(YEAR FROM data_transacao) * 100 + EXTRACT(MONTH FROM data_transacao) AS INTEGER),
+         categoria_id,
+         tipo
+ON CONFLICT DO NOTHING;
+
+COMMENT ON TABLE resumo_mensal IS 'Totais mensais por usuário/categoria/tipo, mantidos a cada alteração de transações';
+COMMENT ON COLUMN resumo_mensal.ano_mes IS 'Mês no formato AAAAMM';
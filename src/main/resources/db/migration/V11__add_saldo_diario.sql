@@ -0,0 +1,38 @@
+-- ================================================================================
+-- V11: Saldo diário acumulado (checkpoints) por usuário
+-- ================================================================================
+-- Uma linha por usuário e dia COM movimento: o líquido do dia (receitas - despesas)
+-- e o saldo acumulado até o fim daquele dia (soma de prefixo).
+-- Saldo em uma data = saldo da última linha com data <= a data (uma busca no índice da PK);
+-- variação em um período = diferença entre dois saldos.
+--
+-- Mantido pela aplicação antes do commit de cada alteração em transacoes:
+-- as linhas a partir da data alterada mais antiga são recalculadas.
+-- ================================================================================
+
+CREATE TABLE IF NOT EXISTS saldo_diario (
+    usuario_id UUID NOT NULL REFERENCES usuarios(id) ON DELETE CASCADE,
+    data DATE NOT NULL,
+    liquido NUMERIC(14, 2) NOT NULL,
+    saldo NUMERIC(16, 2) NOT NULL,
+    PRIMARY KEY (usuario_id, data)
+);
+
+-- Carga inicial a partir das transações existentes
+INSERT INTO saldo_diario (usuario_id, data, liquido, saldo)
+SELECT usuario_id,
+       data_transacao,
+       liquido,
+       SUM(liquido) OVER (PARTITION BY usuario_id ORDER BY data_transacao)
+FROM (
+    SELECT usuario_id,
+           data_transacao,
+           SUM(CASE WHEN tipo = 'RECEITA' THEN valor ELSE -valor END) AS liquido
+    FROM transacoes
+    GROUP BY usuario_id, data_transacao
+) dias
+ON CONFLICT DO NOTHING;
+
+COMMENT ON TABLE saldo_diario IS 'Saldo acumulado por usuário ao fim de cada dia com movimento';
+COMMENT ON COLUMN saldo_diario.liquido IS 'Receitas - despesas do dia';
+COMMENT ON COLUMN saldo_diario.saldo IS 'Saldo acumulado até o fim do dia (inclusive)';
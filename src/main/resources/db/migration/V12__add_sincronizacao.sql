@@ -0,0 +1,39 @@
+-- ================================================================================
+-- V12: Sincronização incremental (delta sync) com lápides
+-- ================================================================================
+-- usuarios.seq_sincronizacao: contador de alterações por usuário, incrementado uma vez
+--   por transação de banco que altera dados do usuário (com a linha do usuário bloqueada).
+-- transacoes/categorias.seq_alteracao: valor do contador no commit que gravou a linha por
+--   último. NULL = alterada na transação em andamento (preenchido antes do commit).
+-- exclusoes_sincronizacao: lápides das transações removidas, com o mesmo seq_alteracao.
+--
+-- GET /api/sync?desde=<token> lê apenas linhas com seq_alteracao > token, pelos índices
+-- (usuario_id, seq_alteracao): o custo é proporcional às mudanças, não ao histórico.
+-- ================================================================================
+
+ALTER TABLE usuarios ADD COLUMN IF NOT EXISTS seq_sincronizacao BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE transacoes ADD COLUMN IF NOT EXISTS seq_alteracao BIGINT;
+ALTER TABLE categorias ADD COLUMN IF NOT EXISTS seq_alteracao BIGINT;
+
+-- Dados existentes entram na primeira sincronização (sem token) de cada usuário
+UPDATE transacoes SET seq_alteracao = 0 WHERE seq_alteracao IS NULL;
+UPDATE categorias SET seq_alteracao = 0 WHERE seq_alteracao IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_transacoes_usuario_seq ON transacoes(usuario_id, seq_alteracao);
+CREATE INDEX IF NOT EXISTS idx_categorias_usuario_seq ON categorias(usuario_id, seq_alteracao);
+
+CREATE TABLE IF NOT EXISTS exclusoes_sincronizacao (
+    entidade_id UUID PRIMARY KEY,
+    usuario_id UUID NOT NULL REFERENCES usuarios(id) ON DELETE CASCADE,
+    entidade VARCHAR(20) NOT NULL,
+    seq_alteracao BIGINT,
+    data_exclusao TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_exclusoes_usuario_seq ON exclusoes_sincronizacao(usuario_id, seq_alteracao);
+
+COMMENT ON COLUMN usuarios.seq_sincronizacao IS 'Contador de alterações do usuário (token do delta sync)';
+COMMENT ON COLUMN transacoes.seq_alteracao IS 'seq_sincronizacao do usuário no commit da última alteração';
+COMMENT ON COLUMN categorias.seq_alteracao IS 'seq_sincronizacao do usuário no commit da última alteração';
+COMMENT ON TABLE exclusoes_sincronizacao IS 'Lápides de registros removidos, para clientes em delta sync';
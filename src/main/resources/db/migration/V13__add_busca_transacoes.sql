@@ -0,0 +1,20 @@
+-- ================================================================================
+-- V13: Busca textual em transações (descrição + observações)
+-- ================================================================================
+-- GET /api/transacoes/busca?q= procura por substring (LIKE '%q%') e por semelhança de
+-- palavra (operador <% do pg_trgm, tolera erros de digitação) no texto normalizado:
+-- minúsculo e sem acentos (translate, IMMUTABLE, pode ser usado em índice).
+--
+-- O índice GIN composto (btree_gin) filtra pelo usuário e pelos trigramas na mesma
+-- varredura; a expressão indexada deve ser idêntica à usada em BuscaTransacaoService.
+-- ================================================================================
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+CREATE INDEX IF NOT EXISTS idx_transacoes_busca_trgm
+ON transacoes USING gin (
+    usuario_id,
+    (translate(lower(descricao || ' ' || coalesce(observacoes, '')),
+        'áàâãäéèêëíìîïóòôõöúùûüçñ', 'aaaaaeeeeiiiiooooouuuucn')) gin_trgm_ops
+);
@@ -0,0 +1,69 @@
+-- ================================================================================
+-- V14: Uma ocorrência/parcela por data em cada série
+-- ================================================================================
+-- A geração de séries (criação de PARCELADA/FIXA e JOB de recorrências) consulta as
+-- datas já existentes de uma vez e insere as que faltam em lote. A restrição única
+-- (transacao_pai_id, data_transacao) impede duplicatas quando duas gerações da mesma
+-- série correm ao mesmo tempo: a segunda falha em vez de repetir a ocorrência.
+-- Transações sem pai (NULL) não são afetadas.
+--
+-- O índice da restrição substitui idx_transacoes_pai_data (V8), de mesmas colunas.
+-- ================================================================================
+
+-- Duplicatas geradas antes da restrição: mantém a mais antiga de cada (pai, data)
+CREATE TEMPORARY TABLE transacoes_duplicadas ON COMMIT DROP AS
+SELECT id, usuario_id
+FROM (
+    SELECT id, usuario_id,
+           ROW_NUMBER() OVER (PARTITION BY transacao_pai_id, data_transacao ORDER BY data_criacao, id) AS ordem
+    FROM transacoes
+    WHERE transacao_pai_id IS NOT NULL
+) t
+WHERE t.ordem > 1;
+
+-- Clientes em delta sync recebem as removidas como lápides (carimbadas na próxima alteração do usuário)
+INSERT INTO exclusoes_sincronizacao (entidade_id, usuario_id, entidade)
+SELECT id, usuario_id, 'TRANSACAO' FROM transacoes_duplicadas
+ON CONFLICT (entidade_id) DO NOTHING;
+
+DELETE FROM transacoes WHERE id IN (SELECT id FROM transacoes_duplicadas);
+
+-- Rollups (V10/V11) dos usuários afetados recalculados sem as duplicatas
+DELETE FROM resumo_mensal WHERE usuario_id IN (SELECT usuario_id FROM transacoes_duplicadas);
+
+INSERT INTO resumo_mensal (usuario_id, ano_mes, categoria_id, tipo, total, quantidade)
+SELECT usuario_id,
+       CAST(EXTRACT(YEAR FROM data_transacao) * 100 + EXTRACT(MONTH FROM data_transacao) AS INTEGER),
+       categoria_id,
+       tipo,
+       SUM(valor),
+       COUNT(*)
+FROM transacoes
+WHERE usuario_id IN (SELECT usuario_id FROM transacoes_duplicadas)
+GROUP BY usuario_id,
+         CAST(EXTRACT(YEAR FROM data_transacao) * 100 + EXTRACT(MONTH FROM data_transacao) AS INTEGER),
+         categoria_id,
+         tipo;
+
+DELETE FROM saldo_diario WHERE usuario_id IN (SELECT usuario_id FROM transacoes_duplicadas);
+
+INSERT INTO saldo_diario (usuario_id, data, liquido, saldo)
+SELECT usuario_id,
+       data_transacao,
+       liquido,
+       SUM(liquido) OVER (PARTITION BY usuario_id ORDER BY data_transacao)
+FROM (
+    SELECT usuario_id,
+           data_transacao,
+           SUM(CASE WHEN tipo = 'RECEITA' THEN valor ELSE -valor END) AS liquido
+    FROM transacoes
+    WHERE usuario_id IN (SELECT usuario_id FROM transacoes_duplicadas)
+    GROUP BY usuario_id, data_transacao
+) dias;
+
+ALTER TABLE transacoes
+ADD CONSTRAINT uk_transacoes_pai_data UNIQUE (transacao_pai_id, data_transacao);
+
+DROP INDEX IF EXISTS idx_transacoes_pai_data;
+
+COMMENT ON CONSTRAINT uk_transacoes_pai_data ON transacoes IS 'Uma ocorrência/parcela por data em cada série';
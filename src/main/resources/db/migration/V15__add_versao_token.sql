@@ -0,0 +1,16 @@
+-- ================================================================================
+-- V15: Versão dos tokens de acesso persistida por usuário
+-- ================================================================================
+-- Todo token de acesso carrega a versão do usuário (claim "ver"); o filtro JWT recusa
+-- tokens de versão diferente da vigente, sem consultar o banco por requisição.
+-- A versão é incrementada na mesma gravação que altera email, senha, papel ou status
+-- ativo, e carregada em memória na inicialização: um restart não reabilita tokens
+-- emitidos antes de uma dessas alterações.
+-- ================================================================================
+
+ALTER TABLE usuarios ADD COLUMN IF NOT EXISTS versao_token INTEGER NOT NULL DEFAULT 0;
+
+-- Usuários já inativos: tokens emitidos até aqui (versão 0) deixam de ser aceitos
+UPDATE usuarios SET versao_token = 1 WHERE ativo = false;
+
+COMMENT ON COLUMN usuarios.versao_token IS 'Versão vigente dos tokens de acesso do usuário (claim ver)';
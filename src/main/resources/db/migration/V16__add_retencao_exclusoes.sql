@@ -0,0 +1,14 @@
+-- ================================================================================
+-- V16: Retenção das lápides do delta sync
+-- ================================================================================
+-- Lápides mais antigas que app.sincronizacao.retencao-exclusoes são removidas por um job
+-- diário. usuarios.seq_exclusoes_expurgadas guarda o maior seq_alteracao já removido:
+-- tokens anteriores a ele perderam lápides e recebem 410, pedindo nova sincronização
+-- completa (sem token).
+-- ================================================================================
+
+ALTER TABLE usuarios ADD COLUMN IF NOT EXISTS seq_exclusoes_expurgadas BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_exclusoes_data ON exclusoes_sincronizacao(data_exclusao);
+
+COMMENT ON COLUMN usuarios.seq_exclusoes_expurgadas IS 'Maior seq_alteracao de lápide já removida pela retenção';
@@ -0,0 +1,27 @@
+-- ================================================================================
+-- V9: Refresh tokens persistidos (rotação a cada uso e revogação)
+-- ================================================================================
+-- Cada refresh token emitido carrega um jti (UUID) registrado aqui.
+-- Ao ser usado, o token é revogado e substituído por um novo (rotação).
+-- Reuso de um token já revogado revoga todos os tokens do usuário.
+-- ================================================================================
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    jti UUID PRIMARY KEY,
+    usuario_id UUID NOT NULL REFERENCES usuarios(id) ON DELETE CASCADE,
+    emitido_em TIMESTAMP NOT NULL,
+    expira_em TIMESTAMP NOT NULL,
+    revogado_em TIMESTAMP,
+    substituido_por UUID
+);
+
+-- Tokens ativos por usuário (revogação em massa: logout global, reset de senha, desativação)
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_usuario_ativos
+ON refresh_tokens(usuario_id) WHERE revogado_em IS NULL;
+
+-- Limpeza periódica de tokens expirados
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expira_em
+ON refresh_tokens(expira_em);
+
+COMMENT ON TABLE refresh_tokens IS 'Refresh tokens emitidos (jti), com rotação e revogação';
+COMMENT ON COLUMN refresh_tokens.substituido_por IS 'jti do token emitido na rotação deste';
@@ -0,0 +1,155 @@
+package com.financeiro.application.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financeiro.domain.entities.Categoria;
+import com.financeiro.repository.CategoriaRepository;
+import com.financeiro.repository.UsuarioRepository;
+
+/**
+ * Busca no perfil h2: sem pg_trgm, apenas substring sem diferenciar maiúsculas nem acentos,
+ * paginada pelo cursor (relevância, data, id).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@WithMockUser(username = "admin@financeiro.com")
+class BuscaTransacaoServiceTest {
+
+    private static final String ADMIN = "admin@financeiro.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private BuscaTransacaoService buscaTransacaoService;
+
+    private UUID usuarioId;
+    private UUID categoriaDespesa;
+
+    @BeforeEach
+    void preparar() {
+        usuarioId = usuarioRepository.findByEmail(ADMIN).orElseThrow().getId();
+        categoriaDespesa = categoriaRepository.findAtivasByUsuarioAndTipo(usuarioId, Categoria.TipoCategoria.DESPESA)
+                .get(0).getId();
+    }
+
+    @Test
+    void cursorPreservaTodosOsBitsDaRelevancia() {
+        CursorBusca original = new CursorBusca(5.0 / 12, LocalDate.of(2034, 6, 30), UUID.randomUUID());
+
+        CursorBusca lido = CursorBusca.decodificar(original.codificar());
+
+        assertThat(lido).isEqualTo(original);
+        assertThat(Double.doubleToRawLongBits(lido.relevancia())).isEqualTo(Double.doubleToRawLongBits(5.0 / 12));
+    }
+
+    @Test
+    void cursorAdulteradoERecusado() {
+        String valido = new CursorBusca(1, LocalDate.of(2034, 1, 1), UUID.randomUUID()).codificar();
+
+        assertThatThrownBy(() -> CursorBusca.decodificar("nao-e-um-cursor")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CursorBusca.decodificar(valido.substring(1))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> buscaTransacaoService.buscar(usuarioId, "xilofone", "AAAA", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void semPgTrgmBuscaPorSubstringSemAcentosNemMaiusculas() throws Exception {
+        UUID comAcento = criar("Aula de XILÓFONE", null, LocalDate.of(2034, 2, 1));
+        UUID nasObservacoes = criar("Material", "partitura de xilofone", LocalDate.of(2034, 2, 2));
+        criar("Xilofne com erro de digitação", null, LocalDate.of(2034, 2, 3));
+
+        BuscaTransacaoService.PaginaBusca pagina = buscaTransacaoService.buscar(usuarioId, "  Xilofone ", null, 10);
+
+        // Erro de digitação só é tolerado pelo pg_trgm; aqui, mais recentes primeiro
+        assertThat(pagina.ids()).containsExactly(nasObservacoes, comAcento);
+        assertThat(pagina.temMais()).isFalse();
+        assertThat(pagina.proximoCursor()).isNull();
+    }
+
+    @Test
+    void curingasDoLikeSaoBuscadosLiteralmente() throws Exception {
+        UUID comPercentual = criar("Desconto 100%_OFF", null, LocalDate.of(2034, 3, 1));
+        criar("Desconto 1000 OFF", null, LocalDate.of(2034, 3, 2));
+
+        assertThat(buscaTransacaoService.buscar(usuarioId, "0%_o", null, 10).ids()).containsExactly(comPercentual);
+    }
+
+    @Test
+    void paginasPeloCursorCobremTodosOsResultadosSemRepetir() throws Exception {
+        List<UUID> criadas = new ArrayList<>();
+        for (int dia = 1; dia <= 5; dia++) {
+            criadas.add(0, criar("Ukulele " + dia, null, LocalDate.of(2034, 4, dia)));
+        }
+        // Duas no mesmo dia: o desempate é pelo id
+        criadas.add(criar("Ukulele extra", null, LocalDate.of(2034, 4, 1)));
+
+        List<UUID> lidas = new ArrayList<>();
+        List<Boolean> temMais = new ArrayList<>();
+        String cursor = null;
+        do {
+            BuscaTransacaoService.PaginaBusca pagina = buscaTransacaoService.buscar(usuarioId, "ukulele", cursor, 2);
+            lidas.addAll(pagina.ids());
+            temMais.add(pagina.temMais());
+            cursor = pagina.proximoCursor();
+        } while (cursor != null);
+
+        assertThat(temMais).containsExactly(true, true, false);
+        assertThat(lidas).hasSize(6).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(criadas);
+        assertThat(lidas.subList(0, 4)).containsExactlyElementsOf(criadas.subList(0, 4));
+    }
+
+    @Test
+    void termoCurtoDemaisERecusado() {
+        assertThatThrownBy(() -> buscaTransacaoService.buscar(usuarioId, " a ", null, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private UUID criar(String descricao, String observacoes, LocalDate data) throws Exception {
+        Map<String, Object> corpo = new HashMap<>();
+        corpo.put("descricao", descricao);
+        corpo.put("observacoes", observacoes);
+        corpo.put("valor", new BigDecimal("45.00"));
+        corpo.put("dataTransacao", data);
+        corpo.put("tipo", "DESPESA");
+        corpo.put("categoriaId", categoriaDespesa);
+        String resposta = mockMvc.perform(post("/api/transacoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(corpo)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return UUID.fromString(objectMapper.readTree(resposta).path("id").asText());
+    }
+}
@@ -0,0 +1,92 @@
+package com.financeiro.application.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.financeiro.application.events.CategoriasAlteradasEvent;
+import com.financeiro.application.events.TransacoesAlteradasEvent;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CacheMensalPorUsuarioTest {
+
+    private static final UUID USUARIO = UUID.randomUUID();
+    private static final YearMonth JANEIRO = YearMonth.of(2030, 1);
+
+    private final List<String> consultas = new ArrayList<>();
+    private Runnable durante = () -> { };
+    private final CacheMensalPorUsuario<String> cache = new CacheMensalPorUsuario<>(
+            Caffeine.newBuilder().maximumSize(100), null, this::consultar, "vazio", "teste", new SimpleMeterRegistry());
+
+    @Test
+    void lacunasVaoAoBancoNumaUnicaConsultaEMesesSemDadosFicamVazios() {
+        cache.carregar(USUARIO, JANEIRO.plusMonths(1), JANEIRO.plusMonths(1));
+        consultas.clear();
+
+        Map<YearMonth, String> meses = cache.carregar(USUARIO, JANEIRO, JANEIRO.plusMonths(3));
+
+        // Fevereiro em cache no meio do intervalo: uma consulta de janeiro a abril
+        assertThat(consultas).containsExactly("2030-01..2030-04");
+        assertThat(meses.keySet()).containsExactly(JANEIRO, JANEIRO.plusMonths(1), JANEIRO.plusMonths(2), JANEIRO.plusMonths(3));
+        assertThat(meses.get(JANEIRO.plusMonths(3))).isEqualTo("vazio");
+
+        cache.carregar(USUARIO, JANEIRO, JANEIRO.plusMonths(3));
+        assertThat(consultas).hasSize(1);
+    }
+
+    @Test
+    void alteracaoDescartaSoOsMesesDoEvento() {
+        cache.carregar(USUARIO, JANEIRO, JANEIRO.plusMonths(2));
+        consultas.clear();
+
+        cache.onTransacoesAlteradas(TransacoesAlteradasEvent.de(USUARIO, LocalDate.of(2030, 2, 10)));
+        cache.carregar(USUARIO, JANEIRO, JANEIRO.plusMonths(2));
+
+        assertThat(consultas).containsExactly("2030-02..2030-02");
+    }
+
+    @Test
+    void eventoSemDatasEAlteracaoDeCategoriaDescartamTodosOsMeses() {
+        cache.carregar(USUARIO, JANEIRO, JANEIRO.plusMonths(1));
+        consultas.clear();
+
+        cache.onTransacoesAlteradas(TransacoesAlteradasEvent.de(USUARIO, List.of()));
+        cache.carregar(USUARIO, JANEIRO, JANEIRO.plusMonths(1));
+        cache.onCategoriasAlteradas(new CategoriasAlteradasEvent(USUARIO));
+        cache.carregar(USUARIO, JANEIRO, JANEIRO.plusMonths(1));
+
+        assertThat(consultas).containsExactly("2030-01..2030-02", "2030-01..2030-02");
+    }
+
+    @Test
+    void consultaConcorrenteComUmaAlteracaoNaoEntraNoCache() {
+        // O commit chega enquanto a consulta ainda está em andamento: o valor lido pode estar velho
+        durante = () -> cache.onTransacoesAlteradas(TransacoesAlteradasEvent.de(USUARIO, LocalDate.of(2030, 1, 5)));
+        cache.carregar(USUARIO, JANEIRO, JANEIRO);
+        durante = () -> { };
+
+        cache.carregar(USUARIO, JANEIRO, JANEIRO);
+
+        assertThat(consultas).hasSize(2);
+    }
+
+    private Map<YearMonth, String> consultar(UUID usuarioId, YearMonth inicio, YearMonth fim) {
+        consultas.add(inicio + ".." + fim);
+        durante.run();
+        Map<YearMonth, String> valores = new HashMap<>();
+        for (YearMonth mes = inicio; mes.isBefore(fim); mes = mes.plusMonths(1)) {
+            valores.put(mes, "dados de " + mes);
+        }
+        return valores;
+    }
+}
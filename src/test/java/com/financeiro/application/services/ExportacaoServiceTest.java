@@ -0,0 +1,166 @@
+package com.financeiro.application.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.LongFunction;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financeiro.infrastructure.config.AppProperties;
+
+/**
+ * Exportação sem banco: o cursor JDBC é substituído por linhas sintéticas geradas sob demanda,
+ * uma por vez, como o driver entregaria com fetch size.
+ */
+class ExportacaoServiceTest {
+
+    private static final UUID USUARIO = UUID.randomUUID();
+    private static final UUID CATEGORIA = UUID.randomUUID();
+    private static final ExportacaoService.Filtro SEM_FILTRO = new ExportacaoService.Filtro(null, null, null);
+
+    @Test
+    void csvNeutralizaTextosQueComecamComoFormula() throws Exception {
+        ExportacaoService servico = servico(1, i -> linha(i, "=HYPERLINK(\"http://exemplo\")", "@SUM(A1)", "+5511999999999",
+                new BigDecimal("-10.50")));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        servico.exportar(USUARIO, SEM_FILTRO, ExportacaoService.Formato.CSV, false, saida);
+
+        String csv = saida.toString(StandardCharsets.UTF_8);
+        assertThat(csv).contains(",\"'=HYPERLINK(\"\"http://exemplo\"\")\",");
+        assertThat(csv).contains(",'@SUM(A1),");
+        assertThat(csv).contains(",'+5511999999999,");
+        // Números e datas não são textos livres: saem sem apóstrofo
+        assertThat(csv).contains(",-10.50,");
+        assertThat(csv).doesNotContain("'-10.50");
+    }
+
+    @Test
+    void limitaExportacoesSimultaneas() {
+        AppProperties propriedades = new AppProperties();
+        propriedades.getExportacao().setMaxSimultaneas(2);
+        ExportacaoService servico = new ExportacaoService(
+                new JdbcTemplate(), mock(PlatformTransactionManager.class), new ObjectMapper(), propriedades);
+
+        Optional<ExportacaoService.Reserva> primeira = servico.reservar();
+        Optional<ExportacaoService.Reserva> segunda = servico.reservar();
+        assertThat(primeira).isPresent();
+        assertThat(segunda).isPresent();
+        assertThat(servico.reservar()).isEmpty();
+
+        // Fechar duas vezes devolve a vaga uma única vez
+        primeira.get().close();
+        primeira.get().close();
+        assertThat(servico.reservar()).isPresent();
+        assertThat(servico.reservar()).isEmpty();
+    }
+
+    /**
+     * Milhões de linhas com heap reduzido (tarefa testHeapPequeno, -Xmx64m): se as linhas fossem
+     * acumuladas em memória, a exportação estouraria o heap muito antes do fim.
+     */
+    @Test
+    @Tag("heap-pequeno")
+    void exportaMilhoesDeLinhasComMemoriaConstante() throws Exception {
+        assertThat(Runtime.getRuntime().maxMemory()).isLessThanOrEqualTo(128L * 1024 * 1024);
+        long quantidade = 2_000_000;
+
+        for (ExportacaoService.Formato formato : ExportacaoService.Formato.values()) {
+            for (boolean gzip : new boolean[] {false, true}) {
+                ExportacaoService servico = servico(quantidade,
+                        i -> linha(i, "Compra " + i, "Mercado", "Observação da transação " + i, BigDecimal.valueOf(i, 2)));
+                ContadorBytes saida = new ContadorBytes();
+
+                long exportadas = servico.exportar(USUARIO, SEM_FILTRO, formato, gzip, saida);
+
+                assertThat(exportadas).isEqualTo(quantidade);
+                assertThat(saida.bytes).isGreaterThan(quantidade);
+            }
+        }
+    }
+
+    private static ExportacaoService servico(long quantidade, LongFunction<Object[]> linhas) {
+        return new ExportacaoService(new CursorSintetico(quantidade, linhas),
+                mock(PlatformTransactionManager.class), new ObjectMapper(), new AppProperties());
+    }
+
+    private static Object[] linha(long i, String descricao, String categoria, String observacoes, BigDecimal valor) {
+        return new Object[] {
+                new UUID(0, i), Date.valueOf(LocalDate.of(2020, 1, 1).plusDays(i % 3650)), descricao, valor, "DESPESA",
+                CATEGORIA, categoria, observacoes, "NAO_RECORRENTE", null, null, null,
+                null, Boolean.TRUE, Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 12, 0)), null
+        };
+    }
+
+    /**
+     * JdbcTemplate que entrega as linhas ao handler uma a uma, sem guardá-las
+     */
+    private static final class CursorSintetico extends JdbcTemplate {
+
+        private final long quantidade;
+        private final LongFunction<Object[]> linhas;
+
+        CursorSintetico(long quantidade, LongFunction<Object[]> linhas) {
+            this.quantidade = quantidade;
+            this.linhas = linhas;
+        }
+
+        @Override
+        public void query(PreparedStatementCreator psc, RowCallbackHandler rch) {
+            Object[][] atual = new Object[1][];
+            ResultSet rs = (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                    new Class<?>[] {ResultSet.class}, (proxy, metodo, args) -> {
+                        if (metodo.getName().equals("getObject") && args.length == 1 && args[0] instanceof Integer coluna) {
+                            return atual[0][coluna - 1];
+                        }
+                        throw new UnsupportedOperationException(metodo.getName());
+                    });
+            for (long i = 0; i < quantidade; i++) {
+                atual[0] = linhas.apply(i);
+                try {
+                    rch.processRow(rs);
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Descarta o conteúdo, contando apenas os bytes
+     */
+    private static final class ContadorBytes extends OutputStream {
+
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.financeiro.application.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financeiro.domain.entities.Categoria;
+import com.financeiro.domain.entities.Transacao;
+import com.financeiro.repository.CategoriaRepository;
+import com.financeiro.repository.TransacaoRepository;
+import com.financeiro.repository.UsuarioRepository;
+import com.financeiro.repository.projection.ReferenciaTransacao;
+import com.financeiro.support.SqlCapturado;
+import com.financeiro.support.TesteComPostgres;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Geração de séries no PostgreSQL: INSERTs em lote (UUID gerado na aplicação, order_inserts,
+ * batch_size 50), a restrição uk_transacoes_pai_data respondida com 409 e a origem da FIXA
+ * como modelo das ocorrências geradas pelo JOB.
+ */
+@AutoConfigureMockMvc
+@WithMockUser(username = "admin@financeiro.com")
+class GeracaoSerieTest extends TesteComPostgres {
+
+    private static final String ADMIN = "admin@financeiro.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private RecorrenciaService recorrenciaService;
+
+    private UUID usuarioId;
+    private UUID categoriaDespesa;
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void preparar() {
+        usuarioId = usuarioRepository.findByEmail(ADMIN).orElseThrow().getId();
+        categoriaDespesa = categoriaRepository.findAtivasByUsuarioAndTipo(usuarioId, Categoria.TipoCategoria.DESPESA)
+                .get(0).getId();
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void compraEm60ParcelasSaiEmInsertsEmLote() throws Exception {
+        SqlCapturado.limpar();
+        estatisticas.clear();
+
+        criar(parcelada("Notebook", LocalDate.of(2030, 1, 10), 60));
+
+        List<String> inserts = SqlCapturado.instrucoes().stream()
+                .filter(sql -> sql.toLowerCase().startsWith("insert into transacoes"))
+                .toList();
+        assertThat(estatisticas.getEntityInsertCount()).isEqualTo(60);
+        // 60 linhas em lotes de 50: no máximo um INSERT preparado por lote, nunca um por linha
+        assertThat(inserts).hasSizeLessThanOrEqualTo(2);
+        // Ids gerados na aplicação: nenhuma ida ao banco por sequência
+        assertThat(SqlCapturado.instrucoes()).noneMatch(sql -> sql.toLowerCase().contains("nextval"));
+    }
+
+    @Test
+    void transacaoFixaGeraOcorrenciasComUmaConsultaEUmLote() throws Exception {
+        Map<String, Object> fixa = transacao("Aluguel", LocalDate.of(2031, 3, 5));
+        fixa.put("tipoRecorrencia", "FIXA");
+        fixa.put("frequencia", "MENSAL");
+        SqlCapturado.limpar();
+        estatisticas.clear();
+
+        criar(fixa);
+
+        List<String> instrucoes = SqlCapturado.instrucoes().stream().map(String::toLowerCase).toList();
+        assertThat(estatisticas.getEntityInsertCount()).isEqualTo(13);
+        assertThat(instrucoes).filteredOn(sql -> sql.startsWith("insert into transacoes")).hasSizeLessThanOrEqualTo(2);
+        // Datas já existentes da série: uma única consulta para as 12 candidatas
+        assertThat(instrucoes).filteredOn(sql -> sql.startsWith("select") && sql.contains("transacao_pai_id")
+                && sql.contains(" in ")).hasSize(1);
+    }
+
+    @Test
+    void moverParcelaParaDataDeOutraDaSerieResponde409() throws Exception {
+        LocalDate inicio = LocalDate.of(2032, 2, 15);
+        UUID primeiraId = criar(parcelada("Geladeira", inicio, 4));
+        List<ReferenciaTransacao> demais = transacaoRepository.findSerieApos(primeiraId, usuarioId, inicio).stream()
+                .sorted(Comparator.comparing(ReferenciaTransacao::dataTransacao))
+                .toList();
+        ReferenciaTransacao segunda = demais.get(0);
+        ReferenciaTransacao terceira = demais.get(1);
+
+        Map<String, Object> atualizacao = new HashMap<>();
+        atualizacao.put("descricao", "Geladeira (3/4)");
+        atualizacao.put("valor", new BigDecimal("250.00"));
+        atualizacao.put("dataTransacao", segunda.dataTransacao());
+        atualizacao.put("categoriaId", categoriaDespesa);
+
+        mockMvc.perform(put("/api/transacoes/{id}", terceira.id())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(atualizacao)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.erro").value(DataOcupadaNaSerieException.MENSAGEM));
+
+        // Nada gravado: a terceira parcela continua na própria data
+        assertThat(transacaoRepository.findDataTransacaoByIdAndUsuarioId(terceira.id(), usuarioId))
+                .contains(terceira.dataTransacao());
+    }
+
+    @Test
+    void edicaoFuturasDeUmaFixaAlteraAOrigemESegueParaAsGeradasPeloJob() throws Exception {
+        Map<String, Object> fixa = transacao("Academia", LocalDate.now().minusMonths(3).withDayOfMonth(5));
+        fixa.put("tipoRecorrencia", "FIXA");
+        fixa.put("frequencia", "MENSAL");
+        UUID origemId = criar(fixa);
+        List<ReferenciaTransacao> ocorrencias = transacaoRepository
+                .findSerieApos(origemId, usuarioId, LocalDate.now().minusYears(1)).stream()
+                .sorted(Comparator.comparing(ReferenciaTransacao::dataTransacao))
+                .toList();
+        UUID primeira = ocorrencias.get(0).id();
+        UUID segunda = ocorrencias.get(1).id();
+
+        mockMvc.perform(patch("/api/transacoes/{id}/serie", segunda)
+                        .param("escopo", "futuras")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("valor", new BigDecimal("300.00")))))
+                .andExpect(status().isOk());
+
+        // A origem é o modelo da série: recebe a edição; a ocorrência anterior à editada, não
+        assertThat(transacaoRepository.findById(origemId).orElseThrow().getValor()).isEqualByComparingTo("300.00");
+        assertThat(transacaoRepository.findById(primeira).orElseThrow().getValor()).isEqualByComparingTo("250.00");
+
+        // A criação gerou até 9 meses à frente; o JOB completa até 12, copiando a origem
+        recorrenciaService.processarRecorrenciasFixas();
+
+        Transacao ultima = transacaoRepository.findTopByTransacaoPaiIdOrderByDataTransacaoDesc(origemId).orElseThrow();
+        assertThat(ultima.getDataTransacao()).isAfter(ocorrencias.get(ocorrencias.size() - 1).dataTransacao());
+        assertThat(ultima.getValor()).isEqualByComparingTo("300.00");
+    }
+
+    private UUID criar(Map<String, Object> corpo) throws Exception {
+        String resposta = mockMvc.perform(post("/api/transacoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(corpo)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return UUID.fromString(objectMapper.readTree(resposta).path("id").asText());
+    }
+
+    private Map<String, Object> parcelada(String descricao, LocalDate data, int parcelas) {
+        Map<String, Object> corpo = transacao(descricao, data);
+        corpo.put("tipoRecorrencia", "PARCELADA");
+        corpo.put("quantidadeParcelas", parcelas);
+        return corpo;
+    }
+
+    private Map<String, Object> transacao(String descricao, LocalDate data) {
+        Map<String, Object> corpo = new HashMap<>();
+        corpo.put("descricao", descricao);
+        corpo.put("valor", new BigDecimal("250.00"));
+        corpo.put("dataTransacao", data);
+        corpo.put("tipo", "DESPESA");
+        corpo.put("categoriaId", categoriaDespesa);
+        return corpo;
+    }
+}
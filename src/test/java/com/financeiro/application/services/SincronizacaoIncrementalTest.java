@@ -0,0 +1,214 @@
+package com.financeiro.application.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financeiro.domain.entities.Categoria;
+import com.financeiro.infrastructure.config.AppProperties;
+import com.financeiro.repository.CategoriaRepository;
+import com.financeiro.repository.UsuarioRepository;
+
+/**
+ * Delta sync pelo endpoint (perfil h2, com o admin do BootstrapData): carimbo de um seq por
+ * commit, lápides, paginação dentro de um mesmo commit e expiração de tokens pela retenção.
+ * Cada teste parte do token do estado atual, então a ordem de execução não importa.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@WithMockUser(username = "admin@financeiro.com")
+class SincronizacaoIncrementalTest {
+
+    private static final String ADMIN = "admin@financeiro.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private SincronizacaoService sincronizacaoService;
+
+    @Autowired
+    private AppProperties appProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID usuarioId;
+    private UUID categoriaDespesa;
+
+    @BeforeEach
+    void preparar() {
+        usuarioId = usuarioRepository.findByEmail(ADMIN).orElseThrow().getId();
+        categoriaDespesa = categoriaRepository.findAtivasByUsuarioAndTipo(usuarioId, Categoria.TipoCategoria.DESPESA)
+                .get(0).getId();
+    }
+
+    @Test
+    void cadaCommitRecebeUmSeqEEntregaSoOQueMudou() throws Exception {
+        String token = tokenAtual();
+        long seqAntes = usuarioRepository.findSeqSincronizacao(usuarioId);
+
+        UUID primeira = criar(transacao("Padaria", LocalDate.of(2033, 1, 10)));
+        UUID segunda = criar(transacao("Farmácia", LocalDate.of(2033, 1, 11)));
+
+        assertThat(usuarioRepository.findSeqSincronizacao(usuarioId)).isEqualTo(seqAntes + 2);
+        JsonNode pagina = sincronizar(token, null);
+        assertThat(ids(pagina.path("transacoes"))).containsExactly(primeira, segunda);
+        assertThat(pagina.path("exclusoes")).isEmpty();
+        assertThat(pagina.path("temMais").asBoolean()).isFalse();
+
+        // Nada mudou depois do novo token: resposta vazia e o mesmo token
+        JsonNode seguinte = sincronizar(pagina.path("proximoToken").asText(), null);
+        assertThat(seguinte.path("transacoes")).isEmpty();
+        assertThat(seguinte.path("proximoToken").asText()).isEqualTo(pagina.path("proximoToken").asText());
+    }
+
+    @Test
+    void remocaoViraLapide() throws Exception {
+        UUID id = criar(transacao("Cinema", LocalDate.of(2033, 2, 3)));
+        String token = tokenAtual();
+
+        remover(id);
+
+        JsonNode pagina = sincronizar(token, null);
+        assertThat(pagina.path("transacoes")).isEmpty();
+        assertThat(pagina.path("exclusoes")).hasSize(1);
+        assertThat(pagina.path("exclusoes").get(0).path("id").asText()).isEqualTo(id.toString());
+        assertThat(pagina.path("exclusoes").get(0).path("entidade").asText()).isEqualTo("TRANSACAO");
+
+        // Sem token o cliente não tem cópia local: nenhuma lápide
+        assertThat(sincronizar(null, 2000).path("exclusoes")).isEmpty();
+    }
+
+    @Test
+    void commitMaiorQueAPaginaEEntregueEmVariasPaginasSemRepetir() throws Exception {
+        String token = tokenAtual();
+        Map<String, Object> parcelada = transacao("Sofá", LocalDate.of(2033, 3, 20));
+        parcelada.put("tipoRecorrencia", "PARCELADA");
+        parcelada.put("quantidadeParcelas", 5);
+        criar(parcelada);
+
+        List<UUID> entregues = new ArrayList<>();
+        List<Boolean> temMais = new ArrayList<>();
+        JsonNode pagina;
+        do {
+            pagina = sincronizar(token, 2);
+            entregues.addAll(ids(pagina.path("transacoes")));
+            temMais.add(pagina.path("temMais").asBoolean());
+            token = pagina.path("proximoToken").asText();
+        } while (pagina.path("temMais").asBoolean());
+
+        // As 5 parcelas têm o mesmo seq: a posição (seq, id) do token separa as páginas
+        assertThat(temMais).containsExactly(true, true, false);
+        assertThat(entregues).hasSize(5).doesNotHaveDuplicates();
+
+        UUID depois = criar(transacao("Mercado", LocalDate.of(2033, 3, 21)));
+        assertThat(ids(sincronizar(token, 2).path("transacoes"))).containsExactly(depois);
+    }
+
+    @Test
+    void tokenAnteriorALapidesExpurgadasRespondeGone() throws Exception {
+        UUID id = criar(transacao("Academia", LocalDate.of(2033, 4, 8)));
+        String tokenAntigo = tokenAtual();
+        remover(id);
+        String tokenRecente = tokenAtual();
+
+        LocalDateTime foraDaRetencao = LocalDateTime.now()
+                .minus(appProperties.getSincronizacao().getRetencaoExclusoes())
+                .minusDays(1);
+        jdbcTemplate.update("UPDATE exclusoes_sincronizacao SET data_exclusao = ? WHERE entidade_id = ?",
+                Timestamp.valueOf(foraDaRetencao), id);
+
+        assertThat(sincronizacaoService.expurgarExclusoes()).isGreaterThanOrEqualTo(1);
+
+        mockMvc.perform(get("/api/sync").param("desde", tokenAntigo)).andExpect(status().isGone());
+        sincronizar(tokenRecente, null);
+        sincronizar(null, 2000);
+    }
+
+    private String tokenAtual() throws Exception {
+        JsonNode pagina = sincronizar(null, 2000);
+        while (pagina.path("temMais").asBoolean()) {
+            pagina = sincronizar(pagina.path("proximoToken").asText(), 2000);
+        }
+        return pagina.path("proximoToken").asText();
+    }
+
+    private JsonNode sincronizar(String desde, Integer tamanho) throws Exception {
+        var requisicao = get("/api/sync");
+        if (desde != null) {
+            requisicao.param("desde", desde);
+        }
+        if (tamanho != null) {
+            requisicao.param("tamanho", tamanho.toString());
+        }
+        String resposta = mockMvc.perform(requisicao)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(resposta);
+    }
+
+    private UUID criar(Map<String, Object> corpo) throws Exception {
+        String resposta = mockMvc.perform(post("/api/transacoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(corpo)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return UUID.fromString(objectMapper.readTree(resposta).path("id").asText());
+    }
+
+    private void remover(UUID id) throws Exception {
+        mockMvc.perform(delete("/api/transacoes/{id}", id)).andExpect(status().is2xxSuccessful());
+    }
+
+    private static List<UUID> ids(JsonNode itens) {
+        List<UUID> ids = new ArrayList<>();
+        itens.forEach(item -> ids.add(UUID.fromString(item.path("id").asText())));
+        return ids;
+    }
+
+    private Map<String, Object> transacao(String descricao, LocalDate data) {
+        Map<String, Object> corpo = new HashMap<>();
+        corpo.put("descricao", descricao);
+        corpo.put("valor", new BigDecimal("80.00"));
+        corpo.put("dataTransacao", data);
+        corpo.put("tipo", "DESPESA");
+        corpo.put("categoriaId", categoriaDespesa);
+        return corpo;
+    }
+}
@@ -0,0 +1,69 @@
+package com.financeiro.application.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.financeiro.domain.entities.Usuario;
+import com.financeiro.infrastructure.config.AppProperties;
+import com.financeiro.repository.UsuarioRepository;
+import com.financeiro.repository.projection.UsuarioResumo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Identidade resolvida dentro de uma requisição HTTP (memo ativo)
+ */
+class UsuarioIdentidadeCacheTest {
+
+    private static final String EMAIL = "usuario@financeiro.com";
+
+    private final UsuarioRepository usuarioRepository = mock(UsuarioRepository.class);
+    private final UsuarioIdentidadeCache cache =
+            new UsuarioIdentidadeCache(usuarioRepository, new AppProperties(), new SimpleMeterRegistry());
+
+    @BeforeEach
+    void abrirRequisicao() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void fecharRequisicao() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void usuarioInativoNaoEResolvidoNemPeloMemoDaRequisicao() {
+        when(usuarioRepository.findResumoByEmail(EMAIL))
+                .thenReturn(Optional.of(new UsuarioResumo(UUID.randomUUID(), EMAIL, Usuario.Papel.USER, false, "Inativo", null)));
+
+        assertThat(cache.buscar(EMAIL)).isEmpty();
+        assertThat(cache.buscar(EMAIL)).isEmpty();
+
+        // A segunda busca veio do memo, sem nova consulta
+        verify(usuarioRepository, times(1)).findResumoByEmail(EMAIL);
+    }
+
+    @Test
+    void usuarioAtivoEConsultadoUmaVezPorRequisicao() {
+        UsuarioResumo ativo = new UsuarioResumo(UUID.randomUUID(), EMAIL, Usuario.Papel.USER, true, "Ativo", null);
+        when(usuarioRepository.findResumoByEmail(EMAIL)).thenReturn(Optional.of(ativo));
+
+        assertThat(cache.buscar(EMAIL)).contains(ativo);
+        assertThat(cache.buscar(EMAIL)).contains(ativo);
+
+        verify(usuarioRepository, times(1)).findResumoByEmail(EMAIL);
+    }
+}
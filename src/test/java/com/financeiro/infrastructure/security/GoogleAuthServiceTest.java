@@ -0,0 +1,132 @@
+package com.financeiro.infrastructure.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.financeiro.infrastructure.config.GoogleProperties;
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.client.json.webtoken.JsonWebSignature;
+
+class GoogleAuthServiceTest {
+
+    private static final String CLIENT_ID = "cliente-teste.apps.googleusercontent.com";
+
+    @TempDir
+    Path diretorio;
+
+    private Path jwks;
+    private JwksFileKeySource fonte;
+    private GoogleAuthService service;
+
+    @BeforeEach
+    void configurar() throws Exception {
+        jwks = diretorio.resolve("jwks.json");
+        GoogleProperties propriedades = new GoogleProperties();
+        propriedades.getClient().setId(CLIENT_ID);
+        fonte = spy(new JwksFileKeySource(jwks));
+        service = new GoogleAuthService(propriedades, fonte);
+    }
+
+    @Test
+    void tokenAssinadoPorChaveEmCacheNaoRecarregaChaves() throws Exception {
+        KeyPair chave = gerarChave();
+        publicar(chave);
+        fonte.getPublicKeys();
+        clearInvocations(fonte);
+
+        service.verifyToken(token(chave, CLIENT_ID));
+        GoogleIdToken.Payload payload = service.verifyToken(token(chave, CLIENT_ID));
+
+        assertThat(payload.getEmail()).isEqualTo("usuario@gmail.com");
+        verify(fonte, never()).refresh();
+    }
+
+    @Test
+    void chaveNovaDoGoogleERecarregadaUmaVez() throws Exception {
+        KeyPair antiga = gerarChave();
+        KeyPair nova = gerarChave();
+        publicar(antiga);
+        fonte.getPublicKeys();
+        clearInvocations(fonte);
+
+        publicar(antiga, nova);
+
+        assertThat(service.verifyToken(token(nova, CLIENT_ID)).getSubject()).isEqualTo("123");
+        service.verifyToken(token(nova, CLIENT_ID));
+        verify(fonte, times(1)).refresh();
+    }
+
+    @Test
+    void tokensForjadosNaoDisparamRecargasRepetidas() throws Exception {
+        KeyPair chave = gerarChave();
+        KeyPair forjada = gerarChave();
+        publicar(chave);
+        fonte.getPublicKeys();
+        clearInvocations(fonte);
+
+        assertThatThrownBy(() -> service.verifyToken(token(forjada, CLIENT_ID))).hasMessage("Token inválido");
+        assertThatThrownBy(() -> service.verifyToken(token(forjada, CLIENT_ID))).hasMessage("Token inválido");
+
+        verify(fonte, times(1)).refresh();
+    }
+
+    @Test
+    void audienciaErradaERejeitadaSemConsultarChaves() throws Exception {
+        KeyPair chave = gerarChave();
+        publicar(chave);
+
+        assertThatThrownBy(() -> service.verifyToken(token(chave, "outro-cliente"))).hasMessage("Token inválido");
+
+        verify(fonte, never()).getPublicKeys();
+    }
+
+    private static KeyPair gerarChave() throws Exception {
+        KeyPairGenerator gerador = KeyPairGenerator.getInstance("RSA");
+        gerador.initialize(2048);
+        return gerador.generateKeyPair();
+    }
+
+    private void publicar(KeyPair... chaves) throws Exception {
+        Base64.Encoder base64Url = Base64.getUrlEncoder().withoutPadding();
+        List<String> jwk = Arrays.stream(chaves)
+                .map(par -> (RSAPublicKey) par.getPublic())
+                .map(publica -> "{\"kty\":\"RSA\",\"alg\":\"RS256\",\"n\":\""
+                        + base64Url.encodeToString(publica.getModulus().toByteArray())
+                        + "\",\"e\":\""
+                        + base64Url.encodeToString(publica.getPublicExponent().toByteArray()) + "\"}")
+                .toList();
+        Files.writeString(jwks, "{\"keys\":[" + String.join(",", jwk) + "]}");
+    }
+
+    private static String token(KeyPair chave, String audiencia) throws Exception {
+        long agora = System.currentTimeMillis() / 1000;
+        JsonWebSignature.Header cabecalho = new JsonWebSignature.Header().setAlgorithm("RS256").setType("JWT");
+        GoogleIdToken.Payload payload = new GoogleIdToken.Payload()
+                .setIssuer("https://accounts.google.com")
+                .setAudience(audiencia)
+                .setSubject("123")
+                .setEmail("usuario@gmail.com")
+                .setIssuedAtTimeSeconds(agora)
+                .setExpirationTimeSeconds(agora + 3600);
+        return JsonWebSignature.signUsingRsaSha256(chave.getPrivate(), GsonFactory.getDefaultInstance(), cabecalho, payload);
+    }
+}
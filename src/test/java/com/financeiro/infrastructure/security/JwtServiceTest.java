@@ -0,0 +1,116 @@
+package com.financeiro.infrastructure.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.util.Date;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import com.financeiro.domain.entities.Usuario;
+import com.financeiro.infrastructure.config.SecurityProperties;
+import com.financeiro.repository.UsuarioRepository;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtServiceTest {
+
+    private final SecurityProperties propriedades = new SecurityProperties();
+    private final TokenVersionRegistry versoes = new TokenVersionRegistry(mock(UsuarioRepository.class));
+    private final Usuario usuario = Usuario.builder()
+            .id(UUID.randomUUID())
+            .nome("Usuário")
+            .email("usuario@financeiro.com")
+            .senha("hash")
+            .papel(Usuario.Papel.USER)
+            .ativo(true)
+            .build();
+
+    @AfterEach
+    void limparContexto() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void tokenRepetidoEAtendidoPeloCacheSemNovaVerificacao() {
+        JwtService jwtService = new JwtService(propriedades, versoes, new SimpleMeterRegistry());
+        String token = jwtService.generateToken(usuario);
+
+        TokenClaims primeira = jwtService.verificarToken(token);
+        TokenClaims segunda = jwtService.verificarToken(token);
+
+        assertThat(segunda).isSameAs(primeira);
+        assertThat(primeira.subject()).isEqualTo(usuario.getEmail());
+        assertThat(primeira.usuarioId()).isEqualTo(usuario.getId());
+        assertThat(primeira.versao()).isZero();
+    }
+
+    @Test
+    void tokenVerificadoDeixaDeSerAceitoQuandoExpira() throws InterruptedException {
+        propriedades.getJwt().setExpirationTime(1000);
+        JwtService jwtService = new JwtService(propriedades, versoes, new SimpleMeterRegistry());
+        String token = jwtService.generateToken(usuario);
+        jwtService.verificarToken(token);
+
+        // exp do JWT tem resolução de segundos
+        Thread.sleep(2100);
+
+        assertThatThrownBy(() -> jwtService.verificarToken(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void tokenAlteradoNaoAproveitaOCacheDoOriginal() {
+        JwtService jwtService = new JwtService(propriedades, versoes, new SimpleMeterRegistry());
+        String token = jwtService.generateToken(usuario);
+        jwtService.verificarToken(token);
+
+        int assinatura = token.lastIndexOf('.') + 1;
+        char trocado = token.charAt(assinatura) == 'A' ? 'B' : 'A';
+        String adulterado = token.substring(0, assinatura) + trocado + token.substring(assinatura + 1);
+
+        assertThatThrownBy(() -> jwtService.verificarToken(adulterado)).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void refreshTokenNaoAutenticaRequisicoes() throws Exception {
+        JwtService jwtService = new JwtService(propriedades, versoes, new SimpleMeterRegistry());
+        String refresh = jwtService.generateRefreshToken(usuario, UUID.randomUUID(),
+                new Date(), new Date(System.currentTimeMillis() + 60_000));
+        UserDetailsService userDetailsService = mock(UserDetailsService.class);
+        JwtAuthenticationFilter filtro = new JwtAuthenticationFilter(jwtService, userDetailsService, versoes, propriedades);
+        MockHttpServletRequest requisicao = new MockHttpServletRequest("GET", "/api/transacoes");
+        requisicao.addHeader("Authorization", "Bearer " + refresh);
+
+        filtro.doFilter(requisicao, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(jwtService.verificarToken(refresh).isRefresh()).isTrue();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void tokenDeVersaoAnteriorNaoAutentica() throws Exception {
+        JwtService jwtService = new JwtService(propriedades, versoes, new SimpleMeterRegistry());
+        String token = jwtService.generateToken(usuario);
+        versoes.invalidarTokens(usuario);
+        JwtAuthenticationFilter filtro = new JwtAuthenticationFilter(
+                jwtService, mock(UserDetailsService.class), versoes, propriedades);
+        MockHttpServletRequest requisicao = new MockHttpServletRequest("GET", "/api/transacoes");
+        requisicao.addHeader("Authorization", "Bearer " + token);
+
+        filtro.doFilter(requisicao, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+}
@@ -0,0 +1,105 @@
+package com.financeiro.infrastructure.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.financeiro.domain.entities.Usuario;
+import com.financeiro.infrastructure.config.SecurityProperties;
+import com.financeiro.repository.RefreshTokenRepository;
+import com.financeiro.repository.UsuarioRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RefreshTokenServiceTest {
+
+    private final SecurityProperties propriedades = new SecurityProperties();
+    private final JwtService jwtService = new JwtService(
+            propriedades, new TokenVersionRegistry(mock(UsuarioRepository.class)), new SimpleMeterRegistry());
+    private final RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final RevokedRefreshTokenIndex indice = new RevokedRefreshTokenIndex(propriedades);
+    private final RefreshTokenService service = new RefreshTokenService(jwtService, refreshTokenRepository, indice,
+            mock(UserDetailsService.class), propriedades, transactionManager);
+    private final Usuario usuario = Usuario.builder()
+            .id(UUID.randomUUID())
+            .nome("Usuário")
+            .email("usuario@financeiro.com")
+            .senha("hash")
+            .papel(Usuario.Papel.USER)
+            .ativo(true)
+            .build();
+
+    @Test
+    void logoutDeTokenJaRevogadoNaoAcessaOBanco() {
+        UUID jti = UUID.randomUUID();
+        Instant expiraEm = Instant.now().plus(1, ChronoUnit.DAYS);
+        indice.adicionar(jti, expiraEm);
+
+        service.revogar(refreshToken(jti, expiraEm));
+
+        verifyNoInteractions(refreshTokenRepository, transactionManager);
+    }
+
+    @Test
+    void logoutDeTokenAtivoRevogaNoBancoERegistraNoIndice() {
+        UUID jti = UUID.randomUUID();
+        Instant expiraEm = Instant.now().plus(1, ChronoUnit.DAYS);
+        when(refreshTokenRepository.revogarSeAtivo(eq(jti), isNull(), any())).thenReturn(1);
+
+        service.revogar(refreshToken(jti, expiraEm));
+
+        verify(refreshTokenRepository).revogarSeAtivo(eq(jti), isNull(), any());
+        assertThat(indice.isRevogado(jti)).isTrue();
+    }
+
+    @Test
+    void revogacaoDuranteAReconstrucaoSobreviveATroca() {
+        UUID doBanco = UUID.randomUUID();
+        UUID duranteALeitura = UUID.randomUUID();
+        Instant expiraEm = Instant.now().plus(1, ChronoUnit.DAYS);
+
+        // Commit concorrente: entra no índice depois da consulta, que não o viu
+        indice.reconstruir(() -> {
+            Map<UUID, Instant> lidos = Map.of(doBanco, expiraEm);
+            indice.adicionar(duranteALeitura, expiraEm);
+            return lidos;
+        });
+
+        assertThat(indice.isRevogado(doBanco)).isTrue();
+        assertThat(indice.isRevogado(duranteALeitura)).isTrue();
+        assertThat(indice.tamanho()).isEqualTo(2);
+    }
+
+    @Test
+    void reconstrucaoDescartaRevogadosExpiradosEOsQueNaoEstaoNoBanco() {
+        UUID anterior = UUID.randomUUID();
+        UUID expirado = UUID.randomUUID();
+        indice.adicionar(anterior, Instant.now().plus(1, ChronoUnit.DAYS));
+
+        indice.reconstruir(() -> Map.of(expirado, Instant.now().minusSeconds(1)));
+
+        assertThat(indice.isRevogado(expirado)).isFalse();
+        assertThat(indice.isRevogado(anterior)).isFalse();
+        assertThat(indice.tamanho()).isZero();
+    }
+
+    private String refreshToken(UUID jti, Instant expiraEm) {
+        return jwtService.generateRefreshToken(usuario, jti, new Date(), Date.from(expiraEm));
+    }
+}
@@ -0,0 +1,94 @@
+package com.financeiro.presentation.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.financeiro.application.services.UsuarioService;
+import com.financeiro.domain.entities.Usuario;
+import com.financeiro.repository.UsuarioRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * If-None-Match igual à versão atual (usuarios.seq_sincronizacao): 304 com uma única instrução SQL,
+ * a leitura da versão (perfil h2, com o admin do BootstrapData). A primeira requisição aquece o
+ * cache de identidade; só a segunda, condicional, é medida.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@WithMockUser(username = "admin@financeiro.com")
+class ConsultaCondicionalTest {
+
+    private static final String ADMIN = "admin@financeiro.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/categorias", "/api/transacoes"})
+    void ifNoneMatchIgualRespondeNaoModificadoLendoSoAVersao(String recurso) throws Exception {
+        String etag = etagAtual(recurso);
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        mockMvc.perform(get(recurso).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void etagEDerivadoDaVersaoPersistida() throws Exception {
+        Usuario admin = usuarioRepository.findByEmail(ADMIN).orElseThrow();
+        long versao = usuarioRepository.findSeqSincronizacao(admin.getId());
+
+        // Sem prefixo de instância: o mesmo ETag vale depois de um restart e em outra instância
+        assertThat(etagAtual("/api/categorias")).startsWith("\"" + versao + "-");
+    }
+
+    @Test
+    void alteracaoDoPerfilInvalidaOsEtags() throws Exception {
+        Usuario admin = usuarioRepository.findByEmail(ADMIN).orElseThrow();
+        String etag = etagAtual("/api/transacoes");
+
+        usuarioService.atualizarUsuario(admin.getId(), admin.getNome() + " (editado)", null, null, null);
+
+        mockMvc.perform(get("/api/transacoes").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        usuarioService.atualizarUsuario(admin.getId(), admin.getNome(), null, null, null);
+    }
+
+    private String etagAtual(String recurso) throws Exception {
+        return mockMvc.perform(get(recurso))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,100 @@
+package com.financeiro.presentation.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financeiro.domain.entities.Categoria;
+import com.financeiro.domain.entities.Usuario;
+import com.financeiro.repository.CategoriaRepository;
+import com.financeiro.repository.UsuarioRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * O dono embutido nas listagens vem do cache de identidade: nenhuma carga da entidade Usuario
+ * por requisição (perfil h2, com o admin do BootstrapData).
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@WithMockUser(username = "admin@financeiro.com")
+class ListagemTransacoesTest {
+
+    private static final String ADMIN = "admin@financeiro.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/api/transacoes?dataInicio=2036-01-01&dataFim=2036-01-31",
+            "/api/transacoes?dataInicio=2036-01-01&dataFim=2036-01-31&completo=true",
+            "/api/transacoes/preview?ano=2036&mes=1"})
+    void donoEmbutidoNaoCarregaOUsuario(String recurso) throws Exception {
+        Usuario admin = usuarioRepository.findByEmail(ADMIN).orElseThrow();
+        UUID categoria = categoriaRepository.findAtivasByUsuarioAndTipo(admin.getId(), Categoria.TipoCategoria.DESPESA)
+                .get(0).getId();
+        criar(categoria, LocalDate.of(2036, 1, 15));
+        // Aquece o cache de identidade; só a segunda requisição é medida
+        mockMvc.perform(get(recurso)).andExpect(status().isOk());
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        mockMvc.perform(get(recurso)).andExpect(status().isOk());
+
+        assertThat(estatisticas.getEntityStatistics(Usuario.class.getName()).getLoadCount()).isZero();
+        String itens = recurso.contains("completo") || recurso.contains("preview") ? "$[0]" : "$.itens[0]";
+        mockMvc.perform(get(recurso))
+                .andExpect(jsonPath(itens + ".usuario.id").value(admin.getId().toString()))
+                .andExpect(jsonPath(itens + ".usuario.nome").value(admin.getNome()))
+                .andExpect(jsonPath(itens + ".usuario.email").value(ADMIN));
+    }
+
+    private void criar(UUID categoria, LocalDate data) throws Exception {
+        Map<String, Object> corpo = new HashMap<>();
+        corpo.put("descricao", "Livraria");
+        corpo.put("valor", new BigDecimal("60.00"));
+        corpo.put("dataTransacao", data);
+        corpo.put("tipo", "DESPESA");
+        corpo.put("categoriaId", categoria);
+        mockMvc.perform(post("/api/transacoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(corpo)))
+                .andExpect(status().isCreated());
+    }
+}
@@ -0,0 +1,189 @@
+package com.financeiro.presentation.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financeiro.domain.entities.Categoria;
+import com.financeiro.domain.entities.Usuario;
+import com.financeiro.repository.CategoriaRepository;
+import com.financeiro.repository.TransacaoRepository;
+import com.financeiro.repository.UsuarioRepository;
+
+/**
+ * POST /api/transacoes/lote (perfil h2, com o admin do BootstrapData): tudo ou nada, erros por
+ * item e nenhuma categoria ou transação de outro usuário alcançável.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@WithMockUser(username = "admin@financeiro.com")
+class LoteTransacoesTest {
+
+    private static final String ADMIN = "admin@financeiro.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    private UUID usuarioId;
+    private UUID categoriaDespesa;
+    private UUID categoriaReceita;
+
+    @BeforeEach
+    void preparar() {
+        usuarioId = usuarioRepository.findByEmail(ADMIN).orElseThrow().getId();
+        categoriaDespesa = categoriaRepository.findAtivasByUsuarioAndTipo(usuarioId, Categoria.TipoCategoria.DESPESA)
+                .get(0).getId();
+        categoriaReceita = categoriaRepository.findAtivasByUsuarioAndTipo(usuarioId, Categoria.TipoCategoria.RECEITA)
+                .get(0).getId();
+    }
+
+    @Test
+    void loteValidoAplicaTodasAsOperacoes() throws Exception {
+        UUID aAtualizar = criar(transacao("Conta de luz", LocalDate.of(2035, 1, 10), categoriaDespesa));
+        UUID aRemover = criar(transacao("Conta de gás", LocalDate.of(2035, 1, 11), categoriaDespesa));
+        long antes = transacaoRepository.countByUsuarioId(usuarioId);
+
+        JsonNode resposta = enviar(List.of(
+                criacao(transacao("Conta de água", LocalDate.of(2035, 1, 12), categoriaDespesa)),
+                atualizacao(aAtualizar, "Conta de luz (corrigida)", categoriaDespesa),
+                remocao(aRemover)), status().isOk());
+
+        assertThat(resposta.path("aplicado").asBoolean()).isTrue();
+        assertThat(resposta.path("resultados")).hasSize(3).allMatch(item -> !item.has("erro"));
+        assertThat(transacaoRepository.countByUsuarioId(usuarioId)).isEqualTo(antes);
+        assertThat(transacaoRepository.findById(aRemover)).isEmpty();
+        assertThat(transacaoRepository.findById(aAtualizar).orElseThrow().getDescricao()).isEqualTo("Conta de luz (corrigida)");
+    }
+
+    @Test
+    void umItemInvalidoRecusaOLoteInteiroSemGravarNada() throws Exception {
+        UUID aAtualizar = criar(transacao("Internet", LocalDate.of(2035, 2, 10), categoriaDespesa));
+        UUID aRemover = criar(transacao("Telefone", LocalDate.of(2035, 2, 11), categoriaDespesa));
+        long antes = transacaoRepository.countByUsuarioId(usuarioId);
+
+        Map<String, Object> valorNegativo = transacao("Streaming", LocalDate.of(2035, 2, 12), categoriaDespesa);
+        valorNegativo.put("valor", new BigDecimal("-10.00"));
+        JsonNode resposta = enviar(List.of(
+                criacao(transacao("Academia", LocalDate.of(2035, 2, 13), categoriaDespesa)),
+                atualizacao(aAtualizar, "Internet (nova)", categoriaDespesa),
+                remocao(aRemover),
+                criacao(valorNegativo)), status().isUnprocessableEntity());
+
+        assertThat(resposta.path("aplicado").asBoolean()).isFalse();
+        JsonNode resultados = resposta.path("resultados");
+        assertThat(resultados).hasSize(4);
+        assertThat(resultados.get(0).has("erro")).isFalse();
+        assertThat(resultados.get(1).has("erro")).isFalse();
+        assertThat(resultados.get(2).has("erro")).isFalse();
+        assertThat(resultados.get(3).path("erro").asText()).contains("Valor deve");
+
+        assertThat(transacaoRepository.countByUsuarioId(usuarioId)).isEqualTo(antes);
+        assertThat(transacaoRepository.findById(aRemover)).isPresent();
+        assertThat(transacaoRepository.findById(aAtualizar).orElseThrow().getDescricao()).isEqualTo("Internet");
+    }
+
+    @Test
+    void categoriaETransacaoDeOutroUsuarioSaoRecusadasPorItem() throws Exception {
+        Usuario outro = usuarioRepository.save(Usuario.builder()
+                .nome("Outro usuário")
+                .email("outro-" + UUID.randomUUID() + "@financeiro.com")
+                .senha("hash")
+                .build());
+        Categoria categoriaDoOutro = categoriaRepository.save(Categoria.builder()
+                .nome("Categoria alheia")
+                .tipo(Categoria.TipoCategoria.DESPESA)
+                .usuario(outro)
+                .build());
+        UUID minha = criar(transacao("Seguro", LocalDate.of(2035, 3, 10), categoriaDespesa));
+        long antes = transacaoRepository.countByUsuarioId(usuarioId);
+
+        JsonNode resposta = enviar(List.of(
+                criacao(transacao("Seguro do carro", LocalDate.of(2035, 3, 11), categoriaDoOutro.getId())),
+                atualizacao(minha, "Seguro (alheio)", categoriaDoOutro.getId()),
+                criacao(transacao("Receita na despesa", LocalDate.of(2035, 3, 12), categoriaReceita)),
+                remocao(UUID.randomUUID())), status().isUnprocessableEntity());
+
+        JsonNode resultados = resposta.path("resultados");
+        assertThat(resultados.get(0).path("erro").asText()).isEqualTo("Categoria não encontrada para o usuário autenticado");
+        assertThat(resultados.get(1).path("erro").asText()).isEqualTo("Categoria não encontrada para o usuário autenticado");
+        assertThat(resultados.get(2).path("erro").asText()).isEqualTo("Tipo da transação deve ser compatível com o tipo da categoria");
+        assertThat(resultados.get(3).path("erro").asText()).isEqualTo("Transação não encontrada");
+        assertThat(transacaoRepository.countByUsuarioId(usuarioId)).isEqualTo(antes);
+        assertThat(transacaoRepository.findById(minha).orElseThrow().getCategoria().getId()).isEqualTo(categoriaDespesa);
+    }
+
+    private JsonNode enviar(List<Map<String, Object>> operacoes, ResultMatcher esperado) throws Exception {
+        String resposta = mockMvc.perform(post("/api/transacoes/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("operacoes", operacoes))))
+                .andExpect(esperado)
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(resposta);
+    }
+
+    private static Map<String, Object> criacao(Map<String, Object> transacao) {
+        return Map.of("operacao", "CRIAR", "criacao", transacao);
+    }
+
+    private static Map<String, Object> atualizacao(UUID id, String descricao, UUID categoriaId) {
+        return Map.of("operacao", "ATUALIZAR", "id", id,
+                "atualizacao", Map.of("descricao", descricao, "valor", new BigDecimal("130.00"),
+                        "dataTransacao", LocalDate.of(2035, 6, 1), "categoriaId", categoriaId));
+    }
+
+    private static Map<String, Object> remocao(UUID id) {
+        return Map.of("operacao", "REMOVER", "id", id);
+    }
+
+    private UUID criar(Map<String, Object> corpo) throws Exception {
+        String resposta = mockMvc.perform(post("/api/transacoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(corpo)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return UUID.fromString(objectMapper.readTree(resposta).path("id").asText());
+    }
+
+    private static Map<String, Object> transacao(String descricao, LocalDate data, UUID categoriaId) {
+        Map<String, Object> corpo = new HashMap<>();
+        corpo.put("descricao", descricao);
+        corpo.put("valor", new BigDecimal("120.00"));
+        corpo.put("dataTransacao", data);
+        corpo.put("tipo", "DESPESA");
+        corpo.put("categoriaId", categoriaId);
+        return corpo;
+    }
+}
@@ -0,0 +1,130 @@
+package com.financeiro.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financeiro.domain.entities.Transacao;
+import com.financeiro.domain.enums.TipoRecorrencia;
+import com.financeiro.support.SqlCapturado;
+import com.financeiro.support.TesteComPostgres;
+
+/**
+ * Plano do PostgreSQL para o SQL que o filtro realmente gera (capturado do Hibernate).
+ *
+ * Com enable_seqscan desligado o planejador só recorre à varredura sequencial se nenhum índice
+ * servir aos predicados: uma Seq Scan em transacoes aqui significa filtro sem índice utilizável,
+ * independentemente do volume de dados da tabela.
+ */
+class TransacaoFiltroPlanoTest extends TesteComPostgres {
+
+    private static final LocalDate INICIO = LocalDate.of(2024, 1, 1);
+    private static final LocalDate FIM = LocalDate.of(2024, 12, 31);
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    static Stream<Arguments> filtros() {
+        return Stream.of(
+                Arguments.of("só residuais", new FiltroTransacoes(null, null, null, null, TipoRecorrencia.FIXA, null, true)),
+                Arguments.of("tipo", new FiltroTransacoes(null, Transacao.TipoTransacao.DESPESA, null, null, null, null, null)),
+                Arguments.of("categorias", new FiltroTransacoes(List.of(UUID.randomUUID(), UUID.randomUUID()),
+                        null, null, null, null, null, null)),
+                Arguments.of("série", new FiltroTransacoes(null, null, null, null, null, UUID.randomUUID(), null)),
+                Arguments.of("faixa de valor", new FiltroTransacoes(null, null,
+                        new BigDecimal("10.00"), new BigDecimal("500.00"), null, null, null)));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filtros")
+    void filtroUsaIndiceEmTransacoes(String nome, FiltroTransacoes filtro) throws Exception {
+        SqlCapturado.limpar();
+        transacaoRepository.listarFiltradas(UUID.randomUUID(), INICIO, FIM, filtro, null, null, 50);
+        String sql = SqlCapturado.ultimaCom("from transacoes");
+
+        List<String> varreduras = varredurasDeTransacoes(explicar(sql));
+
+        assertThat(varreduras).isNotEmpty();
+        assertThat(varreduras).as("plano de %s", sql).doesNotContain("Seq Scan");
+        assertThat(varreduras).allMatch(tipo -> tipo.contains("Index") || tipo.equals("Bitmap Heap Scan"));
+    }
+
+    @ParameterizedTest(name = "{0}, página seguinte")
+    @MethodSource("filtros")
+    void cursorMantemUsoDeIndice(String nome, FiltroTransacoes filtro) throws Exception {
+        SqlCapturado.limpar();
+        transacaoRepository.listarFiltradas(UUID.randomUUID(), INICIO, FIM, filtro, LocalDate.of(2024, 6, 30),
+                UUID.randomUUID(), 50);
+        String sql = SqlCapturado.ultimaCom("from transacoes");
+
+        assertThat(varredurasDeTransacoes(explicar(sql))).isNotEmpty().doesNotContain("Seq Scan");
+    }
+
+    private JsonNode explicar(String sql) throws Exception {
+        String plano = new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return jdbcTemplate.queryForObject("EXPLAIN (GENERIC_PLAN, FORMAT JSON) " + numerarParametros(sql), String.class);
+        });
+        return objectMapper.readTree(plano);
+    }
+
+    /**
+     * "?" do JDBC para "$1", "$2"... do PostgreSQL
+     */
+    private static String numerarParametros(String sql) {
+        StringBuilder numerado = new StringBuilder(sql.length() + 16);
+        int n = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numerado.append('$').append(++n);
+            } else {
+                numerado.append(c);
+            }
+        }
+        return numerado.toString();
+    }
+
+    private static List<String> varredurasDeTransacoes(JsonNode plano) {
+        List<String> tipos = new ArrayList<>();
+        coletar(plano, tipos);
+        return tipos;
+    }
+
+    private static void coletar(JsonNode no, List<String> tipos) {
+        if (no.isArray()) {
+            no.forEach(filho -> coletar(filho, tipos));
+            return;
+        }
+        if (!no.isObject()) {
+            return;
+        }
+        if ("transacoes".equals(no.path("Relation Name").asText())) {
+            tipos.add(no.path("Node Type").asText());
+        }
+        no.fields().forEachRemaining(campo -> coletar(campo.getValue(), tipos));
+    }
+}
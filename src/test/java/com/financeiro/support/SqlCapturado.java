@@ -0,0 +1,43 @@
+package com.financeiro.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Guarda o SQL de cada instrução que o Hibernate prepara (hibernate.session_factory.statement_inspector),
+ * para os testes examinarem o texto exato enviado ao banco
+ */
+public class SqlCapturado implements StatementInspector {
+
+    private static final List<String> INSTRUCOES = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        INSTRUCOES.add(sql);
+        return sql;
+    }
+
+    public static void limpar() {
+        INSTRUCOES.clear();
+    }
+
+    public static List<String> instrucoes() {
+        return new ArrayList<>(INSTRUCOES);
+    }
+
+    /**
+     * Última instrução cujo texto contém o trecho informado (sem diferenciar maiúsculas)
+     */
+    public static String ultimaCom(String trecho) {
+        List<String> instrucoes = instrucoes();
+        for (int i = instrucoes.size() - 1; i >= 0; i--) {
+            if (instrucoes.get(i).toLowerCase().contains(trecho.toLowerCase())) {
+                return instrucoes.get(i);
+            }
+        }
+        throw new AssertionError("Nenhuma instrução com \"" + trecho + "\" foi preparada");
+    }
+}
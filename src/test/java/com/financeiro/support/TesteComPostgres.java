@@ -0,0 +1,27 @@
+package com.financeiro.support;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Aplicação completa sobre um PostgreSQL real (Testcontainers), com o esquema das migrations
+ * do Flyway. Ignorado quando não há Docker disponível.
+ *
+ * PostgreSQL 16: EXPLAIN (GENERIC_PLAN) aceita o SQL com parâmetros ($1, $2...) sem valores.
+ */
+@SpringBootTest(properties = {
+        "google.client.id=teste",
+        "google.client.secret=teste",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.financeiro.support.SqlCapturado",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class TesteComPostgres {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+}